@@ -0,0 +1,297 @@
+package com.midlevel.orderfulfillment.adapter.in.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Key-Ordered Executor - Processes records of a partition on many threads,
+ * keeping the order of records with the same key.
+ * 
+ * Handling partition by partition caps parallelism at the partition count
+ * (3 per order topic). Here every record goes to one of N workers ("key
+ * shards") chosen by hashing its key - the order ID - so:
+ * - Records with the same key always land on the same worker, in the order
+ *   they were submitted, and are processed one after the other
+ * - Records with different keys, even from the same partition, run in parallel
+ * - Parallelism scales with the number of workers, not partitions
+ * 
+ * Records now finish out of offset order, so a partition's offset can only
+ * be committed up to its first unfinished record. Each partition has a
+ * tracker that hands out the highest contiguous completed offset;
+ * committableOffsets() returns those that moved since the last call.
+ * 
+ * The in-flight window (submitted, not yet completed records) is bounded:
+ * once it is full, trySubmit() waits at most its timeout and then reports
+ * that nothing was queued, so the caller can pause its consumer instead of
+ * blocking the poll loop while a worker is stuck.
+ * 
+ * Ordering is per key within the stream of submitted records. Kafka only
+ * orders records within a partition, so events of one order on different
+ * topics (order.created vs order.paid) are ordered as they were polled.
+ * 
+ * A failing processor is retried with the same batch after a back-off until
+ * it succeeds: a record's offset is never committed before it was processed.
+ * The processor decides what "processed" means (e.g., dead-lettered).
+ * 
+ * Metrics:
+ * - {name}.in-flight (gauge): records submitted, not yet completed
+ * - {name}.shard.lag{shard} (gauge): records waiting on each worker
+ * 
+ * @param <T> what is processed per record
+ */
+final class KeyOrderedExecutor<T> implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedExecutor.class);
+    
+    private static final long RETRY_BACKOFF_MS = 1_000;
+    
+    private final Consumer<List<T>> processor;
+    private final int maxBatch;
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final List<Shard> shards;
+    private final Map<TopicPartition, OffsetTracker> trackers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    
+    /**
+     * @param name metric prefix and thread name prefix
+     * @param workers number of key shards, one thread each
+     * @param maxInFlight records submitted and not yet completed before trySubmit() refuses more
+     * @param maxBatch most records handed to the processor at once
+     * @param processor handles records of one shard, in submission order
+     */
+    KeyOrderedExecutor(String name, int workers, int maxInFlight, int maxBatch,
+                       Consumer<List<T>> processor, MeterRegistry meterRegistry) {
+        if (workers < 1 || maxInFlight < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("workers, maxInFlight and maxBatch must be at least 1");
+        }
+        this.processor = processor;
+        this.maxBatch = maxBatch;
+        this.maxInFlight = maxInFlight;
+        this.window = new Semaphore(maxInFlight);
+        this.shards = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Shard shard = new Shard(name.replace('.', '-') + "-worker-" + i);
+            shards.add(shard);
+            Gauge.builder(name + ".shard.lag", shard.queue, BlockingQueue::size)
+                    .description("Records waiting on one key shard")
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        Gauge.builder(name + ".in-flight", this, KeyOrderedExecutor::inFlight)
+                .description("Records submitted, not yet completed (bounded by the in-flight window)")
+                .register(meterRegistry);
+        shards.forEach(shard -> shard.thread.start());
+    }
+    
+    /**
+     * Queue a record. Offsets of one partition must be submitted in ascending order.
+     * Waits up to timeoutMs while the in-flight window is full.
+     * 
+     * @param key the ordering key (null keys are spread by partition)
+     * @return false if the window stayed full: nothing was queued
+     */
+    boolean trySubmit(TopicPartition partition, long offset, String key, T item, long timeoutMs)
+            throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Executor is closed");
+        }
+        if (!window.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        OffsetTracker tracker = trackers.computeIfAbsent(partition, tp -> new OffsetTracker());
+        Task<T> task = new Task<>(item, tracker, tracker.add(offset));
+        shards.get(shardOf(key != null ? key.hashCode() : partition.hashCode())).queue.add(task);
+        return true;
+    }
+    
+    /**
+     * Offsets that can be committed: for every partition whose contiguous
+     * completed prefix grew since the last call, the next offset to read.
+     */
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        trackers.forEach((partition, tracker) -> {
+            long next = tracker.takeCommittable();
+            if (next >= 0) {
+                offsets.put(partition, new OffsetAndMetadata(next));
+            }
+        });
+        return offsets;
+    }
+    
+    /**
+     * Wait until every submitted record of the given partitions completed.
+     * 
+     * @return false if the timeout elapsed first
+     */
+    boolean awaitCompletion(Collection<TopicPartition> partitions, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (TopicPartition partition : partitions) {
+            OffsetTracker tracker = trackers.get(partition);
+            if (tracker != null && !tracker.awaitEmpty(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Stop tracking partitions that were revoked (their records may still complete).
+     */
+    void forget(Collection<TopicPartition> partitions) {
+        partitions.forEach(trackers::remove);
+    }
+    
+    /**
+     * @return records submitted and not yet completed
+     */
+    int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+    
+    /**
+     * Stop the workers; queued records are not processed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        shards.forEach(shard -> shard.thread.interrupt());
+    }
+    
+    private int shardOf(int hash) {
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+    
+    /**
+     * One worker: drains its queue in order and hands batches to the processor.
+     */
+    private final class Shard implements Runnable {
+        
+        private final BlockingQueue<Task<T>> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        
+        private Shard(String threadName) {
+            this.thread = new Thread(this, threadName);
+            this.thread.setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            List<Task<T>> batch = new ArrayList<>(maxBatch);
+            List<T> items = new ArrayList<>(maxBatch);
+            try {
+                while (!closed) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxBatch - 1);
+                    batch.forEach(task -> items.add(task.item));
+                    
+                    processWithRetry(items);
+                    
+                    for (Task<T> task : batch) {
+                        task.tracker.complete(task.entry);
+                    }
+                    window.release(batch.size());
+                    batch.clear();
+                    items.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        private void processWithRetry(List<T> items) throws InterruptedException {
+            while (true) {
+                try {
+                    processor.accept(items);
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Processing failed, retrying in {}ms: thread={}, records={}",
+                            RETRY_BACKOFF_MS, thread.getName(), items.size(), e);
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                }
+            }
+        }
+    }
+    
+    private record Task<T>(T item, OffsetTracker tracker, OffsetTracker.Entry entry) {
+    }
+    
+    /**
+     * Submitted offsets of one partition, oldest first.
+     * 
+     * Completing an entry pops every completed entry from the head, so the
+     * committable offset is always the one after the last popped entry.
+     */
+    static final class OffsetTracker {
+        
+        private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+        private long committable = -1;
+        private boolean changed;
+        
+        static final class Entry {
+            private final long offset;
+            private boolean done;
+            
+            private Entry(long offset) {
+                this.offset = offset;
+            }
+        }
+        
+        synchronized Entry add(long offset) {
+            Entry entry = new Entry(offset);
+            pending.add(entry);
+            return entry;
+        }
+        
+        synchronized void complete(Entry entry) {
+            entry.done = true;
+            while (!pending.isEmpty() && pending.peek().done) {
+                committable = pending.poll().offset + 1;
+                changed = true;
+            }
+            if (pending.isEmpty()) {
+                notifyAll();
+            }
+        }
+        
+        /**
+         * @return the next offset to commit if it moved since the last call, otherwise -1
+         */
+        synchronized long takeCommittable() {
+            if (!changed) {
+                return -1;
+            }
+            changed = false;
+            return committable;
+        }
+        
+        synchronized boolean awaitEmpty(long deadlineNanos) throws InterruptedException {
+            while (!pending.isEmpty()) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                wait(remainingMs);
+            }
+            return true;
+        }
+    }
+}
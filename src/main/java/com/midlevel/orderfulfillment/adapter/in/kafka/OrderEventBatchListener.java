@@ -0,0 +1,464 @@
+package com.midlevel.orderfulfillment.adapter.in.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventCodec;
+import com.midlevel.orderfulfillment.application.OrderEventBatchHandler;
+import com.midlevel.orderfulfillment.application.OrderEventMessage;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Event Batch Listener - Consumes the order topics one poll at a time.
+ * 
+ * For every poll (up to max-poll-records records):
+ * 1. Queue each record on a {@link KeyOrderedExecutor}, which spreads them
+ *    over events.consumer.workers threads by order ID (the record key):
+ *    events of one order are handled in order, different orders in parallel,
+ *    so throughput scales with cores rather than with the partition count
+ * 2. Each worker hands the events it has queued to every
+ *    OrderEventBatchHandler as one list
+ * 3. Commit, after every poll and whenever the container reports the
+ *    topics idle (ListenerContainerIdleEvent), the offsets below which every
+ *    record is done (highest contiguous completed offset per partition). The
+ *    next poll does not wait for the previous one: up to
+ *    events.consumer.max-in-flight records are in progress at once
+ * 
+ * When the in-flight window is full, the records that do not fit (after
+ * waiting up to events.consumer.submit-timeout-ms) stay in a backlog and the
+ * assigned partitions are paused. The consumer keeps polling - heartbeats and
+ * max.poll.interval.ms are unaffected even while a worker retries for a long
+ * time - and the idle events drain the backlog and resume the partitions
+ * once the workers catch up.
+ * 
+ * Poison records never stall a partition:
+ * - Records that cannot be read (no key, bad JSON or binary, no eventId)
+ *   go straight to order.events.dlq
+ * - If a handler fails on a batch, the batch is retried one event at a time
+ *   and only the events that still fail go to the DLQ
+ * Values are read as bytes: JSON and OrderEventCodec records can share a
+ * topic, told apart by their contentType header.
+ * The DLQ record keeps the original key, value and contentType, plus the original topic,
+ * partition, offset and error in the standard Spring Kafka DLT headers
+ * (same encoding as DeadLetterPublishingRecoverer).
+ * 
+ * If the DLQ itself cannot be written, the worker retries the whole batch
+ * until it can; its offsets are not committed meanwhile.
+ * When partitions are revoked (rebalance, shutdown), their queued records
+ * are finished (up to revoke-timeout-ms) and committed first; their backlog
+ * is dropped and read again by the new owner. After a crash,
+ * records past the committed offsets are read again: delivery is
+ * at-least-once, so handlers should tolerate duplicates.
+ * 
+ * Off by default (events.consumer.enabled): it needs a broker, and the
+ * consumer group is shared by all nodes, so each event is handled once per cluster.
+ * 
+ * Metrics:
+ * - order.events.consumed (counter)
+ * - order.events.dead-lettered{reason=unreadable|handler} (counter)
+ * - order.events.batch.size (histogram): records per poll
+ * - order.events.batch.latency (histogram): one worker batch, dead-lettering included
+ * - order.events.in-flight (gauge): records queued or being handled
+ * - order.events.shard.lag{shard} (gauge): records waiting on each worker
+ */
+@Component
+@ConditionalOnProperty(name = "events.consumer.enabled", havingValue = "true")
+public class OrderEventBatchListener implements ConsumerAwareRebalanceListener, DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderEventBatchListener.class);
+    
+    private static final Map<String, OrderStatus> STATUS_BY_TOPIC = Map.of(
+            KafkaConfig.TOPIC_ORDER_CREATED, OrderStatus.CREATED,
+            KafkaConfig.TOPIC_ORDER_PAID, OrderStatus.PAID,
+            KafkaConfig.TOPIC_ORDER_SHIPPED, OrderStatus.SHIPPED,
+            KafkaConfig.TOPIC_ORDER_CANCELLED, OrderStatus.CANCELLED);
+    
+    static final String LISTENER_ID = "order-event-batch";
+    
+    private final List<OrderEventBatchHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> dlqTemplate;
+    private final KeyOrderedExecutor<ConsumerRecord<String, byte[]>> executor;
+    private final long submitTimeoutMs;
+    private final long dlqTimeoutMs;
+    private final long revokeTimeoutMs;
+    
+    // Consumer thread only: polled records not yet queued, and the partitions paused for them
+    private final Deque<ConsumerRecord<String, byte[]>> backlog = new ArrayDeque<>();
+    private final Set<TopicPartition> pausedForBacklog = new HashSet<>();
+    
+    private final Counter consumedCounter;
+    private final Counter unreadableCounter;
+    private final Counter handlerFailedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchLatencyTimer;
+    
+    @Autowired
+    public OrderEventBatchListener(
+            List<OrderEventBatchHandler> handlers,
+            ObjectMapper objectMapper,
+            KafkaProperties kafkaProperties,
+            MeterRegistry meterRegistry,
+            @Value("${events.consumer.workers:8}") int workers,
+            @Value("${events.consumer.max-in-flight:2000}") int maxInFlight,
+            @Value("${events.consumer.submit-timeout-ms:1000}") long submitTimeoutMs,
+            @Value("${events.consumer.dlq-timeout-ms:10000}") long dlqTimeoutMs,
+            @Value("${events.consumer.revoke-timeout-ms:30000}") long revokeTimeoutMs) {
+        this(handlers, objectMapper, new KafkaTemplate<>(producerFactory(kafkaProperties)), meterRegistry,
+                workers, maxInFlight, submitTimeoutMs, dlqTimeoutMs, revokeTimeoutMs);
+    }
+    
+    OrderEventBatchListener(
+            List<OrderEventBatchHandler> handlers,
+            ObjectMapper objectMapper,
+            KafkaTemplate<String, byte[]> dlqTemplate,
+            MeterRegistry meterRegistry,
+            int workers,
+            int maxInFlight,
+            long submitTimeoutMs,
+            long dlqTimeoutMs,
+            long revokeTimeoutMs) {
+        this.handlers = List.copyOf(handlers);
+        this.objectMapper = objectMapper;
+        this.dlqTemplate = dlqTemplate;
+        this.submitTimeoutMs = submitTimeoutMs;
+        this.dlqTimeoutMs = dlqTimeoutMs;
+        this.revokeTimeoutMs = revokeTimeoutMs;
+        
+        this.consumedCounter = Counter.builder("order.events.consumed")
+                .description("Order events handled from the order topics")
+                .register(meterRegistry);
+        this.unreadableCounter = deadLetteredCounter(meterRegistry, "unreadable");
+        this.handlerFailedCounter = deadLetteredCounter(meterRegistry, "handler");
+        this.batchSizeSummary = DistributionSummary.builder("order.events.batch.size")
+                .description("Records per poll")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchLatencyTimer = Timer.builder("order.events.batch.latency")
+                .description("Time to handle one worker batch, dead-lettering included")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.executor = new KeyOrderedExecutor<>("order.events", workers, maxInFlight, Math.max(1, maxInFlight / workers),
+                this::handleRecords, meterRegistry);
+        
+        log.info("Order event batch listener initialized: handlers={}, workers={}, maxInFlight={}",
+                handlers.size(), workers, maxInFlight);
+    }
+    
+    /**
+     * Queue one poll on the workers, then commit what is done so far.
+     */
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = {
+                    KafkaConfig.TOPIC_ORDER_CREATED,
+                    KafkaConfig.TOPIC_ORDER_PAID,
+                    KafkaConfig.TOPIC_ORDER_SHIPPED,
+                    KafkaConfig.TOPIC_ORDER_CANCELLED
+            },
+            containerFactory = KafkaConfig.ORDER_EVENT_BATCH_CONTAINER_FACTORY)
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer) {
+        backlog.addAll(records);
+        batchSizeSummary.record(records.size());
+        queueBacklog(consumer);
+        commitCompleted(consumer);
+    }
+    
+    /**
+     * No records polled for idle-interval-ms (published on the consumer thread):
+     * queue the backlog, resume the partitions once it is empty, commit what is done.
+     */
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        Consumer<?, ?> consumer = event.getConsumer();
+        queueBacklog(consumer);
+        commitCompleted(consumer);
+    }
+    
+    /**
+     * Queue backlog records while the in-flight window has room, waiting at
+     * most submit-timeout-ms in all. Pause the assigned partitions while
+     * records are left over, resume them once the backlog is empty.
+     */
+    private void queueBacklog(Consumer<?, ?> consumer) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(submitTimeoutMs);
+        try {
+            while (!backlog.isEmpty()) {
+                ConsumerRecord<String, byte[]> record = backlog.peek();
+                long waitMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+                if (!executor.trySubmit(partitionOf(record), record.offset(), record.key(), record, waitMs)) {
+                    break;
+                }
+                backlog.poll();
+            }
+        } catch (InterruptedException e) {
+            // Container stopping: what is left stays in the backlog until the partitions are revoked
+            Thread.currentThread().interrupt();
+        }
+        
+        if (!backlog.isEmpty()) {
+            Set<TopicPartition> toPause = new HashSet<>(consumer.assignment());
+            toPause.removeAll(pausedForBacklog);
+            if (!toPause.isEmpty()) {
+                log.info("Order event workers are behind, pausing: backlog={}, partitions={}", backlog.size(), toPause);
+                consumer.pause(toPause);
+                pausedForBacklog.addAll(toPause);
+            }
+        } else if (!pausedForBacklog.isEmpty()) {
+            pausedForBacklog.retainAll(consumer.assignment());
+            if (!pausedForBacklog.isEmpty()) {
+                log.info("Order event workers caught up, resuming: partitions={}", pausedForBacklog);
+                consumer.resume(Set.copyOf(pausedForBacklog));
+            }
+            pausedForBacklog.clear();
+        }
+    }
+    
+    private void commitCompleted(Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = executor.committableOffsets();
+        if (!offsets.isEmpty()) {
+            consumer.commitAsync(offsets, (committed, e) -> {
+                if (e != null) {
+                    // A later commit covers these offsets
+                    log.warn("Order event offset commit failed: offsets={}, error={}", committed, e.getMessage());
+                }
+            });
+        }
+    }
+    
+    /**
+     * Finish and commit the records of revoked partitions before another consumer takes them over.
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        dropBacklog(partitions);
+        try {
+            if (!executor.awaitCompletion(partitions, revokeTimeoutMs)) {
+                log.warn("Order events still in progress after {}ms, the new owner will handle them again: partitions={}",
+                        revokeTimeoutMs, partitions);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = executor.committableOffsets();
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+        executor.forget(partitions);
+    }
+    
+    /**
+     * Partitions were lost (no commit possible any more): just stop tracking them.
+     */
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        dropBacklog(partitions);
+        executor.forget(partitions);
+    }
+    
+    /**
+     * Records of partitions we no longer own were never queued: their next owner reads them again.
+     */
+    private void dropBacklog(Collection<TopicPartition> partitions) {
+        backlog.removeIf(record -> partitions.contains(partitionOf(record)));
+        pausedForBacklog.removeAll(partitions);
+    }
+    
+    private static TopicPartition partitionOf(ConsumerRecord<?, ?> record) {
+        return new TopicPartition(record.topic(), record.partition());
+    }
+    
+    /**
+     * Handle the records one worker has queued (runs on the worker thread).
+     */
+    private void handleRecords(List<ConsumerRecord<String, byte[]>> records) {
+        long start = System.nanoTime();
+        List<ConsumerRecord<String, byte[]>> readable = new ArrayList<>(records.size());
+        List<OrderEventMessage> events = new ArrayList<>(records.size());
+        List<CompletableFuture<SendResult<String, byte[]>>> deadLetters = new ArrayList<>();
+        
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                events.add(read(record));
+                readable.add(record);
+            } catch (RuntimeException e) {
+                unreadableCounter.increment();
+                deadLetters.add(deadLetter(record, e));
+            }
+        }
+        
+        for (OrderEventBatchHandler handler : handlers) {
+            try {
+                handler.handle(events);
+            } catch (RuntimeException batchFailure) {
+                // Find the culprits: retry one event at a time, dead-letter what still fails
+                log.warn("Order event handler failed on a batch, retrying one by one: handler={}, events={}",
+                        handler.getClass().getSimpleName(), events.size(), batchFailure);
+                for (int i = 0; i < events.size(); i++) {
+                    try {
+                        handler.handle(List.of(events.get(i)));
+                    } catch (RuntimeException e) {
+                        handlerFailedCounter.increment();
+                        deadLetters.add(deadLetter(readable.get(i), e));
+                    }
+                }
+            }
+        }
+        consumedCounter.increment(events.size());
+        
+        for (CompletableFuture<SendResult<String, byte[]>> deadLetter : deadLetters) {
+            try {
+                deadLetter.get(dlqTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing to " + KafkaConfig.TOPIC_ORDER_EVENTS_DLQ, e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not write to " + KafkaConfig.TOPIC_ORDER_EVENTS_DLQ, e);
+            }
+        }
+        batchLatencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Parse the envelope of a DomainEvent: binary (OrderEventCodec) when the
+     * contentType header says so, JSON otherwise (including records without the header).
+     */
+    OrderEventMessage read(ConsumerRecord<String, byte[]> record) {
+        OrderStatus status = STATUS_BY_TOPIC.get(record.topic());
+        if (status == null) {
+            throw new IllegalArgumentException("Not an order topic: " + record.topic());
+        }
+        if (record.key() == null || record.value() == null) {
+            throw new IllegalArgumentException("Order event without key or value");
+        }
+        Header contentType = record.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER);
+        if (contentType != null && OrderEventCodec.isBinary(contentType.value())) {
+            DomainEvent event = OrderEventCodec.decode(record.value());
+            return new OrderEventMessage(event.getEventId(), record.key(), status, event.getOccurredAt());
+        }
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(record.value());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Order event is not valid JSON", e);
+        }
+        JsonNode eventId = json.path("eventId");
+        if (!eventId.isTextual()) {
+            throw new IllegalArgumentException("Order event without eventId");
+        }
+        return new OrderEventMessage(eventId.asText(), record.key(), status, occurredAt(json.path("occurredAt")));
+    }
+    
+    private static Instant occurredAt(JsonNode node) {
+        if (node.isTextual()) {
+            return Instant.parse(node.asText());
+        }
+        if (node.isNumber()) {
+            // WRITE_DATES_AS_TIMESTAMPS: seconds with a nanosecond fraction
+            BigDecimal seconds = node.decimalValue();
+            return Instant.ofEpochSecond(seconds.longValue(),
+                    seconds.remainder(BigDecimal.ONE).movePointRight(9).longValue());
+        }
+        throw new IllegalArgumentException("Order event without occurredAt");
+    }
+    
+    private CompletableFuture<SendResult<String, byte[]>> deadLetter(ConsumerRecord<String, byte[]> record, Exception cause) {
+        log.warn("Order event sent to {}: topic={}, partition={}, offset={}, key={}, error={}",
+                KafkaConfig.TOPIC_ORDER_EVENTS_DLQ, record.topic(), record.partition(), record.offset(),
+                record.key(), cause.getMessage());
+        
+        ProducerRecord<String, byte[]> deadLetter =
+                new ProducerRecord<>(KafkaConfig.TOPIC_ORDER_EVENTS_DLQ, record.key(), record.value());
+        deadLetter.headers()
+                .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, bytes(record.topic()))
+                .add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array())
+                .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array())
+                .add(KafkaHeaders.DLT_EXCEPTION_FQCN, bytes(cause.getClass().getName()))
+                .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, bytes(String.valueOf(cause.getMessage())));
+        Header contentType = record.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER);
+        if (contentType != null) {
+            deadLetter.headers().add(contentType);
+        }
+        try {
+            return dlqTemplate.send(deadLetter);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static Counter deadLetteredCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("order.events.dead-lettered")
+                .description("Order events sent to the dead letter topic")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        // The container stopped first: revoked partitions were already finished and committed
+        executor.close();
+        // The producer factory is private to the listener, so closing it is our job
+        if (dlqTemplate.getProducerFactory() instanceof DisposableBean producerFactory) {
+            producerFactory.destroy();
+        }
+    }
+    
+    /**
+     * Producer for the dead letter topic: values are forwarded as-is, no re-encoding.
+     */
+    private static DefaultKafkaProducerFactory<String, byte[]> producerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+}
@@ -1,12 +1,14 @@
 package com.midlevel.orderfulfillment.adapter.in.web;
 
 import com.midlevel.orderfulfillment.application.OrderService.OrderNotFoundException;
+import com.midlevel.orderfulfillment.domain.port.OrderVersionConflictException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -68,6 +70,22 @@ public class ApiErrorHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    /**
+     * Handle version conflicts that outlasted the service's conflict retries.
+     * Returns 409 Conflict - the client should re-read the order and decide again.
+     */
+    @ExceptionHandler(OrderVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(OrderVersionConflictException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                null,
+                Instant.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    
     /**
      * Handle illegal state/argument exceptions (business rule violations).
      * Returns 400 Bad Request.
@@ -84,6 +102,22 @@ public class ApiErrorHandler {
         return ResponseEntity.badRequest().body(response);
     }
     
+    /**
+     * Handle request parameters that can't be converted (e.g., unknown status, malformed date).
+     * Returns 400 Bad Request naming the offending parameter.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid value for parameter '" + ex.getName() + "'",
+                null,
+                Instant.now()
+        );
+        
+        return ResponseEntity.badRequest().body(response);
+    }
+    
     /**
      * Handle all other unexpected exceptions.
      * Returns 500 Internal Server Error.
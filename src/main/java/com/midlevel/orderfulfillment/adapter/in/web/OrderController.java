@@ -1,24 +1,47 @@
 package com.midlevel.orderfulfillment.adapter.in.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BatchCreateOrdersRequest;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BatchCreateOrdersResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BulkOrderIdsRequest;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BulkTransitionResponse;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.CreateOrderRequest;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderResponse;
 import com.midlevel.orderfulfillment.adapter.in.web.mapper.OrderDtoMapper;
+import com.midlevel.orderfulfillment.application.BatchOrderResult;
+import com.midlevel.orderfulfillment.application.OrderPage;
 import com.midlevel.orderfulfillment.application.OrderService;
 import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.CustomerOrderQuery;
+import com.midlevel.orderfulfillment.domain.port.OrderCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +68,10 @@ import java.util.stream.Collectors;
  * - Authorization (@PreAuthorize)
  * - Exception handling (via @ControllerAdvice, see below)
  * 
+ * Single-order writes return a CompletableFuture (Spring MVC async requests):
+ * while OrderService waits to retry a transient database failure, no
+ * Tomcat thread is held by the request.
+ * 
  * Security (Day 12):
  * - All endpoints require authentication (configured in SecurityConfiguration)
  * - Role-based authorization with @PreAuthorize:
@@ -64,12 +91,24 @@ public class OrderController {
     
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
     private final OrderService orderService;
     private final OrderDtoMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     
-    public OrderController(OrderService orderService, OrderDtoMapper mapper) {
+    public OrderController(
+            OrderService orderService, 
+            OrderDtoMapper mapper, 
+            ObjectMapper objectMapper,
+            Validator validator) {
         this.orderService = orderService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
     
     /**
@@ -91,7 +130,7 @@ public class OrderController {
             @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<OrderResponse> createOrder(
+    public CompletableFuture<ResponseEntity<OrderResponse>> createOrder(
             @Valid @RequestBody CreateOrderRequest request) {
         
         log.info("Received create order request: customerId={}, itemCount={}", 
@@ -100,92 +139,290 @@ public class OrderController {
         // Map DTO to service inputs (no aggregate construction in controller)
         OrderDtoMapper.CreateOrderInput input = mapper.toInput(request);
         
-        // Execute business operation via service orchestration
-        Order savedOrder = orderService.createOrder(
+        // Execute business operation via service orchestration.
+        // Returning the future frees the request thread if the save has to be retried.
+        return orderService.createOrderAsync(
                 input.customerId(),
                 input.items(),
                 input.shippingAddress()
-        );
+        ).thenApply(savedOrder -> {
+            log.info("Order created successfully: orderId={}, status={}", 
+                    savedOrder.getOrderId(), savedOrder.getStatus());
+            
+            // Return 201 Created with the created order
+            return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(savedOrder));
+        });
+    }
+    
+    /**
+     * Create many orders in one request (bulk / marketplace ingestion).
+     * 
+     * POST /api/orders/batch
+     * Request body: BatchCreateOrdersRequest (up to 1000 orders)
+     * Response:
+     * - 201 Created when every order was created
+     * - 207 Multi-Status when at least one order was REJECTED or FAILED
+     * - 400 Bad Request only if the envelope itself is invalid (empty / too large)
+     * The body always holds one result per submitted order, in submission order.
+     * 
+     * Each order is validated on its own; an invalid order is REJECTED without
+     * affecting the rest. Valid orders are stored in batched transactions.
+     * 
+     * Authorization: ROLE_CUSTOMER or ROLE_ADMIN
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    @Operation(summary = "Create orders in batch", description = "Creates up to 1000 orders in one request and returns a result per order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All orders created"),
+            @ApiResponse(responseCode = "207", description = "Some orders were rejected or failed - see per-order results"),
+            @ApiResponse(responseCode = "400", description = "Invalid batch envelope (empty or too many orders)"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions")
+    })
+    public ResponseEntity<BatchCreateOrdersResponse> createOrders(
+            @Valid @RequestBody BatchCreateOrdersRequest request) {
+        
+        List<CreateOrderRequest> requests = request.orders();
+        log.info("Received batch create order request: orderCount={}", requests.size());
+        
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<OrderService.NewOrder> newOrders = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
         
-        // Convert domain model to response DTO
-        OrderResponse response = mapper.toResponse(savedOrder);
+        // Per-order validation: bad orders are reported, not fatal for the batch
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if (violation != null) {
+                results[i] = BatchOrderResult.rejected(violation);
+                continue;
+            }
+            try {
+                OrderDtoMapper.CreateOrderInput input = mapper.toInput(requests.get(i));
+                newOrders.add(new OrderService.NewOrder(input.customerId(), input.items(), input.shippingAddress()));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchOrderResult.rejected(e.getMessage());
+            }
+        }
         
-        log.info("Order created successfully: orderId={}, status={}", 
-                savedOrder.getOrderId(), savedOrder.getStatus());
+        List<BatchOrderResult> serviceResults = newOrders.isEmpty() 
+                ? List.of() 
+                : orderService.createOrders(newOrders);
+        for (int i = 0; i < serviceResults.size(); i++) {
+            results[positions.get(i)] = serviceResults.get(i);
+        }
         
-        // Return 201 Created with the created order
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        BatchCreateOrdersResponse response = mapper.toBatchResponse(List.of(results));
+        log.info("Batch create order request processed: requested={}, created={}, rejected={}, failed={}", 
+                response.requested(), response.created(), response.rejected(), response.failed());
+        
+        HttpStatus status = response.created() == response.requested() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
     }
     
     /**
      * Get an order by ID.
      * 
      * GET /api/orders/{orderId}
-     * Response: 200 OK with OrderResponse, or 404 Not Found
+     * Response: 200 OK with OrderResponse and an ETag, 304 Not Modified, or 404 Not Found
+     * 
+     * Conditional GET (for status pollers):
+     * - Every 200 carries ETag: "{orderId}:{version}"; the version changes with every state change
+     * - A request whose If-None-Match names this order (or is "*") is first
+     *   checked against a version-only lookup; if the client's tag is still
+     *   current the answer is 304 with no body, and the order is never loaded,
+     *   mapped or serialized. Tags that cannot match skip that lookup
+     * - A stale tag costs the version lookup plus one load of the order, whose
+     *   ETag is computed from the loaded version. Both come from the order
+     *   cache once the order is cached (the load fills it), so repeat polls of
+     *   an order don't reach the database
+     * - Cache-Control: no-cache, private - clients may keep the response but must revalidate
      * 
      * Authorization: ROLE_CUSTOMER or ROLE_ADMIN
      */
     @GetMapping("/{orderId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
-    @Operation(summary = "Get order by ID", description = "Retrieves an order by its unique identifier")
+    @Operation(summary = "Get order by ID", description = "Retrieves an order by its unique identifier; supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found"),
+            @ApiResponse(responseCode = "304", description = "Order unchanged since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions")
     })
     public ResponseEntity<OrderResponse> getOrder(
-            @Parameter(description = "Order ID") @PathVariable String orderId) {
+            @Parameter(description = "Order ID") @PathVariable String orderId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        if (ifNoneMatch != null && mayMatch(ifNoneMatch, orderId)) {
+            Optional<Long> version = orderService.findVersionById(orderId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = etag(orderId, version.get());
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
         
         return orderService.findById(orderId)
-                .map(mapper::toResponse)
-                .map(ResponseEntity::ok)
+                .map(order -> ResponseEntity.ok()
+                        .eTag(etag(order.getOrderId(), order.getVersion()))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(mapper.toResponse(order)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * Get all orders for a customer.
+     * Strong ETag for one version of an order.
+     */
+    static String etag(String orderId, long version) {
+        return "\"" + orderId + ":" + version + "\"";
+    }
+    
+    /**
+     * Whether If-None-Match can match some version of this order: "*" or one of its tags.
+     */
+    static boolean mayMatch(String ifNoneMatch, String orderId) {
+        String prefix = "\"" + orderId + ":";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * If-None-Match semantics (RFC 9110): a comma-separated list of tags, or "*";
+     * compared weakly, so W/"x" matches "x".
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get a customer's order history, newest first, one keyset page at a time.
+     * 
+     * GET /api/orders?customerId={customerId}&status={status}&createdFrom={instant}&createdTo={instant}&size={size}&cursor={cursor}
+     * Response: 200 OK with a JSON array of up to {size} orders.
+     * When older orders exist, the X-Next-Cursor header carries the cursor for the next page.
      * 
-     * GET /api/orders?customerId={customerId}
-     * Response: 200 OK with list of OrderResponse
+     * Filters (all optional):
+     * - status: only orders currently in this status
+     * - createdFrom / createdTo: ISO-8601 instants, half-open range [createdFrom, createdTo)
      * 
      * Authorization: ROLE_CUSTOMER or ROLE_ADMIN
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
-    @Operation(summary = "Get orders by customer", description = "Retrieves all orders for a specific customer")
-    @ApiResponse(responseCode = "200", description = "Orders retrieved successfully")
+    @Operation(summary = "Get orders by customer", description = "Retrieves one page of a customer's orders, newest first, with optional status and date filters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor")
+    })
     public ResponseEntity<List<OrderResponse>> getOrdersByCustomer(
-            @Parameter(description = "Customer ID") @RequestParam String customerId) {
+            @Parameter(description = "Customer ID") @RequestParam String customerId,
+            @Parameter(description = "Only orders in this status") 
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Only orders created at or after this instant (ISO-8601)") 
+            @RequestParam(required = false) Instant createdFrom,
+            @Parameter(description = "Only orders created before this instant (ISO-8601)") 
+            @RequestParam(required = false) Instant createdTo,
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + OrderService.MAX_PAGE_SIZE + ")") 
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
         
-        List<OrderResponse> orders = orderService.findByCustomerId(customerId)
-                .stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+        CustomerOrderQuery query = new CustomerOrderQuery(customerId, status, createdFrom, createdTo);
+        OrderPage page = orderService.findCustomerHistory(query, decodeCursor(cursor), size);
         
-        return ResponseEntity.ok(orders);
+        return pageResponse(page);
     }
     
     /**
-     * Get all orders (use with caution).
+     * Get all orders, one keyset page at a time.
      * 
-     * GET /api/orders/all
-     * Response: 200 OK with list of all orders
+     * GET /api/orders/all?size={size}&cursor={cursor}
+     * Response: 200 OK with a JSON array of up to {size} orders, oldest first.
+     * When more orders exist, the X-Next-Cursor header carries the cursor
+     * to pass back for the following page; its absence means the last page.
      * 
      * Authorization: ROLE_ADMIN only
      * 
-     * Note: In production, this should be paginated to avoid loading too much data.
+     * Cursors are opaque; a malformed cursor yields 400 Bad Request.
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all orders", description = "Retrieves all orders (should be paginated in production)")
-    @ApiResponse(responseCode = "200", description = "Orders retrieved successfully")
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<OrderResponse> orders = orderService.findAll()
-                .stream()
-                .map(mapper::toResponse)
-                .collect(Collectors.toList());
+    @Operation(summary = "Get all orders (paginated)", description = "Retrieves one keyset page of orders; follow X-Next-Cursor for the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<List<OrderResponse>> getAllOrders(
+            @Parameter(description = "Cursor from the previous page's X-Next-Cursor header") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max " + OrderService.MAX_PAGE_SIZE + ")") 
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        
+        OrderPage page = orderService.findPage(decodeCursor(cursor), size);
+        
+        return pageResponse(page);
+    }
+    
+    /**
+     * Stream all orders as newline-delimited JSON.
+     * 
+     * GET /api/orders/all/stream
+     * Response: 200 OK, Content-Type application/x-ndjson, one OrderResponse per line
+     * 
+     * Authorization: ROLE_ADMIN only
+     * 
+     * Each order is written to the response as soon as it is read from the
+     * database, so server memory stays flat no matter how many orders exist.
+     * Intended for exports and dashboards that need the full data set.
+     */
+    @GetMapping(value = "/all/stream", produces = NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stream all orders", description = "Streams every order as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Orders streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                orderService.streamAll(order -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(mapper.toResponse(order)));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client went away mid-stream; rethrow the original so the container can clean up
+                throw e.getCause();
+            }
+            outputStream.flush();
+        };
         
-        return ResponseEntity.ok(orders);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
     
     /**
@@ -204,14 +441,14 @@ public class OrderController {
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "400", description = "Invalid state transition")
     })
-    public ResponseEntity<OrderResponse> payOrder(
+    public CompletableFuture<ResponseEntity<OrderResponse>> payOrder(
             @Parameter(description = "Order ID") @PathVariable String orderId) {
         
         log.info("Received pay order request: orderId={}", orderId);
-        Order paidOrder = orderService.markOrderAsPaid(orderId);
-        log.info("Order payment processed: orderId={}, status={}", orderId, paidOrder.getStatus());
-        
-        return ResponseEntity.ok(mapper.toResponse(paidOrder));
+        return orderService.markOrderAsPaidAsync(orderId).thenApply(paidOrder -> {
+            log.info("Order payment processed: orderId={}, status={}", orderId, paidOrder.getStatus());
+            return ResponseEntity.ok(mapper.toResponse(paidOrder));
+        });
     }
     
     /**
@@ -230,14 +467,14 @@ public class OrderController {
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "400", description = "Invalid state transition - order must be paid first")
     })
-    public ResponseEntity<OrderResponse> shipOrder(
+    public CompletableFuture<ResponseEntity<OrderResponse>> shipOrder(
             @Parameter(description = "Order ID") @PathVariable String orderId) {
         
         log.info("Received ship order request: orderId={}", orderId);
-        Order shippedOrder = orderService.markOrderAsShipped(orderId);
-        log.info("Order shipping processed: orderId={}, status={}", orderId, shippedOrder.getStatus());
-        
-        return ResponseEntity.ok(mapper.toResponse(shippedOrder));
+        return orderService.markOrderAsShippedAsync(orderId).thenApply(shippedOrder -> {
+            log.info("Order shipping processed: orderId={}, status={}", orderId, shippedOrder.getStatus());
+            return ResponseEntity.ok(mapper.toResponse(shippedOrder));
+        });
     }
     
     /**
@@ -256,13 +493,116 @@ public class OrderController {
             @ApiResponse(responseCode = "404", description = "Order not found"),
             @ApiResponse(responseCode = "400", description = "Invalid state transition - cannot cancel shipped order")
     })
-    public ResponseEntity<OrderResponse> cancelOrder(
+    public CompletableFuture<ResponseEntity<OrderResponse>> cancelOrder(
             @Parameter(description = "Order ID") @PathVariable String orderId) {
         
         log.info("Received cancel order request: orderId={}", orderId);
-        Order cancelledOrder = orderService.cancelOrder(orderId);
-        log.info("Order cancellation processed: orderId={}, status={}", orderId, cancelledOrder.getStatus());
+        return orderService.cancelOrderAsync(orderId).thenApply(cancelledOrder -> {
+            log.info("Order cancellation processed: orderId={}, status={}", orderId, cancelledOrder.getStatus());
+            return ResponseEntity.ok(mapper.toResponse(cancelledOrder));
+        });
+    }
+    
+    /**
+     * Mark many orders as paid.
+     * 
+     * POST /api/orders/bulk/pay
+     * Request body: BulkOrderIdsRequest (up to 1000 IDs)
+     * Response: 200 OK with one result per distinct ID (SUCCESS / NO_OP / NOT_FOUND / VIOLATION)
+     * 
+     * Authorization: ROLE_CUSTOMER or ROLE_ADMIN
+     */
+    @PostMapping("/bulk/pay")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    @Operation(summary = "Mark orders as paid in bulk", description = "Transitions many orders to PAID and reports the outcome per order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-order results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (empty or too many IDs)")
+    })
+    public ResponseEntity<BulkTransitionResponse> payOrders(@Valid @RequestBody BulkOrderIdsRequest request) {
+        log.info("Received bulk pay request: orderCount={}", request.orderIds().size());
+        return ResponseEntity.ok(mapper.toBulkResponse(orderService.markOrdersAsPaid(request.orderIds())));
+    }
+    
+    /**
+     * Mark many orders as shipped (warehouse wave).
+     * 
+     * POST /api/orders/bulk/ship
+     * Request body: BulkOrderIdsRequest (up to 1000 IDs)
+     * Response: 200 OK with one result per distinct ID (SUCCESS / NO_OP / NOT_FOUND / VIOLATION)
+     * 
+     * Authorization: ROLE_WAREHOUSE_STAFF or ROLE_ADMIN
+     */
+    @PostMapping("/bulk/ship")
+    @PreAuthorize("hasAnyRole('WAREHOUSE_STAFF', 'ADMIN')")
+    @Operation(summary = "Mark orders as shipped in bulk", description = "Transitions many orders to SHIPPED and reports the outcome per order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-order results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (empty or too many IDs)")
+    })
+    public ResponseEntity<BulkTransitionResponse> shipOrders(@Valid @RequestBody BulkOrderIdsRequest request) {
+        log.info("Received bulk ship request: orderCount={}", request.orderIds().size());
+        return ResponseEntity.ok(mapper.toBulkResponse(orderService.markOrdersAsShipped(request.orderIds())));
+    }
+    
+    /**
+     * Cancel many orders.
+     * 
+     * POST /api/orders/bulk/cancel
+     * Request body: BulkOrderIdsRequest (up to 1000 IDs)
+     * Response: 200 OK with one result per distinct ID (SUCCESS / NO_OP / NOT_FOUND / VIOLATION)
+     * 
+     * Authorization: ROLE_CUSTOMER or ROLE_ADMIN
+     */
+    @PostMapping("/bulk/cancel")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    @Operation(summary = "Cancel orders in bulk", description = "Transitions many orders to CANCELLED and reports the outcome per order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-order results"),
+            @ApiResponse(responseCode = "400", description = "Invalid request (empty or too many IDs)")
+    })
+    public ResponseEntity<BulkTransitionResponse> cancelOrders(@Valid @RequestBody BulkOrderIdsRequest request) {
+        log.info("Received bulk cancel request: orderCount={}", request.orderIds().size());
+        return ResponseEntity.ok(mapper.toBulkResponse(orderService.cancelOrders(request.orderIds())));
+    }
+    
+    /**
+     * Decode an optional cursor parameter (malformed cursors become 400 via ApiErrorHandler).
+     */
+    private static OrderCursor decodeCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? null : OrderCursor.decode(cursor);
+    }
+    
+    /**
+     * 200 OK with the page's orders as a JSON array, plus X-Next-Cursor when more pages exist.
+     */
+    private ResponseEntity<List<OrderResponse>> pageResponse(OrderPage page) {
+        List<OrderResponse> orders = page.orders()
+                .stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
         
-        return ResponseEntity.ok(mapper.toResponse(cancelledOrder));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        page.next().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.encode()));
+        return response.body(orders);
+    }
+    
+    /**
+     * Bean-validate one order of a batch.
+     * 
+     * @return "field: message" list of violations, or null if the order is valid
+     */
+    private String validate(CreateOrderRequest order) {
+        if (order == null) {
+            return "Order is required";
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(order);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 }
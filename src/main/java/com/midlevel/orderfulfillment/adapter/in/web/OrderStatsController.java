@@ -0,0 +1,61 @@
+package com.midlevel.orderfulfillment.adapter.in.web;
+
+import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderStatsResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.mapper.OrderDtoMapper;
+import com.midlevel.orderfulfillment.application.OrderStatsProjection;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST API for operational order totals.
+ * 
+ * Served from the in-memory OrderStatsProjection: no database query per
+ * request, so dashboards can poll it as often as they like.
+ */
+@RestController
+@RequestMapping("/api/orders/stats")
+@Tag(name = "Order Stats", description = "Order counts and revenue totals")
+public class OrderStatsController {
+    
+    private static final int DEFAULT_MINUTES = 15;
+    
+    private final OrderStatsProjection projection;
+    private final OrderDtoMapper mapper;
+    
+    public OrderStatsController(OrderStatsProjection projection, OrderDtoMapper mapper) {
+        this.projection = projection;
+        this.mapper = mapper;
+    }
+    
+    /**
+     * Get order counts by status, gross revenue by currency and recent per-minute activity.
+     * 
+     * GET /api/orders/stats?minutes={minutes}
+     * Response: 200 OK with OrderStatsResponse
+     * 
+     * Authorization: ROLE_ADMIN only
+     * 
+     * {minutes} is capped at orders.stats.window-minutes.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get order statistics", description = "Counts by status, revenue by currency and per-minute activity")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    public ResponseEntity<OrderStatsResponse> getStats(
+            @Parameter(description = "Minutes of per-minute activity to include")
+            @RequestParam(defaultValue = "" + DEFAULT_MINUTES) int minutes) {
+        
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(mapper.toStatsResponse(projection.snapshot(minutes)));
+    }
+}
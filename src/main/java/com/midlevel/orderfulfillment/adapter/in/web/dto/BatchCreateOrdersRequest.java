@@ -0,0 +1,24 @@
+package com.midlevel.orderfulfillment.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for creating many orders in one request (POST /api/orders/batch).
+ * 
+ * Only the envelope is validated as a whole (non-empty, bounded size).
+ * Individual orders deliberately have no @Valid here: each one is validated
+ * on its own so that one bad order is reported as REJECTED instead of
+ * failing the whole batch with 400.
+ */
+public record BatchCreateOrdersRequest(
+        
+        @NotEmpty(message = "Batch must contain at least one order")
+        @Size(max = BatchCreateOrdersRequest.MAX_ORDERS, 
+              message = "Batch cannot contain more than " + BatchCreateOrdersRequest.MAX_ORDERS + " orders")
+        List<CreateOrderRequest> orders
+) {
+    
+    public static final int MAX_ORDERS = 1000;
+}
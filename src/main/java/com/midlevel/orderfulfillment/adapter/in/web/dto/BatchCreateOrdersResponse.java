@@ -0,0 +1,33 @@
+package com.midlevel.orderfulfillment.adapter.in.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a batch order creation.
+ * 
+ * Contains one result per submitted order, in submission order, plus totals
+ * so clients can tell at a glance whether anything needs attention.
+ * 
+ * Result status values:
+ * - CREATED: stored, orderId is set
+ * - REJECTED: invalid input, fix and resubmit
+ * - FAILED: valid but not stored (e.g., database error), safe to resubmit as-is
+ */
+public record BatchCreateOrdersResponse(
+        int requested,
+        int created,
+        int rejected,
+        int failed,
+        List<OrderResult> results
+) {
+    
+    /**
+     * DTO for one order within the batch.
+     */
+    public record OrderResult(
+            int index,
+            String status,
+            String orderId,
+            String error
+    ) {}
+}
@@ -0,0 +1,22 @@
+package com.midlevel.orderfulfillment.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for bulk state transitions (POST /api/orders/bulk/{pay|ship|cancel}).
+ * 
+ * Duplicate IDs are allowed and processed once.
+ */
+public record BulkOrderIdsRequest(
+        
+        @NotEmpty(message = "At least one order ID is required")
+        @Size(max = BulkOrderIdsRequest.MAX_ORDER_IDS, 
+              message = "Cannot transition more than " + BulkOrderIdsRequest.MAX_ORDER_IDS + " orders at once")
+        List<@NotBlank(message = "Order ID cannot be blank") String> orderIds
+) {
+    
+    public static final int MAX_ORDER_IDS = 1000;
+}
@@ -0,0 +1,32 @@
+package com.midlevel.orderfulfillment.adapter.in.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk pay / ship / cancel request.
+ * 
+ * Result outcome values:
+ * - SUCCESS: state changed
+ * - NO_OP: already in the target state (idempotent, nothing changed)
+ * - NOT_FOUND: unknown order ID
+ * - VIOLATION: business rule forbids the transition, see message
+ */
+public record BulkTransitionResponse(
+        int requested,
+        int succeeded,
+        int noOp,
+        int notFound,
+        int violations,
+        List<OrderTransitionResult> results
+) {
+    
+    /**
+     * DTO for one order ID within the bulk request.
+     */
+    public record OrderTransitionResult(
+            String orderId,
+            String outcome,
+            String status,
+            String message
+    ) {}
+}
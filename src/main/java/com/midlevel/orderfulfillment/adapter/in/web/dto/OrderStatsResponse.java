@@ -0,0 +1,31 @@
+package com.midlevel.orderfulfillment.adapter.in.web.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the order statistics snapshot.
+ * 
+ * countsByStatus: orders currently in each status.
+ * revenueByCurrency: gross revenue (every payment taken), keyed by ISO 4217 code.
+ * minutes: per-minute activity, oldest first, ending with the current minute.
+ */
+public record OrderStatsResponse(
+        Instant asOf,
+        Map<String, Long> countsByStatus,
+        Map<String, BigDecimal> revenueByCurrency,
+        List<MinuteStats> minutes
+) {
+    
+    /**
+     * DTO for one minute of activity.
+     * transitions: orders that entered each status during the minute.
+     */
+    public record MinuteStats(
+            Instant start,
+            Map<String, Long> transitions,
+            Map<String, BigDecimal> revenueByCurrency
+    ) {}
+}
@@ -1,6 +1,7 @@
 package com.midlevel.orderfulfillment.adapter.in.web.exception;
 
 import com.midlevel.orderfulfillment.application.OrderService.OrderNotFoundException;
+import com.midlevel.orderfulfillment.domain.port.OrderVersionConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -63,6 +64,34 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
     
+    /**
+     * Handle OrderVersionConflictException (409 Conflict).
+     * 
+     * <p>Thrown when concurrent updates to the same order kept conflicting
+     * after the service's conflict retries.</p>
+     * 
+     * @param ex the exception
+     * @param request the web request
+     * @return ProblemDetail with 409 status
+     */
+    @ExceptionHandler(OrderVersionConflictException.class)
+    public ProblemDetail handleOrderVersionConflictException(
+            OrderVersionConflictException ex, 
+            WebRequest request) {
+        
+        log.warn("Order version conflict: {}", ex.getMessage());
+        
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Concurrent Modification");
+        problemDetail.setType(URI.create("https://api.orderfulfillment.com/errors/concurrent-modification"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        
+        return problemDetail;
+    }
+    
     /**
      * Handle IllegalStateException (400 Bad Request).
      * 
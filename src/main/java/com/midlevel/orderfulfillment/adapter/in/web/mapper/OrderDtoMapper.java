@@ -1,15 +1,26 @@
 package com.midlevel.orderfulfillment.adapter.in.web.mapper;
 
 import com.midlevel.orderfulfillment.adapter.in.web.dto.AddressDto;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BatchCreateOrdersResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BulkTransitionResponse;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.CreateOrderRequest;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.MoneyDto;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderStatsResponse;
+import com.midlevel.orderfulfillment.application.BatchOrderResult;
+import com.midlevel.orderfulfillment.application.BulkTransitionResult;
+import com.midlevel.orderfulfillment.application.OrderStats;
 import com.midlevel.orderfulfillment.domain.model.Address;
 import com.midlevel.orderfulfillment.domain.model.Money;
 import com.midlevel.orderfulfillment.domain.model.Order;
 import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -95,6 +106,58 @@ public class OrderDtoMapper {
         );
     }
     
+    /**
+     * Convert per-order batch results to the batch response DTO.
+     * 
+     * @param results one result per submitted order, in submission order
+     */
+    public BatchCreateOrdersResponse toBatchResponse(List<BatchOrderResult> results) {
+        List<BatchCreateOrdersResponse.OrderResult> orderResults = new ArrayList<>(results.size());
+        int created = 0;
+        int rejected = 0;
+        int failed = 0;
+        
+        for (int i = 0; i < results.size(); i++) {
+            BatchOrderResult result = results.get(i);
+            switch (result.status()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+            orderResults.add(new BatchCreateOrdersResponse.OrderResult(
+                    i, result.status().name(), result.orderId(), result.error()));
+        }
+        
+        return new BatchCreateOrdersResponse(results.size(), created, rejected, failed, orderResults);
+    }
+    
+    /**
+     * Convert bulk transition results to the bulk response DTO.
+     */
+    public BulkTransitionResponse toBulkResponse(List<BulkTransitionResult> results) {
+        List<BulkTransitionResponse.OrderTransitionResult> orderResults = new ArrayList<>(results.size());
+        int succeeded = 0;
+        int noOp = 0;
+        int notFound = 0;
+        int violations = 0;
+        
+        for (BulkTransitionResult result : results) {
+            switch (result.outcome()) {
+                case SUCCESS -> succeeded++;
+                case NO_OP -> noOp++;
+                case NOT_FOUND -> notFound++;
+                case VIOLATION -> violations++;
+            }
+            orderResults.add(new BulkTransitionResponse.OrderTransitionResult(
+                    result.orderId(),
+                    result.outcome().name(),
+                    result.status() != null ? result.status().name() : null,
+                    result.message()));
+        }
+        
+        return new BulkTransitionResponse(results.size(), succeeded, noOp, notFound, violations, orderResults);
+    }
+    
     /**
      * Convert OrderItemRequest DTO to domain OrderItem.
      */
@@ -154,6 +217,29 @@ public class OrderDtoMapper {
         return Money.of(dto.amount(), dto.currency());
     }
     
+    /**
+     * Convert an order statistics snapshot to the stats response DTO.
+     */
+    public OrderStatsResponse toStatsResponse(OrderStats stats) {
+        return new OrderStatsResponse(
+                stats.asOf(),
+                byStatusName(stats.countsByStatus()),
+                stats.revenueByCurrency(),
+                stats.minutes().stream()
+                        .map(minute -> new OrderStatsResponse.MinuteStats(
+                                minute.start(),
+                                byStatusName(minute.transitions()),
+                                minute.revenueByCurrency()))
+                        .collect(Collectors.toList())
+        );
+    }
+    
+    private static Map<String, Long> byStatusName(Map<OrderStatus, Long> counts) {
+        Map<String, Long> byName = new LinkedHashMap<>();
+        counts.forEach((status, count) -> byName.put(status.name(), count));
+        return byName;
+    }
+    
     /**
      * Convert domain Money to MoneyDto.
      */
@@ -0,0 +1,386 @@
+package com.midlevel.orderfulfillment.adapter.kafka;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Order Event Codec - Compact binary encoding of the order domain events.
+ * 
+ * A JSON order event is a few hundred bytes of field names, quoted UUIDs
+ * and timestamps; the same event here is well under a hundred, written and
+ * read without reflection or intermediate trees (see OrderEventCodecBenchmark).
+ * 
+ * Layout (schema version 1), all integers big-endian:
+ * 
+ *   version      1 byte   (1)
+ *   type         1 byte   (1 created, 2 paid, 3 shipped, 4 cancelled)
+ *   eventId      id
+ *   occurredAt   8 bytes  epoch microseconds
+ *   orderId      id
+ *   customerId   id
+ *   created:     money, itemCount (varint)
+ *   paid:        money                    (paidAt is occurredAt)
+ *   shipped:     -                        (shippedAt is occurredAt)
+ *   cancelled:   reason (string), previousStatus (1 byte: 0 unknown,
+ *                1 CREATED, 2 PAID, 3 SHIPPED, 4 CANCELLED)
+ * 
+ *   id      1 byte tag: 0 null, 1 UUID (16 bytes), 2 other (string)
+ *   money   3 ASCII bytes currency code, then minor units (varint)
+ *   string  varint length + 1 (0 = null), then UTF-8 bytes
+ *   varint  unsigned LEB128 (7 bits per byte)
+ * 
+ * Ids in canonical lower-case UUID form (what the id generators produce)
+ * take 16 bytes; anything else (e.g., "CUST-1") is kept as a string, so
+ * every id round-trips exactly. Instants are truncated to microseconds, the
+ * precision the database keeps anyway.
+ * 
+ * Versioning: the version byte is bumped whenever the layout changes.
+ * Decoders reject versions they do not know instead of misreading them;
+ * deploy consumers that read a new version before producers write it.
+ */
+public final class OrderEventCodec {
+    
+    /**
+     * Record header carrying the payload's content type (same name as Spring's
+     * MessageHeaders.CONTENT_TYPE, so it survives header mapping).
+     */
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+    
+    public static final String JSON_CONTENT_TYPE = "application/json";
+    
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.order-event.v1+binary";
+    
+    static final byte VERSION = 1;
+    
+    private static final byte TYPE_CREATED = 1;
+    private static final byte TYPE_PAID = 2;
+    private static final byte TYPE_SHIPPED = 3;
+    private static final byte TYPE_CANCELLED = 4;
+    
+    private static final byte ID_NULL = 0;
+    private static final byte ID_UUID = 1;
+    private static final byte ID_STRING = 2;
+    
+    private OrderEventCodec() {
+    }
+    
+    /**
+     * @return true if the header value names this codec's format
+     */
+    public static boolean isBinary(byte[] contentType) {
+        return contentType != null
+                && BINARY_CONTENT_TYPE.equals(new String(contentType, StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * @throws IllegalArgumentException for events other than the four order events,
+     *         or amounts that do not fit in minor units
+     */
+    public static byte[] encode(DomainEvent event) {
+        Writer out = new Writer();
+        out.writeByte(VERSION);
+        if (event instanceof OrderCreatedEvent created) {
+            writeEnvelope(out, TYPE_CREATED, event, created.getOrderId(), created.getCustomerId());
+            writeMoney(out, created.getTotalAmount());
+            out.writeVarLong(created.getItemCount());
+        } else if (event instanceof OrderPaidEvent paid) {
+            writeEnvelope(out, TYPE_PAID, event, paid.getOrderId(), paid.getCustomerId());
+            writeMoney(out, paid.getTotalAmount());
+        } else if (event instanceof OrderShippedEvent shipped) {
+            writeEnvelope(out, TYPE_SHIPPED, event, shipped.getOrderId(), shipped.getCustomerId());
+        } else if (event instanceof OrderCancelledEvent cancelled) {
+            writeEnvelope(out, TYPE_CANCELLED, event, cancelled.getOrderId(), cancelled.getCustomerId());
+            out.writeString(cancelled.getReason());
+            out.writeByte(statusCode(cancelled.getPreviousStatus()));
+        } else {
+            throw new IllegalArgumentException("No binary encoding for event type: " + event.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the bytes are not a complete event of a known version
+     */
+    public static DomainEvent decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported order event schema version: " + version);
+        }
+        byte type = in.readByte();
+        String eventId = in.readId();
+        Instant occurredAt = in.readMicros();
+        String orderId = in.readId();
+        String customerId = in.readId();
+        DomainEvent event = switch (type) {
+            case TYPE_CREATED -> new OrderCreatedEvent(
+                    eventId, orderId, customerId, in.readMoney(), in.readVarInt(), occurredAt);
+            case TYPE_PAID -> new OrderPaidEvent(eventId, orderId, customerId, in.readMoney(), occurredAt);
+            case TYPE_SHIPPED -> new OrderShippedEvent(eventId, orderId, customerId, occurredAt);
+            case TYPE_CANCELLED -> new OrderCancelledEvent(
+                    eventId, orderId, customerId, in.readString(), in.readStatus(), occurredAt);
+            default -> throw new IllegalArgumentException("Unknown order event type: " + type);
+        };
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException("Trailing bytes after order event: " + in.remaining());
+        }
+        return event;
+    }
+    
+    private static void writeEnvelope(Writer out, byte type, DomainEvent event, String orderId, String customerId) {
+        out.writeByte(type);
+        out.writeId(event.getEventId());
+        out.writeMicros(event.getOccurredAt());
+        out.writeId(orderId);
+        out.writeId(customerId);
+    }
+    
+    /**
+     * Fixed codes rather than ordinals, so reordering OrderStatus cannot change the format.
+     */
+    private static int statusCode(OrderStatus status) {
+        if (status == null) {
+            return 0;
+        }
+        return switch (status) {
+            case CREATED -> 1;
+            case PAID -> 2;
+            case SHIPPED -> 3;
+            case CANCELLED -> 4;
+        };
+    }
+    
+    private static void writeMoney(Writer out, Money money) {
+        if (money == null) {
+            throw new IllegalArgumentException("Order event without amount");
+        }
+        long minorUnits;
+        try {
+            minorUnits = money.toMinorUnits();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount has no binary encoding: " + money, e);
+        }
+        String currency = money.getCurrencyCode();
+        for (int i = 0; i < 3; i++) {
+            out.writeByte(currency.charAt(i));
+        }
+        out.writeVarLong(minorUnits);
+    }
+    
+    /**
+     * Growable output buffer (events are small: one or two allocations per encode).
+     */
+    private static final class Writer {
+        
+        private byte[] buf = new byte[96];
+        private int pos;
+        
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+        
+        void writeLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+        
+        void writeVarLong(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value has no varint encoding: " + value);
+            }
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+        
+        void writeMicros(Instant instant) {
+            writeLong(Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000));
+        }
+        
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buf, pos, utf8.length);
+            pos += utf8.length;
+        }
+        
+        void writeId(String id) {
+            if (id == null) {
+                writeByte(ID_NULL);
+            } else if (isCanonicalUuid(id)) {
+                writeByte(ID_UUID);
+                writeLong(hex(id, 0, 8) << 32 | hex(id, 9, 13) << 16 | hex(id, 14, 18));
+                writeLong(hex(id, 19, 23) << 48 | hex(id, 24, 36));
+            } else {
+                writeByte(ID_STRING);
+                writeString(id);
+            }
+        }
+        
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+        
+        private void ensure(int bytes) {
+            if (pos + bytes > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+            }
+        }
+        
+        /**
+         * Lower-case 8-4-4-4-12 hex only: exactly the strings UUID.toString() gives back.
+         */
+        private static boolean isCanonicalUuid(String id) {
+            if (id.length() != 36) {
+                return false;
+            }
+            for (int i = 0; i < 36; i++) {
+                char c = id.charAt(i);
+                boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                        ? c == '-'
+                        : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+                if (!valid) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private static long hex(String id, int from, int to) {
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                value = value << 4 | Character.digit(id.charAt(i), 16);
+            }
+            return value;
+        }
+    }
+    
+    /**
+     * Bounds-checked input cursor: truncated input fails with IllegalArgumentException.
+     */
+    private static final class Reader {
+        
+        private final byte[] buf;
+        private int pos;
+        
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+        
+        byte readByte() {
+            require(1);
+            return buf[pos++];
+        }
+        
+        long readLong() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = value << 8 | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+        
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in order event");
+        }
+        
+        /**
+         * A varint that must fit in a non-negative int (counts and lengths).
+         */
+        int readVarInt() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Varint out of range in order event: " + Long.toUnsignedString(value));
+            }
+            return (int) value;
+        }
+        
+        Instant readMicros() {
+            long micros = readLong();
+            return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+        }
+        
+        String readString() {
+            int encoded = readVarInt();
+            if (encoded == 0) {
+                return null;
+            }
+            int length = encoded - 1;
+            require(length);
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+        
+        String readId() {
+            byte tag = readByte();
+            return switch (tag) {
+                case ID_NULL -> null;
+                case ID_UUID -> new UUID(readLong(), readLong()).toString();
+                case ID_STRING -> readString();
+                default -> throw new IllegalArgumentException("Unknown id tag in order event: " + tag);
+            };
+        }
+        
+        Money readMoney() {
+            require(3);
+            String currency = new String(buf, pos, 3, StandardCharsets.US_ASCII);
+            pos += 3;
+            return Money.ofMinor(readVarLong(), currency);
+        }
+        
+        OrderStatus readStatus() {
+            byte code = readByte();
+            return switch (code) {
+                case 0 -> null;
+                case 1 -> OrderStatus.CREATED;
+                case 2 -> OrderStatus.PAID;
+                case 3 -> OrderStatus.SHIPPED;
+                case 4 -> OrderStatus.CANCELLED;
+                default -> throw new IllegalArgumentException("Unknown order status code: " + code);
+            };
+        }
+        
+        int remaining() {
+            return buf.length - pos;
+        }
+        
+        private void require(int bytes) {
+            if (bytes > buf.length - pos) {
+                throw new IllegalArgumentException("Truncated order event: needed " + bytes
+                        + " more bytes at position " + pos);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.midlevel.orderfulfillment.adapter.kafka;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Kafka Deserializer for the order domain events, JSON or binary.
+ * 
+ * Replaces Spring's JsonDeserializer (and its spring.json.trusted.packages
+ * "*"): the event class is never taken from the record, only the four order
+ * events can come out.
+ * - contentType header naming OrderEventCodec's format: binary decode
+ * - anything else (application/json, or no header: records written before
+ *   the header existed): JSON, typed by topic (one topic per event type)
+ * 
+ * Unreadable records fail with SerializationException, which Spring Kafka
+ * hands to the container's error handler.
+ */
+public class OrderEventDeserializer implements Deserializer<DomainEvent> {
+    
+    // Exact decimals: amounts and nanosecond timestamps must not go through double
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    
+    @Override
+    public DomainEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header contentType = headers.lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER);
+        if (contentType != null && OrderEventCodec.isBinary(contentType.value())) {
+            try {
+                return OrderEventCodec.decode(data);
+            } catch (RuntimeException e) {
+                throw new SerializationException("Can't decode binary order event from topic " + topic, e);
+            }
+        }
+        return deserialize(topic, data);
+    }
+    
+    /**
+     * JSON only: without headers a binary payload cannot be recognized.
+     */
+    @Override
+    public DomainEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return fromJson(topic, objectMapper.readTree(data));
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Can't read JSON order event from topic " + topic, e);
+        }
+    }
+    
+    private static DomainEvent fromJson(String topic, JsonNode json) {
+        String eventId = text(json, "eventId");
+        String orderId = text(json, "orderId");
+        String customerId = text(json, "customerId");
+        Instant occurredAt = instant(json.path("occurredAt"));
+        if (eventId == null || occurredAt == null) {
+            throw new IllegalArgumentException("Order event without eventId or occurredAt");
+        }
+        return switch (topic) {
+            case KafkaConfig.TOPIC_ORDER_CREATED -> new OrderCreatedEvent(
+                    eventId, orderId, customerId, money(json.path("totalAmount")), json.path("itemCount").asInt(),
+                    occurredAt);
+            case KafkaConfig.TOPIC_ORDER_PAID -> new OrderPaidEvent(
+                    eventId, orderId, customerId, money(json.path("totalAmount")),
+                    orDefault(instant(json.path("paidAt")), occurredAt));
+            case KafkaConfig.TOPIC_ORDER_SHIPPED -> new OrderShippedEvent(
+                    eventId, orderId, customerId, orDefault(instant(json.path("shippedAt")), occurredAt));
+            case KafkaConfig.TOPIC_ORDER_CANCELLED -> new OrderCancelledEvent(
+                    eventId, orderId, customerId, text(json, "reason"), status(json.path("previousStatus")),
+                    occurredAt);
+            default -> throw new IllegalArgumentException("Not an order topic: " + topic);
+        };
+    }
+    
+    private static String text(JsonNode json, String field) {
+        JsonNode node = json.path(field);
+        return node.isTextual() ? node.asText() : null;
+    }
+    
+    private static Money money(JsonNode node) {
+        JsonNode currency = node.hasNonNull("currencyCode") ? node.path("currencyCode") : node.path("currency");
+        if (!node.path("amount").isNumber() || !currency.isTextual()) {
+            throw new IllegalArgumentException("Order event without amount");
+        }
+        return Money.of(node.path("amount").decimalValue(), currency.asText());
+    }
+    
+    private static OrderStatus status(JsonNode node) {
+        return node.isTextual() ? OrderStatus.valueOf(node.asText()) : null;
+    }
+    
+    /**
+     * ISO-8601 text, or decimal epoch seconds (JsonSerializer's default WRITE_DATES_AS_TIMESTAMPS).
+     */
+    private static Instant instant(JsonNode node) {
+        if (node.isTextual()) {
+            return Instant.parse(node.asText());
+        }
+        if (node.isNumber()) {
+            BigDecimal seconds = node.decimalValue();
+            return Instant.ofEpochSecond(seconds.longValue(),
+                    seconds.remainder(BigDecimal.ONE).movePointRight(9).longValue());
+        }
+        return null;
+    }
+    
+    private static Instant orDefault(Instant value, Instant fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,149 @@
+package com.midlevel.orderfulfillment.adapter.out.cache;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.CustomerOrderQuery;
+import com.midlevel.orderfulfillment.domain.port.OrderCursor;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Caching decorator for the OrderRepository port (read-through on findById).
+ * 
+ * Which reads are cached:
+ * - findById (and findVersionById, from cached orders only) outside a transaction or inside a read-only one (e.g.,
+ *   OrderService.findById behind GET /api/orders/{orderId})
+ * - NOT inside a read-write transaction: pay/ship/cancel load the order to
+ *   change it, so they always read the database and never get (or mutate)
+ *   an instance other threads are reading
+ * - Everything else goes straight to the delegate
+ * 
+ * Cached orders are shared between readers: code that changes an order must
+ * load it in a read-write transaction.
+ * 
+ * Writes (save, saveAll, deleteById) drop the affected entries right away and
+ * again after the transaction commits, so a read that loaded the old row in
+ * between doesn't stay cached.
+ */
+public class CachingOrderRepository implements OrderRepository {
+    
+    private final OrderRepository delegate;
+    private final OrderCache cache;
+    
+    public CachingOrderRepository(OrderRepository delegate, OrderCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+    
+    @Override
+    public Optional<Order> findById(String orderId) {
+        if (!isReadOnlyContext()) {
+            return delegate.findById(orderId);
+        }
+        return cache.get(orderId, delegate::findById);
+    }
+    
+    /**
+     * Version lookups (conditional GETs) use a cached order when there is one,
+     * and otherwise the delegate's version-only query - they never fill the
+     * cache with whole orders.
+     */
+    @Override
+    public Optional<Long> findVersionById(String orderId) {
+        if (isReadOnlyContext()) {
+            Optional<Order> cached = cache.getIfPresent(orderId);
+            if (cached != null) {
+                return cached.map(Order::getVersion);
+            }
+        }
+        return delegate.findVersionById(orderId);
+    }
+    
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        invalidate(List.of(saved.getOrderId()));
+        return saved;
+    }
+    
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        invalidate(saved.stream().map(Order::getOrderId).toList());
+        return saved;
+    }
+    
+    @Override
+    public void deleteById(String orderId) {
+        delegate.deleteById(orderId);
+        invalidate(List.of(orderId));
+    }
+    
+    @Override
+    public List<Order> findAllById(Collection<String> orderIds) {
+        return delegate.findAllById(orderIds);
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(String customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+    
+    @Override
+    public List<Order> findByCustomer(CustomerOrderQuery query, OrderCursor after, int limit) {
+        return delegate.findByCustomer(query, after, limit);
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<Order> findPageAfter(OrderCursor after, int limit) {
+        return delegate.findPageAfter(after, limit);
+    }
+    
+    @Override
+    public void streamAll(int fetchSize, Consumer<? super Order> action) {
+        delegate.streamAll(fetchSize, action);
+    }
+    
+    @Override
+    public void streamByStatus(OrderStatus status, int fetchSize, Consumer<? super Order> action) {
+        delegate.streamByStatus(status, fetchSize, action);
+    }
+    
+    @Override
+    public boolean existsById(String orderId) {
+        return delegate.existsById(orderId);
+    }
+    
+    private static boolean isReadOnlyContext() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+    
+    private void invalidate(List<String> orderIds) {
+        orderIds.forEach(orderId -> cache.invalidate(orderId, "write"));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orderIds.forEach(orderId -> cache.invalidate(orderId, "write"));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.midlevel.orderfulfillment.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Order Cache - Orders by ID, in front of the database.
+ * 
+ * Storefronts poll GET /api/orders/{orderId} for status changes, which makes
+ * single-order reads most of our traffic. This cache answers repeat reads
+ * from memory (see CachingOrderRepository for when it is used).
+ * 
+ * Design:
+ * - Key: order ID; value: Optional<Order> (empty = "no such order")
+ * - Size-bounded (Caffeine, W-TinyLFU eviction)
+ * - Found orders live for orders.cache.ttl, unknown IDs for the shorter
+ *   orders.cache.negative-ttl (negative caching: repeated lookups of a bad
+ *   ID don't each hit the database)
+ * - Entries are dropped on local writes and on order events (OrderCacheInvalidator)
+ * 
+ * Multi-node: another node's write only reaches this cache through an order
+ * event (orders.cache.kafka-invalidation.enabled) or when the TTL runs out,
+ * so the TTL is the upper bound on staleness. Keep it short unless Kafka
+ * invalidation is on.
+ * 
+ * Metrics (via Micrometer, tagged cache=orders.by-id):
+ * - cache.gets{result=hit|miss}, cache.evictions, cache.size,
+ *   cache.load{result=success|failure}, cache.load.duration
+ * - orders.cache.hit.ratio (gauge)
+ * - orders.cache.invalidations{source=write|event|kafka}
+ */
+@Component
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderCache.class);
+    
+    static final String CACHE_NAME = "orders.by-id";
+    
+    private final Cache<String, Optional<Order>> cache;
+    private final MeterRegistry meterRegistry;
+    
+    @Autowired
+    public OrderCache(
+            MeterRegistry meterRegistry,
+            @Value("${orders.cache.max-size:10000}") long maxSize,
+            @Value("${orders.cache.ttl:5s}") Duration ttl,
+            @Value("${orders.cache.negative-ttl:1s}") Duration negativeTtl) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new OrderExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("orders.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of order lookups answered from the cache")
+                .register(meterRegistry);
+        
+        log.info("Order cache initialized: maxSize={}, ttl={}, negativeTtl={}", maxSize, ttl, negativeTtl);
+    }
+    
+    /**
+     * Return the cached lookup for an order, loading it on a miss.
+     * 
+     * Concurrent misses for the same ID share one load. An invalidate() that
+     * arrives while a load is running waits for it and then removes the
+     * loaded value, so a load that raced a write can't outlive the write.
+     * 
+     * @param orderId the order ID
+     * @param loader database lookup, called on a miss
+     * @return the order, or empty if it doesn't exist
+     */
+    public Optional<Order> get(String orderId, Function<String, Optional<Order>> loader) {
+        return cache.get(orderId, loader);
+    }
+    
+    /**
+     * Return the cached lookup for an order without loading it.
+     * 
+     * @param orderId the order ID
+     * @return the cached lookup, or null if the order isn't cached
+     */
+    public Optional<Order> getIfPresent(String orderId) {
+        return cache.getIfPresent(orderId);
+    }
+    
+    /**
+     * Drop an order from the cache.
+     * 
+     * @param orderId the order ID
+     * @param source what triggered the invalidation (metric tag: write, event, kafka)
+     */
+    public void invalidate(String orderId, String source) {
+        cache.invalidate(orderId);
+        invalidations(source).increment();
+    }
+    
+    /**
+     * Remove all cached orders.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    private Counter invalidations(String source) {
+        return meterRegistry.counter("orders.cache.invalidations", "source", source);
+    }
+    
+    /**
+     * Found orders expire after the TTL, unknown IDs after the negative TTL.
+     * Reads don't extend either.
+     */
+    private static final class OrderExpiry implements Expiry<String, Optional<Order>> {
+        
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+        
+        OrderExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(String key, Optional<Order> order, long currentTime) {
+            return order.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Optional<Order> order, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, order, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Optional<Order> order, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.midlevel.orderfulfillment.adapter.out.cache;
+
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached orders when order events say they changed.
+ * 
+ * Two sources:
+ * 1. Local domain events (events.publisher=spring), after the transaction commits
+ * 2. The order event topics (orders.cache.kafka-invalidation.enabled=true):
+ *    every node reads them with its own consumer group, so a write on one node
+ *    evicts the order on all of them. The record key is the order ID, so the
+ *    payload is never parsed.
+ * 
+ * Kafka invalidation lags the write by the outbox relay delay (about
+ * events.outbox.poll-interval-ms); the TTL still bounds staleness if the
+ * consumer falls behind or stops.
+ * 
+ * Each node joins a fresh consumer group ("order-cache-<random>") starting at
+ * the latest offset - a node only needs events from after its cache was created.
+ * The broker expires abandoned groups after offsets.retention.minutes.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCacheInvalidator {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderCacheInvalidator.class);
+    
+    private final OrderCache orderCache;
+    
+    public OrderCacheInvalidator(OrderCache orderCache) {
+        this.orderCache = orderCache;
+    }
+    
+    /**
+     * Local events (in-memory publisher).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        orderCache.invalidate(event.getAggregateId(), "event");
+    }
+    
+    /**
+     * Events from any node, via the order topics.
+     */
+    @KafkaListener(
+            id = "order-cache-invalidator",
+            groupId = "order-cache-${random.uuid}",
+            topics = {
+                    KafkaConfig.TOPIC_ORDER_CREATED,
+                    KafkaConfig.TOPIC_ORDER_PAID,
+                    KafkaConfig.TOPIC_ORDER_SHIPPED,
+                    KafkaConfig.TOPIC_ORDER_CANCELLED
+            },
+            autoStartup = "${orders.cache.kafka-invalidation.enabled:false}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void onOrderEvent(ConsumerRecord<String, String> record) {
+        if (record.key() == null) {
+            log.warn("Order event without key, cannot invalidate: topic={}, offset={}",
+                    record.topic(), record.offset());
+            return;
+        }
+        orderCache.invalidate(record.key(), "kafka");
+    }
+}
@@ -0,0 +1,91 @@
+package com.midlevel.orderfulfillment.adapter.out.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.port.EventOutbox;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA adapter for the EventOutbox port.
+ * 
+ * Serializes each event to JSON up front (same shape the Kafka JsonSerializer
+ * produced before) and stores it with its target topic and key, so the relay
+ * never needs to know about domain event classes.
+ * 
+ * Active only when events go to Kafka (events.publisher=kafka).
+ */
+@Component
+@ConditionalOnProperty(name = "events.publisher", havingValue = "kafka")
+public class JpaEventOutbox implements EventOutbox {
+    
+    private final OutboxMessageRepository repository;
+    private final ObjectMapper objectMapper;
+    
+    public JpaEventOutbox(OutboxMessageRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * MANDATORY propagation: an outbox write outside the order's transaction
+     * would defeat the purpose, so fail fast instead of opening a new one.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            messages.add(new OutboxMessage(
+                    event.getEventId(),
+                    event.getAggregateId(),
+                    event.getClass().getSimpleName(),
+                    topicFor(event),
+                    toJson(event),
+                    event.getOccurredAt()
+            ));
+        }
+        repository.saveAll(messages);
+    }
+    
+    /**
+     * Maps an event to its Kafka topic (one topic per event type).
+     */
+    static String topicFor(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent) {
+            return KafkaConfig.TOPIC_ORDER_CREATED;
+        } else if (event instanceof OrderPaidEvent) {
+            return KafkaConfig.TOPIC_ORDER_PAID;
+        } else if (event instanceof OrderShippedEvent) {
+            return KafkaConfig.TOPIC_ORDER_SHIPPED;
+        } else if (event instanceof OrderCancelledEvent) {
+            return KafkaConfig.TOPIC_ORDER_CANCELLED;
+        }
+        throw new IllegalArgumentException("No topic for event type: " + event.getClass().getName());
+    }
+    
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            // Rolls back the order change too - better than silently losing the event
+            throw new IllegalStateException("Failed to serialize event: " + event.getEventId(), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.midlevel.orderfulfillment.adapter.out.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * OutboxMessage - One pending domain event in the "event_outbox" table.
+ * 
+ * Rows are inserted in the same transaction as the order change and
+ * deleted by OutboxRelay once the broker has acknowledged them, so the
+ * table only ever holds events that are still in flight.
+ * 
+ * The sequence-based id gives a global insertion order; the relay drains
+ * by id, which keeps events for the same aggregate in order.
+ */
+@Entity
+@Table(name = "event_outbox")
+public class OutboxMessage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false, updatable = false, length = 36)
+    private String eventId;
+    
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private String aggregateId;
+    
+    @Column(name = "event_type", nullable = false, updatable = false, length = 100)
+    private String eventType;
+    
+    @Column(name = "topic", nullable = false, updatable = false)
+    private String topic;
+    
+    @Column(name = "payload", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+    
+    // JPA requires a no-arg constructor
+    protected OutboxMessage() {
+    }
+    
+    public OutboxMessage(String eventId, String aggregateId, String eventType, 
+                         String topic, String payload, Instant createdAt) {
+        this.eventId = eventId;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.topic = topic;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public String getAggregateId() {
+        return aggregateId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getTopic() {
+        return topic;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.midlevel.orderfulfillment.adapter.out.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data repository for pending outbox rows.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    
+    /**
+     * Locks the oldest pending rows for relaying.
+     * 
+     * FOR UPDATE SKIP LOCKED lets several application instances relay in
+     * parallel: each one claims a different batch instead of waiting on
+     * (or double-sending) rows another instance is already handling.
+     * 
+     * @param limit maximum number of rows to claim
+     * @return claimed rows, oldest first
+     */
+    @Query(value = "SELECT * FROM event_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+}
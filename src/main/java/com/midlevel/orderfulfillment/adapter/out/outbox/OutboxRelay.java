@@ -0,0 +1,287 @@
+package com.midlevel.orderfulfillment.adapter.out.outbox;
+
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventCodec;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventDeserializer;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventSerializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox Relay - Drains the event_outbox table to Kafka in batches.
+ * 
+ * How it works (every poll interval):
+ * 1. Lock the oldest N rows (FOR UPDATE SKIP LOCKED, safe with several instances)
+ * 2. Send all of them without waiting (the producer pipelines and batches them)
+ * 3. Wait for the acknowledgements, all within one send timeout for the batch
+ * 4. Delete the acknowledged rows in one statement and commit
+ * 5. Repeat while batches come back full
+ * 
+ * Delivery semantics:
+ * - At-least-once: a crash between the broker ack and the commit re-sends
+ *   the batch, so consumers must de-duplicate on eventId
+ * - Per-aggregate order: the aggregate ID is the record key (same partition).
+ *   Sends are pipelined, so this relies on the producer being idempotent with
+ *   at most 5 in-flight requests per connection (enforced below): its retries
+ *   then never reorder a partition. A send that still fails for good does not
+ *   stop later rows of the same key that were already in flight; those rows
+ *   are kept too and re-sent after the failed one on the next attempt, so a
+ *   consumer may see a later event before the earlier one and again after it
+ * 
+ * Metrics:
+ * - outbox.events.published / outbox.events.failed (counters)
+ * - outbox.batch.size (histogram): rows per batch
+ * - outbox.batch.latency (histogram): first send to last acknowledgement
+ * 
+ * Wire format: the producer property order-events.format, like
+ * OrderEventSerializer. Rows are stored as JSON; for binary each payload is
+ * read back into its event and encoded with OrderEventCodec (a row that
+ * cannot be read goes out as JSON, which every consumer still reads). Every
+ * record carries the contentType header naming its format.
+ * Uses its own byte[]-valued producer so JSON payloads are sent as stored,
+ * not serialized a second time.
+ */
+@Component
+@ConditionalOnProperty(name = "events.publisher", havingValue = "kafka")
+public class OutboxRelay implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private final OutboxMessageRepository repository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final boolean binary;
+    private final OrderEventDeserializer jsonReader = new OrderEventDeserializer();
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchLatencyTimer;
+    
+    @Autowired
+    public OutboxRelay(
+            OutboxMessageRepository repository,
+            KafkaProperties kafkaProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${events.outbox.batch-size:500}") int batchSize,
+            @Value("${events.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this(repository, new KafkaTemplate<>(producerFactory(kafkaProperties)),
+                OrderEventSerializer.isBinaryFormat(kafkaProperties.buildProducerProperties(null)),
+                new TransactionTemplate(transactionManager), meterRegistry, batchSize, sendTimeoutMs);
+    }
+    
+    OutboxRelay(
+            OutboxMessageRepository repository,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            boolean binary,
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            long sendTimeoutMs) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.binary = binary;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox events whose send failed (retried on the next poll)")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.batch.size")
+                .description("Outbox rows sent per batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchLatencyTimer = Timer.builder("outbox.batch.latency")
+                .description("Time from the first send of a batch to its last acknowledgement")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        
+        log.info("Outbox relay initialized: batchSize={}, sendTimeoutMs={}, format={}",
+                batchSize, sendTimeoutMs, binary ? "binary" : "json");
+    }
+    
+    /**
+     * Drain the outbox until it is empty or a batch has failures.
+     */
+    @Scheduled(fixedDelayString = "${events.outbox.poll-interval-ms:200}")
+    public void relayPending() {
+        BatchResult result;
+        do {
+            result = relayBatch();
+        } while (result.claimed() == batchSize && result.failed() == 0);
+    }
+    
+    /**
+     * Relay one batch inside a single transaction (the row locks are held until the deletes commit).
+     */
+    BatchResult relayBatch() {
+        BatchResult result = transactionOperations.execute(status -> {
+            List<OutboxMessage> batch = repository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return new BatchResult(0, 0);
+            }
+            
+            // Fire every send first so the producer can pipeline them
+            long start = System.nanoTime();
+            List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                sends.add(send(message));
+            }
+            
+            // Then collect acknowledgements in insertion order; the timeout
+            // covers the whole batch, not each send
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            List<Long> delivered = new ArrayList<>(batch.size());
+            Set<String> failedKeys = new HashSet<>();
+            Throwable firstError = null;
+            for (int i = 0; i < batch.size(); i++) {
+                OutboxMessage message = batch.get(i);
+                Throwable error = awaitAck(sends.get(i), deadline);
+                if (error == null && !failedKeys.contains(message.getAggregateId())) {
+                    delivered.add(message.getId());
+                } else {
+                    failedKeys.add(message.getAggregateId());
+                    if (firstError == null && error != null) {
+                        firstError = error;
+                        log.warn("Outbox send failed, will retry: eventId={}, type={}, topic={}",
+                                message.getEventId(), message.getEventType(), message.getTopic(), error);
+                    }
+                }
+            }
+            batchLatencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+            
+            repository.deleteAllByIdInBatch(delivered);
+            return new BatchResult(batch.size(), batch.size() - delivered.size());
+        });
+        
+        if (result.claimed() > 0) {
+            publishedCounter.increment(result.claimed() - result.failed());
+            failedCounter.increment(result.failed());
+            if (result.failed() > 0) {
+                log.warn("Relayed outbox batch with failures: claimed={}, failed={}", result.claimed(), result.failed());
+            } else {
+                log.debug("Relayed outbox batch: claimed={}", result.claimed());
+            }
+        }
+        return result;
+    }
+    
+    private CompletableFuture<SendResult<String, byte[]>> send(OutboxMessage message) {
+        try {
+            return kafkaTemplate.send(record(message));
+        } catch (RuntimeException ex) {
+            // e.g. metadata timeout - treat like an asynchronous failure
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+    
+    /**
+     * The stored JSON as-is, or re-encoded with OrderEventCodec when the wire format is binary.
+     */
+    private ProducerRecord<String, byte[]> record(OutboxMessage message) {
+        byte[] json = message.getPayload().getBytes(StandardCharsets.UTF_8);
+        byte[] value = json;
+        boolean encoded = false;
+        if (binary) {
+            try {
+                value = OrderEventCodec.encode(jsonReader.deserialize(message.getTopic(), json));
+                encoded = true;
+            } catch (RuntimeException ex) {
+                log.warn("Outbox payload not readable as an order event, sending it as JSON: eventId={}, topic={}, error={}",
+                        message.getEventId(), message.getTopic(), ex.getMessage());
+            }
+        }
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(message.getTopic(), message.getAggregateId(), value);
+        record.headers().add(OrderEventCodec.CONTENT_TYPE_HEADER, OrderEventSerializer.contentType(encoded));
+        return record;
+    }
+    
+    /**
+     * @return null once acknowledged, otherwise why the send failed (or timed out)
+     */
+    private Throwable awaitAck(CompletableFuture<SendResult<String, byte[]>> send, long deadlineNanos) {
+        try {
+            send.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return ex;
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (Exception ex) {
+            return ex;
+        }
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        // The producer factory is private to the relay, so closing it is our job
+        if (kafkaTemplate.getProducerFactory() instanceof DisposableBean producerFactory) {
+            producerFactory.destroy();
+        }
+    }
+    
+    /**
+     * Producer for pre-encoded payloads, tuned for batching:
+     * a short linger lets one batch of outbox rows share a few produce requests.
+     * Idempotence and the in-flight cap are forced, not defaulted: per-key
+     * order depends on them (see the class comment).
+     */
+    private static DefaultKafkaProducerFactory<String, byte[]> producerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        Object maxInFlight = config.getOrDefault(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+                Math.min(5, Integer.parseInt(maxInFlight.toString())));
+        config.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 5);
+        config.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+    
+    /**
+     * Outcome of one relay batch.
+     * 
+     * @param claimed rows locked for this batch
+     * @param failed rows left in the outbox for the next attempt
+     */
+    record BatchResult(int claimed, int failed) {}
+}
@@ -0,0 +1,40 @@
+package com.midlevel.orderfulfillment.application;
+
+/**
+ * Outcome of one order within a batch creation request.
+ * 
+ * Partial-failure semantics:
+ * - CREATED: order persisted and its events published
+ * - REJECTED: order failed validation; nothing was stored. Retrying the same
+ *   payload will fail again - the input must be fixed first
+ * - FAILED: order was valid but its persistence chunk was rolled back
+ *   (e.g., database error). Nothing was stored; safe to retry as-is
+ * 
+ * @param status outcome of the order
+ * @param orderId ID of the created order, null unless CREATED
+ * @param error reason for REJECTED / FAILED, null if CREATED
+ */
+public record BatchOrderResult(Status status, String orderId, String error) {
+    
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+    
+    public static BatchOrderResult created(String orderId) {
+        return new BatchOrderResult(Status.CREATED, orderId, null);
+    }
+    
+    public static BatchOrderResult rejected(String error) {
+        return new BatchOrderResult(Status.REJECTED, null, error);
+    }
+    
+    public static BatchOrderResult failed(String error) {
+        return new BatchOrderResult(Status.FAILED, null, error);
+    }
+    
+    public boolean isCreated() {
+        return status == Status.CREATED;
+    }
+}
@@ -0,0 +1,41 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+/**
+ * Outcome for one order ID in a bulk pay / ship / cancel request.
+ * 
+ * @param orderId the requested order ID
+ * @param outcome what happened to this order
+ * @param status the order's status after the request, null if NOT_FOUND
+ * @param message reason for VIOLATION / NOT_FOUND, null otherwise
+ */
+public record BulkTransitionResult(String orderId, Outcome outcome, OrderStatus status, String message) {
+    
+    public enum Outcome {
+        /** State changed and an event was published */
+        SUCCESS,
+        /** Order was already in (or past) the target state - idempotent, nothing changed */
+        NO_OP,
+        /** No order with this ID */
+        NOT_FOUND,
+        /** Business rule forbids the transition (e.g., shipping an unpaid order) */
+        VIOLATION
+    }
+    
+    public static BulkTransitionResult success(String orderId, OrderStatus status) {
+        return new BulkTransitionResult(orderId, Outcome.SUCCESS, status, null);
+    }
+    
+    public static BulkTransitionResult noOp(String orderId, OrderStatus status) {
+        return new BulkTransitionResult(orderId, Outcome.NO_OP, status, null);
+    }
+    
+    public static BulkTransitionResult notFound(String orderId) {
+        return new BulkTransitionResult(orderId, Outcome.NOT_FOUND, null, "Order not found: " + orderId);
+    }
+    
+    public static BulkTransitionResult violation(String orderId, OrderStatus status, String message) {
+        return new BulkTransitionResult(orderId, Outcome.VIOLATION, status, message);
+    }
+}
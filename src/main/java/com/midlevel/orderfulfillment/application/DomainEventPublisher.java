@@ -1,9 +1,18 @@
 package com.midlevel.orderfulfillment.application;
 
 import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.port.EventOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Service responsible for publishing domain events to Spring's event system.
  * 
@@ -18,14 +27,34 @@ import org.springframework.stereotype.Component;
  * 1. Domain remains framework-agnostic
  * 2. Events can be published to different systems (Spring Events, Kafka, RabbitMQ)
  * 3. Testability - can mock event publishing in tests
+ * 
+ * Transactional outbox:
+ * When Kafka is enabled (events.publisher=kafka), aggregate events are also
+ * appended to the EventOutbox in the caller's transaction. OutboxRelay ships
+ * them to Kafka after commit, so no broker call happens on the request path.
+ * 
+ * events.publisher is resolved once, at startup: the per-order path only
+ * checks for an outbox, and a typo in events.publisher (or kafka without an
+ * EventOutbox) fails the startup instead of the first order.
  */
 @Component
 public class DomainEventPublisher {
     
+    private static final Logger log = LoggerFactory.getLogger(DomainEventPublisher.class);
+    
     private final ApplicationEventPublisher applicationEventPublisher;
     
-    public DomainEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+    /** Null unless events.publisher=kafka */
+    private final EventOutbox eventOutbox;
+    
+    public DomainEventPublisher(
+            ApplicationEventPublisher applicationEventPublisher,
+            Optional<EventOutbox> eventOutbox,
+            @Value("${events.publisher:spring}") String publisherType) {
         this.applicationEventPublisher = applicationEventPublisher;
+        this.eventOutbox = resolveOutbox(publisherType, eventOutbox);
+        
+        log.info("Domain event publisher initialized: events.publisher={}", publisherType);
     }
     
     /**
@@ -46,10 +75,45 @@ public class DomainEventPublisher {
      * Publish all domain events from an Order aggregate.
      * This is a convenience method that extracts and publishes events from the aggregate.
      * 
+     * Must run inside the transaction that saved the order: the outbox
+     * write commits or rolls back together with the order change.
+     * 
      * @param order the order aggregate with pending domain events
      */
     public void publishEvents(com.midlevel.orderfulfillment.domain.model.Order order) {
+        if (eventOutbox != null) {
+            eventOutbox.append(order.getDomainEvents());
+        }
         publishAll(order.getDomainEvents());
         order.clearDomainEvents();
     }
+    
+    /**
+     * Publish the domain events of several Order aggregates as one batch.
+     * 
+     * Events are written to the outbox with a single append (one JDBC batch)
+     * instead of one append per order.
+     * 
+     * @param orders aggregates with pending domain events
+     */
+    public void publishEvents(Collection<com.midlevel.orderfulfillment.domain.model.Order> orders) {
+        List<DomainEvent> events = new ArrayList<>();
+        orders.forEach(order -> events.addAll(order.getDomainEvents()));
+        
+        if (eventOutbox != null) {
+            eventOutbox.append(events);
+        }
+        publishAll(events);
+        orders.forEach(com.midlevel.orderfulfillment.domain.model.Order::clearDomainEvents);
+    }
+    
+    private static EventOutbox resolveOutbox(String publisherType, Optional<EventOutbox> eventOutbox) {
+        return switch (publisherType.trim().toLowerCase()) {
+            case "spring" -> null;
+            case "kafka" -> eventOutbox.orElseThrow(() -> new IllegalStateException(
+                    "Kafka publishing requires an EventOutbox (events.publisher=kafka)"));
+            default -> throw new IllegalStateException(
+                    "Unknown events.publisher: '" + publisherType + "' (expected spring or kafka)");
+        };
+    }
 }
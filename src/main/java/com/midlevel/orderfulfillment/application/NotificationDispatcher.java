@@ -0,0 +1,630 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.NotificationPort;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification Dispatcher - Bounded, backpressure-aware queue in front of the NotificationPort.
+ * 
+ * Replaces @Async on NotificationService. The shared async pool (10 threads,
+ * 50 queued tasks) rejected notifications as soon as a channel slowed down,
+ * and a rejected task was simply lost.
+ * 
+ * Design:
+ * - Many producers (event listeners) -> one bounded queue -> one dispatcher thread
+ * - When the queue is full, the configured OverflowPolicy decides what happens:
+ *   - BLOCK: the producer waits up to block-timeout-ms, then the notification is dropped
+ *   - SHED_OLDEST: the oldest queued notification is dropped to make room
+ *   - SPILL: the notification is appended to a spill file and replayed
+ *     (with the order re-loaded) once the queue has drained. Lines that can't
+ *     be replayed are moved to a .rejected file next to it, never retried forever
+ * - Per-order coalescing: a CREATED notification is held for the coalescing
+ *   window (200ms by default). If the order's PAID notification arrives within
+ *   it, the customer gets one "order confirmed" message instead of two
+ * 
+ * A single dispatcher thread also keeps notifications for one order in order.
+ * Each notification carries the submitter's MDC (correlation ID) to that
+ * thread; replayed spill entries have none.
+ * 
+ * Metrics:
+ * - notifications.queue.depth (gauge)
+ * - notifications.queue.wait (timer: enqueue -> send)
+ * - notifications.dropped{reason=timeout|shed|spill_failed|spill_rejected|stopped}
+ * - notifications.spilled, notifications.coalesced
+ */
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+    
+    /** How long stop() waits for the queue to drain */
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+    
+    /** Spilled notifications handed off per replay pass (the replay offset is saved after each) */
+    private static final int REPLAY_BATCH_SIZE = 500;
+    
+    /** Order lookups for one spilled line before it is moved to the .rejected file */
+    private static final int MAX_REPLAY_ATTEMPTS = 5;
+    
+    private static final long REPLAY_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    /**
+     * Notification types, one per NotificationPort method.
+     */
+    public enum Kind {
+        CREATED, PAID, SHIPPED, CANCELLED,
+        /** CREATED and PAID coalesced into one message */
+        CONFIRMED
+    }
+    
+    /**
+     * What to do when the queue is full.
+     */
+    public enum OverflowPolicy {
+        BLOCK, SHED_OLDEST, SPILL
+    }
+    
+    private final NotificationPort notificationPort;
+    private final OrderRepository orderRepository;
+    private final Counter notificationsSentCounter;
+    private final BlockingQueue<Pending> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final long coalesceWindowNanos;
+    private final Path spillFile;
+    private final Object spillLock = new Object();
+    
+    private final Timer waitTimer;
+    private final Counter droppedTimeoutCounter;
+    private final Counter droppedShedCounter;
+    private final Counter droppedSpillFailedCounter;
+    private final Counter droppedSpillRejectedCounter;
+    private final Counter droppedStoppedCounter;
+    private final Counter spilledCounter;
+    private final Counter coalescedCounter;
+    
+    /** CREATED notifications waiting for a PAID to merge with; insertion order = deadline order */
+    private final Map<String, Pending> heldCreated = new LinkedHashMap<>();
+    
+    /** True while notifications are being spilled; new ones go to disk too so ordering is kept */
+    private volatile boolean spilling;
+    private volatile boolean running;
+    /** Set by stop(): nothing will send new notifications until the next start() */
+    private volatile boolean stopped;
+    private Thread dispatcherThread;
+    
+    /** Replay backoff after a failed order lookup (dispatcher thread only) */
+    private long replayRetryAtNanos;
+    private int replayAttempts;
+    
+    /** Open replay file, byte offset of the next line to hand off, and that line once read (dispatcher thread only) */
+    private InputStream replayIn;
+    private long replayOffset;
+    private SpilledLine nextSpilled;
+    
+    @Autowired
+    public NotificationDispatcher(
+            NotificationPort notificationPort,
+            OrderRepository orderRepository,
+            Counter notificationsSentCounter,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.queue.capacity:1000}") int capacity,
+            @Value("${notifications.queue.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${notifications.queue.block-timeout-ms:50}") long blockTimeoutMs,
+            @Value("${notifications.coalesce-window-ms:200}") long coalesceWindowMs,
+            @Value("${notifications.spill.path:${java.io.tmpdir}/order-notifications.spill}") String spillPath) {
+        this.notificationPort = notificationPort;
+        this.orderRepository = orderRepository;
+        this.notificationsSentCounter = notificationsSentCounter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(coalesceWindowMs);
+        this.spillFile = Paths.get(spillPath);
+        
+        Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications waiting to be sent")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("notifications.queue.wait")
+                .description("Time from enqueue to send")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.droppedTimeoutCounter = droppedCounter(meterRegistry, "timeout");
+        this.droppedShedCounter = droppedCounter(meterRegistry, "shed");
+        this.droppedSpillFailedCounter = droppedCounter(meterRegistry, "spill_failed");
+        this.droppedSpillRejectedCounter = droppedCounter(meterRegistry, "spill_rejected");
+        this.droppedStoppedCounter = droppedCounter(meterRegistry, "stopped");
+        this.spilledCounter = Counter.builder("notifications.spilled")
+                .description("Notifications written to the spill file because the queue was full")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("notifications.coalesced")
+                .description("CREATED + PAID pairs sent as one confirmation")
+                .register(meterRegistry);
+        
+        // Anything spilled before a restart is replayed once the queue is empty
+        this.spilling = Files.exists(spillFile) || Files.exists(replayFile());
+        this.replayRetryAtNanos = System.nanoTime();
+        
+        log.info("Notification dispatcher initialized: capacity={}, overflowPolicy={}, coalesceWindowMs={}",
+                capacity, overflowPolicy, coalesceWindowMs);
+    }
+    
+    /**
+     * Queue a notification. Never throws; what happens on overflow depends on the policy.
+     * After stop() nothing is queued: SPILL writes it to disk for the next start,
+     * the other policies drop it.
+     */
+    public void submit(Kind kind, Order order) {
+        Pending pending = new Pending(kind, order.getOrderId(), order, System.nanoTime(), MDC.getCopyOfContextMap());
+        
+        if (stopped) {
+            rejectStopped(pending);
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && spilling) {
+            spill(pending);
+            return;
+        }
+        if (queue.offer(pending)) {
+            return;
+        }
+        
+        switch (overflowPolicy) {
+            case BLOCK -> offerBlocking(pending);
+            case SHED_OLDEST -> offerShedding(pending);
+            case SPILL -> spill(pending);
+        }
+    }
+    
+    private void offerBlocking(Pending pending) {
+        try {
+            if (queue.offer(pending, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedTimeoutCounter.increment();
+        log.warn("Notification queue full, dropping {} notification: orderId={}", pending.kind(), pending.orderId());
+    }
+    
+    private void offerShedding(Pending pending) {
+        while (!queue.offer(pending)) {
+            Pending shed = queue.poll();
+            if (shed != null) {
+                droppedShedCounter.increment();
+                log.warn("Notification queue full, shedding oldest {} notification: orderId={}",
+                        shed.kind(), shed.orderId());
+            }
+        }
+    }
+    
+    private void rejectStopped(Pending pending) {
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            spill(pending);
+            return;
+        }
+        droppedStoppedCounter.increment();
+        log.warn("Notification dispatcher stopped, dropping {} notification: orderId={}", pending.kind(), pending.orderId());
+    }
+    
+    private void spill(Pending pending) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(pending.kind().name() + ',' + pending.orderId());
+                writer.newLine();
+                spilling = true;
+                spilledCounter.increment();
+            } catch (IOException e) {
+                droppedSpillFailedCounter.increment();
+                log.error("Failed to spill {} notification: orderId={}", pending.kind(), pending.orderId(), e);
+            }
+        }
+    }
+    
+    // ==================== Dispatcher thread ====================
+    
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending next = queue.poll(pollTimeoutNanos(), TimeUnit.NANOSECONDS);
+                if (next != null) {
+                    handle(next);
+                }
+                flushExpired(System.nanoTime());
+                if (queue.isEmpty() && spilling) {
+                    replaySpill();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Notification dispatcher error", e);
+            }
+        }
+        // Shutting down: don't hold anything back; the replay resumes from the saved offset
+        flushExpired(Long.MAX_VALUE);
+        closeReplay();
+    }
+    
+    /**
+     * Wait no longer than the oldest held CREATED notification may be held.
+     */
+    private long pollTimeoutNanos() {
+        if (heldCreated.isEmpty()) {
+            return TimeUnit.MILLISECONDS.toNanos(100);
+        }
+        Pending oldest = heldCreated.values().iterator().next();
+        return Math.max(0, oldest.enqueuedAtNanos() + coalesceWindowNanos - System.nanoTime());
+    }
+    
+    void handle(Pending pending) {
+        Pending created = heldCreated.remove(pending.orderId());
+        
+        if (pending.kind() == Kind.CREATED && coalesceWindowNanos > 0) {
+            heldCreated.put(pending.orderId(), pending);
+            return;
+        }
+        if (created != null) {
+            if (pending.kind() == Kind.PAID) {
+                // CREATED + PAID within the window: one confirmation, using the latest order state
+                coalescedCounter.increment();
+                send(new Pending(Kind.CONFIRMED, pending.orderId(), pending.order(), created.enqueuedAtNanos(),
+                        pending.mdc()));
+                return;
+            }
+            // Any other notification releases the held CREATED first, keeping per-order order
+            send(created);
+        }
+        send(pending);
+    }
+    
+    void flushExpired(long nowNanos) {
+        Iterator<Pending> held = heldCreated.values().iterator();
+        while (held.hasNext()) {
+            Pending created = held.next();
+            if (nowNanos - created.enqueuedAtNanos() < coalesceWindowNanos) {
+                break;  // Later entries were held even more recently
+            }
+            held.remove();
+            send(created);
+        }
+    }
+    
+    /**
+     * Re-queue the next REPLAY_BATCH_SIZE spilled notifications, re-loading each
+     * order (only the ID is on disk).
+     * 
+     * The replay file is read sequentially, kept open across passes. The byte
+     * offset of the next line to hand off is saved to a .replay.offset file after
+     * every pass, so a restart resumes there (a crash re-sends at most one
+     * pass). The file is deleted once fully replayed, never rewritten.
+     * 
+     * Failures are handled per line:
+     * - unreadable line: moved to the .rejected file
+     * - order lookup fails: the pass stops and resumes from that line after a
+     *   delay; after MAX_REPLAY_ATTEMPTS the line is moved to the .rejected file
+     */
+    private void replaySpill() {
+        if (System.nanoTime() - replayRetryAtNanos < 0) {
+            return;
+        }
+        try {
+            if (replayIn == null && !openReplay()) {
+                return;
+            }
+            int handedOff = 0;
+            long now = System.nanoTime();
+            while (handedOff < REPLAY_BATCH_SIZE) {
+                if (nextSpilled == null) {
+                    nextSpilled = readSpilledLine(replayIn);
+                    if (nextSpilled == null) {
+                        log.info("Replayed all spilled notifications");
+                        finishReplay();
+                        return;
+                    }
+                }
+                if (!replayLine(nextSpilled.text(), now)) {
+                    break;
+                }
+                replayOffset += nextSpilled.bytes();
+                nextSpilled = null;
+                handedOff++;
+            }
+            if (handedOff > 0) {
+                log.info("Replayed {} spilled notifications, resuming at byte {}", handedOff, replayOffset);
+                saveReplayOffset();
+            }
+        } catch (IOException e) {
+            // Reopened at the last saved offset: the lines since then are replayed again
+            log.error("Failed to replay notification spill file: {}", replayFile(), e);
+            closeReplay();
+            replayRetryAtNanos = System.nanoTime() + REPLAY_RETRY_DELAY_NANOS;
+        }
+    }
+    
+    /**
+     * Open the replay file at its saved offset, first rotating the spill file
+     * into place if no replay is in progress.
+     * 
+     * @return false if there is nothing left to replay
+     */
+    private boolean openReplay() throws IOException {
+        Path replay = replayFile();
+        synchronized (spillLock) {
+            if (!Files.exists(replay)) {
+                if (!Files.exists(spillFile)) {
+                    spilling = false;
+                    return false;
+                }
+                Files.deleteIfExists(replayOffsetFile());
+                Files.move(spillFile, replay, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        replayOffset = loadReplayOffset();
+        FileChannel channel = FileChannel.open(replay, StandardOpenOption.READ);
+        try {
+            channel.position(replayOffset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        replayIn = new BufferedInputStream(Channels.newInputStream(channel));
+        nextSpilled = null;
+        return true;
+    }
+    
+    private long loadReplayOffset() throws IOException {
+        Path offsetFile = replayOffsetFile();
+        if (!Files.exists(offsetFile)) {
+            return 0;
+        }
+        String saved = Files.readString(offsetFile, StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(saved);
+        } catch (NumberFormatException e) {
+            log.warn("Unreadable notification replay offset '{}', replaying {} from the start", saved, replayFile());
+            return 0;
+        }
+    }
+    
+    private void saveReplayOffset() throws IOException {
+        Path offsetFile = replayOffsetFile();
+        Path written = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+        Files.writeString(written, Long.toString(replayOffset), StandardCharsets.UTF_8);
+        Files.move(written, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private void finishReplay() throws IOException {
+        closeReplay();
+        Files.deleteIfExists(replayOffsetFile());
+        Files.delete(replayFile());
+    }
+    
+    private void closeReplay() {
+        if (replayIn != null) {
+            try {
+                replayIn.close();
+            } catch (IOException e) {
+                log.warn("Failed to close notification replay file: {}", replayFile(), e);
+            }
+        }
+        replayIn = null;
+        nextSpilled = null;
+    }
+    
+    /**
+     * Read one line, counting its bytes (line break included) so the offset stays exact.
+     * 
+     * @return null at the end of the file
+     */
+    private static SpilledLine readSpilledLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int bytes = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            bytes++;
+            if (b == '\n') {
+                break;
+            }
+            line.write(b);
+        }
+        if (bytes == 0) {
+            return null;
+        }
+        String text = line.toString(StandardCharsets.UTF_8);
+        return new SpilledLine(text.endsWith("\r") ? text.substring(0, text.length() - 1) : text, bytes);
+    }
+    
+    /**
+     * @return false if the order lookup failed and the line must be replayed later
+     */
+    private boolean replayLine(String line, long now) {
+        if (line.isBlank()) {
+            return true;
+        }
+        int comma = line.indexOf(',');
+        Kind kind = comma < 0 ? null : parseKind(line.substring(0, comma));
+        if (kind == null) {
+            reject(line, "unreadable line");
+            return true;
+        }
+        String orderId = line.substring(comma + 1);
+        
+        Optional<Order> order;
+        try {
+            order = orderRepository.findById(orderId);
+        } catch (RuntimeException e) {
+            if (++replayAttempts < MAX_REPLAY_ATTEMPTS) {
+                log.warn("Failed to load order for spilled {} notification, will retry: orderId={}", kind, orderId, e);
+                replayRetryAtNanos = System.nanoTime() + REPLAY_RETRY_DELAY_NANOS;
+                return false;
+            }
+            log.error("Giving up on spilled {} notification after {} attempts: orderId={}",
+                    kind, replayAttempts, orderId, e);
+            replayAttempts = 0;
+            reject(line, "order lookup failed");
+            return true;
+        }
+        replayAttempts = 0;
+        order.ifPresentOrElse(
+                o -> handle(new Pending(kind, orderId, o, now, null)),
+                () -> log.warn("Dropping spilled {} notification, order no longer exists: {}", kind, orderId));
+        return true;
+    }
+    
+    private static Kind parseKind(String name) {
+        try {
+            return Kind.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Move a spilled line that can't be replayed out of the way, for manual inspection.
+     */
+    private void reject(String line, String reason) {
+        droppedSpillRejectedCounter.increment();
+        Path rejected = spillFile.resolveSibling(spillFile.getFileName() + ".rejected");
+        try (BufferedWriter writer = Files.newBufferedWriter(rejected, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+            log.warn("Rejected spilled notification ({}), moved to {}: {}", reason, rejected, line);
+        } catch (IOException e) {
+            log.error("Failed to keep rejected spilled notification ({}): {}", reason, line, e);
+        }
+    }
+    
+    private void send(Pending pending) {
+        Order order = pending.order();
+        waitTimer.record(System.nanoTime() - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        if (pending.mdc() != null) {
+            MDC.setContextMap(pending.mdc());
+        }
+        try {
+            switch (pending.kind()) {
+                case CREATED -> notificationPort.sendOrderCreatedNotification(order);
+                case PAID -> notificationPort.sendOrderPaidNotification(order);
+                case SHIPPED -> notificationPort.sendOrderShippedNotification(order);
+                case CANCELLED -> notificationPort.sendOrderCancelledNotification(order);
+                case CONFIRMED -> notificationPort.sendOrderConfirmedNotification(order);
+            }
+            notificationsSentCounter.increment();
+            log.debug("Order {} notification sent successfully: orderId={}",
+                    pending.kind().name().toLowerCase(), order.getOrderId());
+        } catch (Exception e) {
+            // Log error but don't propagate - a failed notification must not stop the dispatcher
+            log.error("Failed to send order {} notification for order: {}",
+                    pending.kind().name().toLowerCase(), order.getOrderId(), e);
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    private Path replayFile() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+    }
+    
+    private Path replayOffsetFile() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".replay.offset");
+    }
+    
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notifications.dropped")
+                .description("Notifications dropped because the queue was full")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    // ==================== Lifecycle ====================
+    
+    @Override
+    public void start() {
+        stopped = false;
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "notification-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+    
+    @Override
+    public void stop() {
+        // New submits are refused; the loop exits once the queue is empty
+        stopped = true;
+        running = false;
+        if (dispatcherThread == null) {
+            return;
+        }
+        try {
+            dispatcherThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dispatcherThread.isAlive()) {
+            log.warn("Notification dispatcher still draining after {}ms: queued={}", SHUTDOWN_TIMEOUT_MS, queue.size());
+            return;
+        }
+        // Submitted just before stop() but after the loop's last poll: account for them too
+        Pending leftover;
+        while ((leftover = queue.poll()) != null) {
+            rejectStopped(leftover);
+        }
+    }
+    
+    /**
+     * True from start() until the dispatcher thread has drained the queue and exited.
+     */
+    @Override
+    public boolean isRunning() {
+        return running || (dispatcherThread != null && dispatcherThread.isAlive());
+    }
+    
+    /**
+     * A queued notification. The order ID is kept separately so spilled entries
+     * can be identified without the aggregate.
+     * 
+     * @param mdc the submitter's MDC, restored while sending (null if none)
+     */
+    record Pending(Kind kind, String orderId, Order order, long enqueuedAtNanos, Map<String, String> mdc) {}
+    
+    /**
+     * A line of the replay file and its length on disk.
+     */
+    private record SpilledLine(String text, int bytes) {}
+}
@@ -0,0 +1,60 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends customer notifications for order events read from the event stream.
+ * 
+ * The consumer group is shared by every node, so each event is notified
+ * once for the whole cluster. The orders of a batch are loaded with one
+ * findAllById query instead of one lookup per event.
+ */
+@Component
+public class NotificationEventHandler implements OrderEventBatchHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(NotificationEventHandler.class);
+    
+    private final OrderRepository orderRepository;
+    private final NotificationService notificationService;
+    
+    public NotificationEventHandler(OrderRepository orderRepository, NotificationService notificationService) {
+        this.orderRepository = orderRepository;
+        this.notificationService = notificationService;
+    }
+    
+    @Override
+    public void handle(List<OrderEventMessage> events) {
+        Set<String> orderIds = new LinkedHashSet<>();
+        events.forEach(event -> orderIds.add(event.orderId()));
+        
+        Map<String, Order> orders = new HashMap<>();
+        for (Order order : orderRepository.findAllById(orderIds)) {
+            orders.put(order.getOrderId(), order);
+        }
+        
+        for (OrderEventMessage event : events) {
+            Order order = orders.get(event.orderId());
+            if (order == null) {
+                log.warn("Order of event not found, no notification: orderId={}, eventId={}",
+                        event.orderId(), event.eventId());
+                continue;
+            }
+            switch (event.status()) {
+                case CREATED -> notificationService.notifyOrderCreated(order);
+                case PAID -> notificationService.notifyOrderPaid(order);
+                case SHIPPED -> notificationService.notifyOrderShipped(order);
+                case CANCELLED -> notificationService.notifyOrderCancelled(order);
+            }
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package com.midlevel.orderfulfillment.application;
 
+import com.midlevel.orderfulfillment.application.NotificationDispatcher.Kind;
 import com.midlevel.orderfulfillment.domain.model.Order;
-import com.midlevel.orderfulfillment.domain.port.NotificationPort;
-import io.micrometer.core.instrument.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -15,8 +13,11 @@ import org.springframework.stereotype.Service;
  * infrastructure. It uses the NotificationPort to send notifications, making it
  * implementation-agnostic (email, SMS, push, etc.).</p>
  * 
- * <p><strong>Async Processing:</strong> All notification methods are annotated with
- * {@code @Async} to ensure notification delivery doesn't block the main business flow.
+ * <p><strong>Async Processing:</strong> Notification methods only enqueue the
+ * notification on the {@link NotificationDispatcher}, which sends it from its own
+ * thread. The queue is bounded with an explicit overflow policy (block, shed oldest
+ * or spill to disk), and a CREATED + PAID pair arriving within the coalescing
+ * window is sent as one "order confirmed" notification.
  * If notification fails, the order processing still succeeds.</p>
  * 
  * <p><strong>Error Handling:</strong> Notification failures are logged but don't cause
@@ -30,92 +31,57 @@ public class NotificationService {
     
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
     
-    private final NotificationPort notificationPort;
-    private final Counter notificationsSentCounter;
+    private final NotificationDispatcher dispatcher;
     
-    public NotificationService(NotificationPort notificationPort, Counter notificationsSentCounter) {
-        this.notificationPort = notificationPort;
-        this.notificationsSentCounter = notificationsSentCounter;
+    public NotificationService(NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
     }
     
     /**
      * Notify customer that their order was created.
      * 
-     * <p>Runs asynchronously to avoid blocking order creation.</p>
+     * <p>Queued to avoid blocking order creation.</p>
      * 
      * @param order the newly created order
      */
-    @Async
     public void notifyOrderCreated(Order order) {
-        try {
-            log.info("Sending order created notification for order: {}", order.getOrderId());
-            notificationPort.sendOrderCreatedNotification(order);
-            notificationsSentCounter.increment();
-            log.debug("Order created notification sent successfully: orderId={}", order.getOrderId());
-        } catch (Exception e) {
-            // Log error but don't propagate - notification failure shouldn't fail order creation
-            log.error("Failed to send order created notification for order: {}", 
-                    order.getOrderId(), e);
-        }
+        log.debug("Queueing order created notification: orderId={}", order.getOrderId());
+        dispatcher.submit(Kind.CREATED, order);
     }
     
     /**
      * Notify customer that their payment was confirmed.
      * 
-     * <p>Runs asynchronously to avoid blocking payment processing.</p>
+     * <p>Queued to avoid blocking payment processing.</p>
      * 
      * @param order the paid order
      */
-    @Async
     public void notifyOrderPaid(Order order) {
-        try {
-            log.info("Sending order paid notification for order: {}", order.getOrderId());
-            notificationPort.sendOrderPaidNotification(order);
-            notificationsSentCounter.increment();
-            log.debug("Order paid notification sent successfully: orderId={}", order.getOrderId());
-        } catch (Exception e) {
-            log.error("Failed to send order paid notification for order: {}", 
-                    order.getOrderId(), e);
-        }
+        log.debug("Queueing order paid notification: orderId={}", order.getOrderId());
+        dispatcher.submit(Kind.PAID, order);
     }
     
     /**
      * Notify customer that their order was shipped.
      * 
-     * <p>Runs asynchronously to avoid blocking shipping operations.</p>
+     * <p>Queued to avoid blocking shipping operations.</p>
      * 
      * @param order the shipped order
      */
-    @Async
     public void notifyOrderShipped(Order order) {
-        try {
-            log.info("Sending order shipped notification for order: {}", order.getOrderId());
-            notificationPort.sendOrderShippedNotification(order);
-            notificationsSentCounter.increment();
-            log.debug("Order shipped notification sent successfully: orderId={}", order.getOrderId());
-        } catch (Exception e) {
-            log.error("Failed to send order shipped notification for order: {}", 
-                    order.getOrderId(), e);
-        }
+        log.debug("Queueing order shipped notification: orderId={}", order.getOrderId());
+        dispatcher.submit(Kind.SHIPPED, order);
     }
     
     /**
      * Notify customer that their order was cancelled.
      * 
-     * <p>Runs asynchronously to avoid blocking cancellation.</p>
+     * <p>Queued to avoid blocking cancellation.</p>
      * 
      * @param order the cancelled order
      */
-    @Async
     public void notifyOrderCancelled(Order order) {
-        try {
-            log.info("Sending order cancelled notification for order: {}", order.getOrderId());
-            notificationPort.sendOrderCancelledNotification(order);
-            notificationsSentCounter.increment();
-            log.debug("Order cancelled notification sent successfully: orderId={}", order.getOrderId());
-        } catch (Exception e) {
-            log.error("Failed to send order cancelled notification for order: {}", 
-                    order.getOrderId(), e);
-        }
+        log.debug("Queueing order cancelled notification: orderId={}", order.getOrderId());
+        dispatcher.submit(Kind.CANCELLED, order);
     }
 }
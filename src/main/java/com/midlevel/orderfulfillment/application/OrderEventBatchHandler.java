@@ -0,0 +1,23 @@
+package com.midlevel.orderfulfillment.application;
+
+import java.util.List;
+
+/**
+ * Consumer of order events from the event stream, one batch at a time.
+ * 
+ * OrderEventBatchListener calls every handler bean with the events one of
+ * its workers has queued. Events of the same order always go to the same
+ * worker, in the order they were read - so they arrive in the order they
+ * happened. Workers run concurrently, so implementations must be thread-safe.
+ * 
+ * If handle() throws, the batch is retried one event at a time and the
+ * events that still fail go to the dead letter topic. Events may therefore
+ * be delivered more than once: de-duplicate on eventId where it matters.
+ */
+public interface OrderEventBatchHandler {
+    
+    /**
+     * @param events events of one worker, in the order they were read
+     */
+    void handle(List<OrderEventMessage> events);
+}
@@ -0,0 +1,19 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * An order event read back from the event stream (see OrderEventBatchListener).
+ * 
+ * Only the envelope: handlers that need more than the order's new status
+ * load the order itself.
+ * 
+ * @param eventId the DomainEvent's ID, for de-duplication (delivery is at-least-once)
+ * @param orderId the order the event belongs to (the record key)
+ * @param status the status the order moved to (CREATED for order.created, ...)
+ * @param occurredAt when the transition happened
+ */
+public record OrderEventMessage(String eventId, String orderId, OrderStatus status, Instant occurredAt) {
+}
@@ -0,0 +1,24 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.port.OrderCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One keyset page of orders plus the cursor for the next page.
+ *
+ * @param orders orders on this page, in the order the query defines
+ * @param nextCursor cursor for the following page, or null if this is the last page
+ */
+public record OrderPage(List<Order> orders, OrderCursor nextCursor) {
+
+    public OrderPage {
+        orders = List.copyOf(orders);
+    }
+
+    public Optional<OrderCursor> next() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -1,24 +1,43 @@
 package com.midlevel.orderfulfillment.application;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.midlevel.orderfulfillment.domain.model.Address;
 import com.midlevel.orderfulfillment.domain.model.Order;
 import com.midlevel.orderfulfillment.domain.model.OrderItem;
 import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.CustomerOrderQuery;
+import com.midlevel.orderfulfillment.domain.port.OrderCursor;
 import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderVersionConflictException;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
 /**
@@ -43,6 +62,7 @@ import io.micrometer.core.instrument.Timer;
  * 3. Interacting with repositories (ports)
  * 4. Exception translation if needed
  * 5. Observability: Logging and metrics (Day 10)
+ * 6. Retrying transient database failures (the *Async methods, see RetryScheduler)
  * 
  * What NOT to put here:
  * - Business rules (those go in Order/OrderItem domain models)
@@ -55,12 +75,28 @@ public class OrderService {
     
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
     
+    /** Upper bound for a single page of orders */
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    /** Rows fetched per round trip when streaming all orders */
+    private static final int STREAM_FETCH_SIZE = 500;
+    
+    /** Orders persisted per transaction in batch creation */
+    static final int BATCH_CHUNK_SIZE = 250;
+    
+    /** Cancellation reason recorded when the payment deadline passes */
+    static final String PAYMENT_DEADLINE_REASON = "Payment deadline passed";
+    
     private final OrderRepository orderRepository;
     private final DomainEventPublisher eventPublisher;
     private final Counter ordersCreatedCounter;
     private final Counter orderFailuresCounter;
     private final Counter orderStatusChangeCounter;
     private final Timer orderCreationTimer;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryScheduler retryScheduler;
+    private final MeterRegistry meterRegistry;
+    private final int maxConflictAttempts;
     
     public OrderService(
             OrderRepository orderRepository, 
@@ -68,13 +104,21 @@ public class OrderService {
             Counter ordersCreatedCounter,
             Counter orderFailuresCounter,
             Counter orderStatusChangeCounter,
-            Timer orderCreationTimer) {
+            Timer orderCreationTimer,
+            PlatformTransactionManager transactionManager,
+            RetryScheduler retryScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${orders.conflict-retry.max-attempts:3}") int maxConflictAttempts) {
         this.orderRepository = orderRepository;
         this.eventPublisher = eventPublisher;
         this.ordersCreatedCounter = ordersCreatedCounter;
         this.orderFailuresCounter = orderFailuresCounter;
         this.orderStatusChangeCounter = orderStatusChangeCounter;
         this.orderCreationTimer = orderCreationTimer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryScheduler = retryScheduler;
+        this.meterRegistry = meterRegistry;
+        this.maxConflictAttempts = maxConflictAttempts;
     }
     
     /**
@@ -84,14 +128,10 @@ public class OrderService {
      * the use case and persistence, while the domain aggregate (`Order`) enforces
      * invariants via its `create(...)` factory.
      *
-     * Observability and resilience mirror the existing `createOrder(Order order)` method.
+     * Observability mirrors the existing `createOrder(Order order)` method.
+     * Runs once, without retries - see {@link #createOrderAsync} for the retrying variant.
      */
     @Transactional  // Write operation - overrides read-only
-    @Retryable(
-        retryFor = DataAccessException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public Order createOrder(String customerId, List<OrderItem> items, Address shippingAddress) {
         log.info("Creating order for customer: {}, items: {}", customerId, items.size());
 
@@ -116,6 +156,99 @@ public class OrderService {
             }
         });
     }
+    
+    /**
+     * Create an order, retrying transient database failures without blocking the caller.
+     * 
+     * Each attempt runs {@link #createOrder(String, List, Address)} in its own
+     * transaction. The first attempt runs on the calling thread; retries are
+     * scheduled with jittered backoff by the RetryScheduler, within the global
+     * retry budget.
+     * 
+     * NOT_SUPPORTED: no surrounding transaction - every attempt opens its own.
+     * 
+     * @return future completed with the saved order, or with the final failure
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Order> createOrderAsync(String customerId, List<OrderItem> items, Address shippingAddress) {
+        return retryScheduler.submit("order.create",
+                () -> transactionTemplate.execute(status -> createOrder(customerId, items, shippingAddress)));
+    }
+    
+    /**
+     * Create many orders in one call (bulk marketplace ingestion).
+     * 
+     * Compared with calling createOrder once per order, this:
+     * - Validates every order up front via the domain factory
+     * - Persists valid orders in chunks of BATCH_CHUNK_SIZE, one transaction
+     *   per chunk, using the repository's batched saveAll
+     * - Publishes each chunk's events as a single batch
+     * 
+     * Partial-failure semantics (see BatchOrderResult):
+     * - An invalid order is REJECTED and does not affect the others
+     * - If a chunk's transaction fails, all orders in that chunk are FAILED
+     *   (rolled back, safe to retry); other chunks are unaffected
+     * 
+     * NOT_SUPPORTED: runs outside the class-level read-only transaction so
+     * that each chunk commits on its own.
+     * 
+     * @param newOrders orders to create
+     * @return one result per input order, in input order
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchOrderResult> createOrders(List<NewOrder> newOrders) {
+        log.info("Creating batch of {} orders", newOrders.size());
+        
+        BatchOrderResult[] results = new BatchOrderResult[newOrders.size()];
+        List<Order> validOrders = new ArrayList<>(newOrders.size());
+        List<Integer> validPositions = new ArrayList<>(newOrders.size());
+        
+        // Validate everything first - invalid orders never reach the database
+        for (int i = 0; i < newOrders.size(); i++) {
+            NewOrder newOrder = newOrders.get(i);
+            try {
+                if (newOrder == null) {
+                    throw new IllegalArgumentException("Order cannot be null");
+                }
+                validOrders.add(Order.create(newOrder.customerId(), newOrder.items(), newOrder.shippingAddress()));
+                validPositions.add(i);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[i] = BatchOrderResult.rejected(e.getMessage());
+                orderFailuresCounter.increment();
+            }
+        }
+        
+        // Persist in chunks - one transaction (and one JDBC batch flush) per chunk
+        for (int from = 0; from < validOrders.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, validOrders.size());
+            List<Order> chunk = validOrders.subList(from, to);
+            
+            try {
+                List<Order> saved = transactionTemplate.execute(status -> {
+                    List<Order> savedChunk = orderRepository.saveAll(chunk);
+                    eventPublisher.publishEvents(savedChunk);
+                    return savedChunk;
+                });
+                
+                for (int i = 0; i < saved.size(); i++) {
+                    results[validPositions.get(from + i)] = BatchOrderResult.created(saved.get(i).getOrderId());
+                }
+                ordersCreatedCounter.increment(saved.size());
+            } catch (DataAccessException | TransactionException e) {
+                log.error("Failed to persist order chunk [{}, {}) of batch", from, to, e);
+                for (int i = from; i < to; i++) {
+                    results[validPositions.get(i)] = BatchOrderResult.failed(
+                            "Persistence failed, order not stored: " + e.getMostSpecificCause().getMessage());
+                }
+                orderFailuresCounter.increment(to - from);
+            }
+        }
+        
+        long created = Arrays.stream(results).filter(BatchOrderResult::isCreated).count();
+        log.info("Batch order creation finished: requested={}, created={}", newOrders.size(), created);
+        
+        return List.of(results);
+    }
 
     /**
      * Create and save a new order.
@@ -130,18 +263,11 @@ public class OrderService {
      * - Records metrics (counter + timer)
      * - Includes correlation ID in logs (from MDC)
      * 
-     * Resilience (Day 11):
-     * - @Retryable: Automatically retries on transient database failures
-     * - Retry strategy: 3 attempts with exponential backoff (1s, 2s, 4s)
-     * - Only retries DataAccessException (connection issues, optimistic locking conflicts)
-     * - Does NOT retry business rule violations (those fail immediately)
+     * Resilience:
+     * - Runs once; retries are done by {@link #createOrderAsync} through the
+     *   RetryScheduler, which never parks the calling thread between attempts
      */
     @Transactional  // Write operation - overrides read-only
-    @Retryable(
-        retryFor = DataAccessException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public Order createOrder(Order order) {
         log.info("Creating order for customer: {}, items: {}", 
                 order.getCustomerId(), order.getItems().size());
@@ -174,41 +300,17 @@ public class OrderService {
     }
     
     /**
-     * Recovery method for createOrder when all retries are exhausted.
-     * 
-     * This method is called automatically by Spring Retry after all retry attempts fail.
-     * It provides a fallback behavior instead of propagating the exception to the caller.
-     * 
-     * Method signature rules:
-     * - Must have same return type as the retryable method
-     * - Must have same parameters PLUS the exception as last parameter
-     * - Can have fewer parameters than original if exception is included
-     * 
-     * @param order The order that failed to be created
-     * @param e The exception that caused all retries to fail
-     * @return null to indicate failure (caller must check for null)
+     * Find an order by its ID.
      */
-    @Recover
-    public Order recoverFromCreateOrder(DataAccessException e, Order order) {
-        log.error("All retry attempts exhausted for order creation. Customer: {}, Error: {}", 
-                order.getCustomerId(), e.getMessage());
-        orderFailuresCounter.increment();
-        
-        // In production, you might:
-        // 1. Store the order in a "pending" table for manual processing
-        // 2. Send alert to operations team
-        // 3. Return a specific error object instead of null
-        // 4. Publish a "OrderCreationFailed" event
-        
-        // For now, rethrow to let GlobalExceptionHandler format the error response
-        throw new RuntimeException("Order creation failed after multiple attempts: " + e.getMessage(), e);
+    public Optional<Order> findById(String orderId) {
+        return orderRepository.findById(orderId);
     }
     
     /**
-     * Find an order by its ID.
+     * Find only an order's version (conditional GETs: is the client's copy current?).
      */
-    public Optional<Order> findById(String orderId) {
-        return orderRepository.findById(orderId);
+    public Optional<Long> findVersionById(String orderId) {
+        return orderRepository.findVersionById(orderId);
     }
     
     /**
@@ -220,12 +322,86 @@ public class OrderService {
     
     /**
      * Find all orders (use with caution - could be huge!).
-     * In production, this should be paginated.
+     * Prefer {@link #findPage} or {@link #streamAll} for unbounded reads.
      */
     public List<Order> findAll() {
         return orderRepository.findAll();
     }
     
+    /**
+     * Find one page of orders using keyset pagination.
+     * 
+     * Fetches one extra row to learn whether another page exists, so clients
+     * get a next cursor only when there is something behind it.
+     * 
+     * @param after cursor from the previous page, or null for the first page
+     * @param size requested page size, clamped to [1, MAX_PAGE_SIZE]
+     */
+    public OrderPage findPage(OrderCursor after, int size) {
+        int limit = clampPageSize(size);
+        return toPage(orderRepository.findPageAfter(after, limit + 1), limit);
+    }
+        
+    /**
+     * Find one page of a customer's order history, newest first.
+     * 
+     * Same keyset approach as {@link #findPage}: the cost of a page depends on
+     * the page size, not on how many orders the customer has placed.
+     * 
+     * @param query customer plus optional status / created-date filters
+     * @param after cursor from the previous page, or null for the newest orders
+     * @param size requested page size, clamped to [1, MAX_PAGE_SIZE]
+     */
+    public OrderPage findCustomerHistory(CustomerOrderQuery query, OrderCursor after, int size) {
+        int limit = clampPageSize(size);
+        return toPage(orderRepository.findByCustomer(query, after, limit + 1), limit);
+    }
+    
+    /**
+     * Hand every order to the consumer, one at a time, inside a single read-only transaction.
+     * 
+     * Memory stays constant regardless of table size: the repository reads
+     * from a forward-only result set and nothing is collected here.
+     */
+    public void streamAll(Consumer<? super Order> consumer) {
+        orderRepository.streamAll(STREAM_FETCH_SIZE, consumer);
+    }
+    
+    /**
+     * Hand every order in the given status to the consumer, one at a time,
+     * inside a single read-only transaction (see {@link #streamAll}).
+     */
+    public void streamByStatus(OrderStatus status, Consumer<? super Order> consumer) {
+        orderRepository.streamByStatus(status, STREAM_FETCH_SIZE, consumer);
+    }
+    
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+    
+    /**
+     * Build a page from limit + 1 rows: the extra row only signals that a next page exists.
+     */
+    private static OrderPage toPage(List<Order> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new OrderPage(rows, null);
+        }
+        List<Order> page = rows.subList(0, limit);
+        return new OrderPage(page, OrderCursor.after(page.get(limit - 1)));
+    }
+    
+    /**
+     * Mark an order as paid, retrying transient database failures without blocking the caller.
+     * Each attempt runs {@link #markOrderAsPaid} (own transactions, conflict retries included).
+     * 
+     * @return future completed with the updated order, or with the final failure
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Order> markOrderAsPaidAsync(String orderId) {
+        return retryScheduler.submit("order.pay",
+                () -> markOrderAsPaid(orderId));
+    }
+    
     /**
      * Mark an order as paid.
      * 
@@ -245,45 +421,44 @@ public class OrderService {
      * 5. Save updated order
      * 6. Publish events after transaction commits
      * 
-     * Resilience (Day 11):
-     * - @Retryable handles transient database failures
+     * Resilience:
+     * - Version conflicts (e.g., a cancel committed first) are retried right away
+     *   on a freshly loaded order, see {@link #withConflictRetry}
+     * - {@link #markOrderAsPaidAsync} also retries transient database failures
      */
-    @Transactional  // Write operation
-    @Retryable(
-        retryFor = DataAccessException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
     public Order markOrderAsPaid(String orderId) {
         log.info("Marking order as paid: orderId={}", orderId);
         
         try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
-            
-            // Idempotency check: if already paid, return successfully without error
-            if (order.getStatus() == OrderStatus.PAID || 
-                order.getStatus() == OrderStatus.SHIPPED) {
-                // Already in paid or later state - idempotent success
-                log.info("Order already paid (idempotent): orderId={}, currentStatus={}", 
-                        orderId, order.getStatus());
-                return order;
-            }
-            
-            // Domain method enforces business rules
-            order.pay();
-            
-            // Save the state change
-            Order savedOrder = orderRepository.save(order);
-            
-            // Publish domain events
-            eventPublisher.publishEvents(savedOrder);
-            
-            // Record status change metric
-            orderStatusChangeCounter.increment();
-            log.info("Order marked as paid successfully: orderId={}, previousStatus=CREATED", orderId);
-            
-            return savedOrder;
+            return withConflictRetry("order.pay", orderId, () -> {
+                Order order = orderRepository.findById(orderId)
+                        .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
+                
+                // Idempotency check: if already paid, return successfully without error
+                if (order.getStatus() == OrderStatus.PAID || 
+                    order.getStatus() == OrderStatus.SHIPPED) {
+                    // Already in paid or later state - idempotent success
+                    log.info("Order already paid (idempotent): orderId={}, currentStatus={}", 
+                            orderId, order.getStatus());
+                    return order;
+                }
+                
+                // Domain method enforces business rules
+                order.pay();
+                
+                // Save the state change (version-checked)
+                Order savedOrder = orderRepository.save(order);
+                
+                // Publish domain events
+                eventPublisher.publishEvents(savedOrder);
+                
+                // Record status change metric
+                orderStatusChangeCounter.increment();
+                log.info("Order marked as paid successfully: orderId={}, previousStatus=CREATED", orderId);
+                
+                return savedOrder;
+            });
         } catch (Exception e) {
             orderFailuresCounter.increment();
             log.error("Failed to mark order as paid: orderId={}", orderId, e);
@@ -291,39 +466,49 @@ public class OrderService {
         }
     }
     
+    /**
+     * Mark an order as shipped, retrying transient database failures without blocking the caller.
+     * Each attempt runs {@link #markOrderAsShipped} (own transactions, conflict retries included).
+     * 
+     * @return future completed with the updated order, or with the final failure
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Order> markOrderAsShippedAsync(String orderId) {
+        return retryScheduler.submit("order.ship",
+                () -> markOrderAsShipped(orderId));
+    }
+    
     /**
      * Mark an order as shipped.
      * 
-     * Resilience (Day 11):
-     * - @Retryable handles transient database failures
+     * Resilience:
+     * - Version conflicts are retried on a freshly loaded order, see {@link #withConflictRetry}
+     * - {@link #markOrderAsShippedAsync} also retries transient database failures
      */
-    @Transactional  // Write operation
-    @Retryable(
-        retryFor = DataAccessException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
     public Order markOrderAsShipped(String orderId) {
         log.info("Marking order as shipped: orderId={}", orderId);
         
         try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
-            
-            log.debug("Order found, current status: orderId={}, status={}", orderId, order.getStatus());
-            
-            // Domain method enforces business rules (must be paid first)
-            order.ship();
-            
-            Order savedOrder = orderRepository.save(order);
-            
-            // Publish domain events
-            eventPublisher.publishEvents(savedOrder);
-            
-            orderStatusChangeCounter.increment();
-            log.info("Order marked as shipped successfully: orderId={}, previousStatus=PAID", orderId);
-            
-            return savedOrder;
+            return withConflictRetry("order.ship", orderId, () -> {
+                Order order = orderRepository.findById(orderId)
+                        .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
+                
+                log.debug("Order found, current status: orderId={}, status={}", orderId, order.getStatus());
+                
+                // Domain method enforces business rules (must be paid first)
+                order.ship();
+                
+                Order savedOrder = orderRepository.save(order);
+                
+                // Publish domain events
+                eventPublisher.publishEvents(savedOrder);
+                
+                orderStatusChangeCounter.increment();
+                log.info("Order marked as shipped successfully: orderId={}, previousStatus=PAID", orderId);
+                
+                return savedOrder;
+            });
         } catch (Exception e) {
             orderFailuresCounter.increment();
             log.error("Failed to mark order as shipped: orderId={}", orderId, e);
@@ -331,40 +516,51 @@ public class OrderService {
         }
     }
     
+    /**
+     * Cancel an order, retrying transient database failures without blocking the caller.
+     * Each attempt runs {@link #cancelOrder} (own transactions, conflict retries included).
+     * 
+     * @return future completed with the updated order, or with the final failure
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Order> cancelOrderAsync(String orderId) {
+        return retryScheduler.submit("order.cancel",
+                () -> cancelOrder(orderId));
+    }
+    
     /**
      * Cancel an order.
      * 
-     * Resilience (Day 11):
-     * - @Retryable handles transient database failures
+     * Resilience:
+     * - Version conflicts (e.g., a payment committed first) are retried on a
+     *   freshly loaded order, see {@link #withConflictRetry}
+     * - {@link #cancelOrderAsync} also retries transient database failures
      */
-    @Transactional  // Write operation
-    @Retryable(
-        retryFor = DataAccessException.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
     public Order cancelOrder(String orderId) {
         log.info("Cancelling order: orderId={}", orderId);
         
         try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
-            
-            OrderStatus previousStatus = order.getStatus();
-            log.debug("Order found, current status: orderId={}, status={}", orderId, previousStatus);
-            
-            // Domain method enforces business rules (can't cancel if shipped)
-            order.cancel();
-            
-            Order savedOrder = orderRepository.save(order);
-            
-            // Publish domain events
-            eventPublisher.publishEvents(savedOrder);
-            
-            orderStatusChangeCounter.increment();
-            log.info("Order cancelled successfully: orderId={}, previousStatus={}", orderId, previousStatus);
-            
-            return savedOrder;
+            return withConflictRetry("order.cancel", orderId, () -> {
+                Order order = orderRepository.findById(orderId)
+                        .orElseThrow(() -> new OrderNotFoundException("Order not found: " + orderId));
+                
+                OrderStatus previousStatus = order.getStatus();
+                log.debug("Order found, current status: orderId={}, status={}", orderId, previousStatus);
+                
+                // Domain method enforces business rules (can't cancel if shipped)
+                order.cancel();
+                
+                Order savedOrder = orderRepository.save(order);
+                
+                // Publish domain events
+                eventPublisher.publishEvents(savedOrder);
+                
+                orderStatusChangeCounter.increment();
+                log.info("Order cancelled successfully: orderId={}, previousStatus={}", orderId, previousStatus);
+                
+                return savedOrder;
+            });
         } catch (Exception e) {
             orderFailuresCounter.increment();
             log.error("Failed to cancel order: orderId={}", orderId, e);
@@ -372,6 +568,177 @@ public class OrderService {
         }
     }
     
+    /**
+     * Mark many orders as paid (e.g., a burst of payment webhooks).
+     * 
+     * Already PAID or SHIPPED orders are reported as NO_OP, matching the
+     * idempotency of {@link #markOrderAsPaid}.
+     * 
+     * @param orderIds order IDs; duplicates are processed once
+     * @return one result per distinct ID, in request order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
+    public List<BulkTransitionResult> markOrdersAsPaid(Collection<String> orderIds) {
+        return withConflictRetry("order.bulk-pay", null, () -> transitionInBulk("pay", orderIds,
+                EnumSet.of(OrderStatus.PAID, OrderStatus.SHIPPED), Order::pay));
+    }
+    
+    /**
+     * Mark many orders as shipped (e.g., a warehouse wave).
+     * 
+     * Already SHIPPED orders are reported as NO_OP so a wave can be re-submitted safely.
+     * 
+     * @param orderIds order IDs; duplicates are processed once
+     * @return one result per distinct ID, in request order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
+    public List<BulkTransitionResult> markOrdersAsShipped(Collection<String> orderIds) {
+        return withConflictRetry("order.bulk-ship", null, () -> transitionInBulk("ship", orderIds,
+                EnumSet.of(OrderStatus.SHIPPED), Order::ship));
+    }
+    
+    /**
+     * Cancel many orders.
+     * 
+     * @param orderIds order IDs; duplicates are processed once
+     * @return one result per distinct ID, in request order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
+    public List<BulkTransitionResult> cancelOrders(Collection<String> orderIds) {
+        return withConflictRetry("order.bulk-cancel", null, () -> transitionInBulk("cancel", orderIds,
+                EnumSet.of(OrderStatus.CANCELLED), Order::cancel));
+    }
+    
+    /**
+     * Cancel orders whose payment deadline has passed, in one transaction.
+     * 
+     * Only orders still in CREATED are cancelled; orders paid (or cancelled)
+     * in the meantime come back as NO_OP. A payment racing the expiry is
+     * settled by the version check: whichever commits second is re-run on
+     * the fresh state.
+     * 
+     * @param orderIds order IDs whose deadline passed
+     * @return one result per distinct ID, in request order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)  // Write operation, transactions per attempt
+    public List<BulkTransitionResult> cancelUnpaidOrders(Collection<String> orderIds) {
+        return withConflictRetry("order.expire", null, () -> transitionInBulk("expire", orderIds,
+                EnumSet.of(OrderStatus.PAID, OrderStatus.SHIPPED, OrderStatus.CANCELLED),
+                order -> order.cancel(PAYMENT_DEADLINE_REASON)));
+    }
+    
+    /**
+     * Apply one domain transition to many orders in a single transaction.
+     * 
+     * Workflow:
+     * 1. Load all orders with one findAllById (a single IN query in the JPA adapter)
+     * 2. Apply the domain method per aggregate - business rules stay in Order
+     * 3. Save only the changed orders with one batched saveAll
+     * 4. Publish all resulting events as one batch
+     * 
+     * A rule violation on one order does not affect the others: it is
+     * reported and that order is left untouched. A version conflict on any
+     * order rolls the batch back; the caller's conflict retry re-runs it.
+     */
+    private List<BulkTransitionResult> transitionInBulk(
+            String action,
+            Collection<String> orderIds,
+            Set<OrderStatus> alreadyDone,
+            Consumer<Order> transition) {
+        
+        Set<String> distinctIds = new LinkedHashSet<>(orderIds);
+        log.info("Bulk {} requested for {} orders", action, distinctIds.size());
+        
+        Map<String, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllById(distinctIds)) {
+            ordersById.put(order.getOrderId(), order);
+        }
+        
+        List<BulkTransitionResult> results = new ArrayList<>(distinctIds.size());
+        List<Order> changed = new ArrayList<>();
+        
+        for (String orderId : distinctIds) {
+            Order order = ordersById.get(orderId);
+            if (order == null) {
+                results.add(BulkTransitionResult.notFound(orderId));
+                continue;
+            }
+            if (alreadyDone.contains(order.getStatus())) {
+                results.add(BulkTransitionResult.noOp(orderId, order.getStatus()));
+                continue;
+            }
+            
+            int eventsBefore = order.getDomainEvents().size();
+            try {
+                transition.accept(order);
+            } catch (IllegalStateException e) {
+                results.add(BulkTransitionResult.violation(orderId, order.getStatus(), e.getMessage()));
+                continue;
+            }
+            
+            if (order.getDomainEvents().size() == eventsBefore) {
+                // Domain treated it as idempotent - nothing to save
+                results.add(BulkTransitionResult.noOp(orderId, order.getStatus()));
+            } else {
+                changed.add(order);
+                results.add(BulkTransitionResult.success(orderId, order.getStatus()));
+            }
+        }
+        
+        if (!changed.isEmpty()) {
+            List<Order> saved = orderRepository.saveAll(changed);
+            eventPublisher.publishEvents(saved);
+            orderStatusChangeCounter.increment(saved.size());
+        }
+        
+        log.info("Bulk {} finished: requested={}, changed={}", action, distinctIds.size(), changed.size());
+        return results;
+    }
+    
+    /**
+     * Run a read-modify-write in its own transaction, re-running it when the
+     * save hits a version conflict.
+     * 
+     * Every attempt reloads the order and applies the domain method again, so
+     * the business rules see the state the other writer committed (a cancel
+     * after a payment is still allowed; a payment after a cancel is rejected).
+     * Conflicts mean another request just changed the same order, so retries
+     * run immediately, at most maxConflictAttempts times.
+     * 
+     * Inside a caller's transaction there is nothing to retry (that transaction
+     * is already rolled back), so the conflict is passed on after one attempt.
+     * 
+     * Metrics: orders.conflicts{operation, outcome=retried|exhausted}
+     * 
+     * @param orderId the order being changed, or null for bulk operations
+     * @throws OrderVersionConflictException when the attempts run out
+     */
+    private <T> T withConflictRetry(String operation, String orderId, Supplier<T> readModifyWrite) {
+        boolean ownTransaction = !TransactionSynchronizationManager.isActualTransactionActive();
+        int attempts = ownTransaction ? maxConflictAttempts : 1;
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> readModifyWrite.get());
+            } catch (OrderVersionConflictException | OptimisticLockingFailureException e) {
+                if (attempt >= attempts) {
+                    meterRegistry.counter("orders.conflicts", "operation", operation, "outcome", "exhausted").increment();
+                    throw e instanceof OrderVersionConflictException conflict
+                            ? conflict
+                            : new OrderVersionConflictException(orderId, -1, e);
+                }
+                meterRegistry.counter("orders.conflicts", "operation", operation, "outcome", "retried").increment();
+                log.info("Version conflict, reloading and retrying: operation={}, attempt={}", operation, attempt);
+            }
+        }
+    }
+    
+    /**
+     * Input for one order in {@link #createOrders}.
+     * Keeps aggregate construction (and its validation) inside the service.
+     */
+    public record NewOrder(String customerId, List<OrderItem> items, Address shippingAddress) {}
+    
     /**
      * Exception thrown when an order is not found.
      * Could be moved to a separate file in a larger application.
@@ -0,0 +1,37 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the {@link OrderStatsProjection} totals.
+ * 
+ * @param asOf when the snapshot was taken
+ * @param countsByStatus number of orders currently in each status
+ * @param revenueByCurrency gross revenue (all payments ever taken) per ISO 4217 code
+ * @param minutes per-minute activity, oldest first, ending with the current minute
+ */
+public record OrderStats(
+        Instant asOf,
+        Map<OrderStatus, Long> countsByStatus,
+        Map<String, BigDecimal> revenueByCurrency,
+        List<Minute> minutes
+) {
+    
+    /**
+     * Activity within one wall-clock minute.
+     * 
+     * @param start first instant of the minute
+     * @param transitions orders that entered each status during the minute
+     * @param revenueByCurrency payments taken during the minute
+     */
+    public record Minute(
+            Instant start,
+            Map<OrderStatus, Long> transitions,
+            Map<String, BigDecimal> revenueByCurrency
+    ) {}
+}
@@ -0,0 +1,297 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order Stats Projection - Running order counts by status and revenue by currency.
+ * 
+ * Dashboards used to get these from findAll() / findByStatus(), i.e. a scan
+ * of the orders table on every refresh. The projection keeps them in memory,
+ * fed by the domain events, so a snapshot costs the same whatever the table size.
+ * 
+ * How it works:
+ * 1. On startup, one streaming pass over the orders table seeds the totals
+ *    (and the per-minute windows, from the order timestamps)
+ * 2. After that, every committed OrderCreated / Paid / Shipped / Cancelled
+ *    event moves one order between status counts; payments add to revenue
+ * 
+ * Counters are LongAdders: request threads update them without locks, and
+ * the striping keeps concurrent increments off a single contended cache line.
+ * Revenue is summed in minor units (cents), so no BigDecimal is built per event.
+ * 
+ * Per-minute windows: a ring of windowMinutes buckets indexed by epoch minute.
+ * The first event of a new minute swaps the expired bucket in its slot for
+ * a fresh one (compare-and-set, no lock).
+ * 
+ * Scope: each node counts the events it commits itself. With several nodes,
+ * writes made elsewhere show up here only at the next rebuild (restart).
+ * 
+ * Metrics:
+ * - orders.stats.count{status} (gauge)
+ * - orders.stats.revenue{currency} (gauge, major units)
+ */
+@Component
+public class OrderStatsProjection implements SmartInitializingSingleton {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsProjection.class);
+    
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final boolean rebuildOnStartup;
+    
+    private final LongAdder[] countsByStatus = newAdders();
+    private final ConcurrentMap<Currency, LongAdder> revenueByCurrency = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<MinuteBucket> minutes;
+    
+    @Autowired
+    public OrderStatsProjection(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${orders.stats.window-minutes:60}") int windowMinutes,
+            @Value("${orders.stats.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        if (windowMinutes < 1) {
+            throw new IllegalArgumentException("Stats window must be at least 1 minute: " + windowMinutes);
+        }
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.minutes = new AtomicReferenceArray<>(windowMinutes);
+        
+        for (OrderStatus status : STATUSES) {
+            Gauge.builder("orders.stats.count", countsByStatus[status.ordinal()], LongAdder::sum)
+                    .description("Orders currently in each status (in-memory projection)")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * Seed the totals before the web server and listener containers start,
+     * so no live event can interleave with the scan.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Count every stored order once. Expects empty totals (startup).
+     */
+    void rebuild() {
+        long start = System.nanoTime();
+        LongAdder scanned = new LongAdder();
+        orderService.streamAll(order -> {
+            apply(order);
+            scanned.increment();
+        });
+        log.info("Order stats rebuilt from repository: orders={}, took={}ms",
+                scanned.sum(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private void apply(Order order) {
+        increment(order.getStatus());
+        record(order.getCreatedAt(), OrderStatus.CREATED, null);
+        if (order.getPaidAt() != null) {
+            addRevenue(order.calculateTotal());
+            record(order.getPaidAt(), OrderStatus.PAID, order.calculateTotal());
+        }
+        if (order.getShippedAt() != null) {
+            record(order.getShippedAt(), OrderStatus.SHIPPED, null);
+        }
+        if (order.getCancelledAt() != null) {
+            record(order.getCancelledAt(), OrderStatus.CANCELLED, null);
+        }
+    }
+    
+    /**
+     * Apply one committed order event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent) {
+            increment(OrderStatus.CREATED);
+            record(event.getOccurredAt(), OrderStatus.CREATED, null);
+        } else if (event instanceof OrderPaidEvent paid) {
+            move(OrderStatus.CREATED, OrderStatus.PAID);
+            addRevenue(paid.getTotalAmount());
+            record(event.getOccurredAt(), OrderStatus.PAID, paid.getTotalAmount());
+        } else if (event instanceof OrderShippedEvent) {
+            move(OrderStatus.PAID, OrderStatus.SHIPPED);
+            record(event.getOccurredAt(), OrderStatus.SHIPPED, null);
+        } else if (event instanceof OrderCancelledEvent cancelled) {
+            // Events without a previous status predate that field: count them as
+            // unpaid cancellations, the next rebuild corrects the rare paid one
+            OrderStatus from = cancelled.getPreviousStatus() != null
+                    ? cancelled.getPreviousStatus()
+                    : OrderStatus.CREATED;
+            move(from, OrderStatus.CANCELLED);
+            record(event.getOccurredAt(), OrderStatus.CANCELLED, null);
+        }
+    }
+    
+    /**
+     * Current totals plus the last {@code minuteCount} minutes of activity.
+     * 
+     * @param minuteCount minutes to include, capped at the window size
+     */
+    public OrderStats snapshot(int minuteCount) {
+        Instant now = clock.instant();
+        
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            counts.put(status, countsByStatus[status.ordinal()].sum());
+        }
+        
+        long currentMinute = Math.floorDiv(now.toEpochMilli(), MILLIS_PER_MINUTE);
+        int count = Math.max(0, Math.min(minuteCount, minutes.length()));
+        List<OrderStats.Minute> window = new ArrayList<>(count);
+        for (long minute = currentMinute - count + 1; minute <= currentMinute; minute++) {
+            MinuteBucket bucket = minutes.get(slot(minute));
+            window.add(bucket != null && bucket.minute == minute ? bucket.toMinute() : emptyMinute(minute));
+        }
+        
+        return new OrderStats(now, counts, toAmounts(revenueByCurrency), window);
+    }
+    
+    private void increment(OrderStatus status) {
+        countsByStatus[status.ordinal()].increment();
+    }
+    
+    private void move(OrderStatus from, OrderStatus to) {
+        countsByStatus[from.ordinal()].decrement();
+        countsByStatus[to.ordinal()].increment();
+    }
+    
+    private void addRevenue(Money amount) {
+        revenueByCurrency.computeIfAbsent(amount.getCurrency(), this::registerRevenueGauge)
+                .add(amount.toMinorUnits());
+    }
+    
+    private LongAdder registerRevenueGauge(Currency currency) {
+        LongAdder adder = new LongAdder();
+        int scale = currency.getDefaultFractionDigits();
+        Gauge.builder("orders.stats.revenue", adder, a -> BigDecimal.valueOf(a.sum(), scale).doubleValue())
+                .description("Gross revenue of all payments taken (in-memory projection)")
+                .tag("currency", currency.getCurrencyCode())
+                .register(meterRegistry);
+        return adder;
+    }
+    
+    /**
+     * Count a transition in the bucket of the minute it happened in;
+     * ignored when that minute has already left the window.
+     */
+    private void record(Instant at, OrderStatus entered, Money payment) {
+        MinuteBucket bucket = bucketFor(Math.floorDiv(at.toEpochMilli(), MILLIS_PER_MINUTE));
+        if (bucket == null) {
+            return;
+        }
+        bucket.transitions[entered.ordinal()].increment();
+        if (payment != null) {
+            bucket.revenue.computeIfAbsent(payment.getCurrency(), c -> new LongAdder()).add(payment.toMinorUnits());
+        }
+    }
+    
+    private MinuteBucket bucketFor(long minute) {
+        long currentMinute = Math.floorDiv(clock.millis(), MILLIS_PER_MINUTE);
+        if (minute <= currentMinute - minutes.length()) {
+            return null;
+        }
+        int slot = slot(minute);
+        while (true) {
+            MinuteBucket bucket = minutes.get(slot);
+            if (bucket != null && bucket.minute == minute) {
+                return bucket;
+            }
+            if (bucket != null && bucket.minute > minute) {
+                return null;  // Slot already holds a newer minute
+            }
+            if (minutes.compareAndSet(slot, bucket, new MinuteBucket(minute))) {
+                return minutes.get(slot);
+            }
+        }
+    }
+    
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) minutes.length());
+    }
+    
+    private static OrderStats.Minute emptyMinute(long minute) {
+        return new MinuteBucket(minute).toMinute();
+    }
+    
+    private static Map<String, BigDecimal> toAmounts(Map<Currency, LongAdder> minorUnitsByCurrency) {
+        Map<String, BigDecimal> amounts = new TreeMap<>();
+        minorUnitsByCurrency.forEach((currency, adder) -> amounts.put(
+                currency.getCurrencyCode(), BigDecimal.valueOf(adder.sum(), currency.getDefaultFractionDigits())));
+        return amounts;
+    }
+    
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[STATUSES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+    
+    /**
+     * Transitions and payments within one epoch minute.
+     */
+    private static final class MinuteBucket {
+        
+        final long minute;
+        final LongAdder[] transitions = newAdders();
+        final ConcurrentMap<Currency, LongAdder> revenue = new ConcurrentHashMap<>();
+        
+        MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+        
+        OrderStats.Minute toMinute() {
+            Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : STATUSES) {
+                counts.put(status, transitions[status.ordinal()].sum());
+            }
+            return new OrderStats.Minute(Instant.ofEpochMilli(minute * MILLIS_PER_MINUTE), counts, toAmounts(revenue));
+        }
+    }
+}
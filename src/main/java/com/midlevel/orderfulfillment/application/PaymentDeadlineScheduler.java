@@ -0,0 +1,249 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment Deadline Scheduler - Cancels orders that stay unpaid for too long.
+ * 
+ * Orders left in CREATED used to hold their inventory forever. Every created
+ * order now gets a deadline (createdAt + orders.payment-deadline.timeout);
+ * if it is still unpaid when the deadline passes, it is cancelled.
+ * 
+ * How it works:
+ * 1. OrderCreatedEvent registers a timer in a {@link TimingWheel};
+ *    OrderPaidEvent / OrderCancelledEvent remove it (O(1) both ways)
+ * 2. A single ticker thread advances the wheel every tick and queues the
+ *    order IDs whose deadline passed
+ * 3. The same thread cancels them through OrderService.cancelUnpaidOrders,
+ *    at most batch-size orders (one transaction) per tick, so a mass expiry
+ *    is spread over several ticks instead of flooding the database
+ * 4. On startup the timers are rebuilt from the orders still in CREATED;
+ *    deadlines missed while the service was down fire on the first ticks
+ * 
+ * The wheel is confined to the ticker thread: event listeners only put
+ * timers on lock-free queues, which the ticker drains before advancing.
+ * 
+ * Cancellation re-checks the status in the database, so an order paid on
+ * another node (whose OrderPaidEvent never reached this one) is left alone.
+ * After a restart a node schedules every unpaid order, including other
+ * nodes' - duplicates are harmless (NO_OP), only extra reads.
+ * 
+ * Metrics:
+ * - orders.payment-deadline.pending (gauge): timers waiting
+ * - orders.payment-deadline.due (gauge): deadlines passed, not yet processed
+ * - orders.payment-deadline.expired{outcome=cancelled|skipped|failed}
+ */
+@Component
+@ConditionalOnProperty(name = "orders.payment-deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentDeadlineScheduler implements SmartInitializingSingleton, DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(PaymentDeadlineScheduler.class);
+    
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_LEVELS = 4;
+    
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Duration timeout;
+    private final long tickMillis;
+    private final int batchSize;
+    
+    // Shared with event listener threads
+    private final ConcurrentMap<String, TimingWheel.Timer<String>> pending = new ConcurrentHashMap<>();
+    private final Queue<TimingWheel.Timer<String>> added = new ConcurrentLinkedQueue<>();
+    private final Queue<TimingWheel.Timer<String>> removed = new ConcurrentLinkedQueue<>();
+    
+    // Confined to the ticker thread
+    private final TimingWheel<String> wheel;
+    private final ArrayDeque<String> due = new ArrayDeque<>();
+    private volatile int dueCount;
+    
+    private final ScheduledExecutorService ticker;
+    
+    @Autowired
+    public PaymentDeadlineScheduler(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${orders.payment-deadline.timeout:PT1H}") Duration timeout,
+            @Value("${orders.payment-deadline.tick-ms:1000}") long tickMillis,
+            @Value("${orders.payment-deadline.batch-size:200}") int batchSize) {
+        this(orderService, meterRegistry, clock, timeout, tickMillis, batchSize, newTicker());
+    }
+    
+    PaymentDeadlineScheduler(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            Duration timeout,
+            long tickMillis,
+            int batchSize,
+            ScheduledExecutorService ticker) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.tickMillis = tickMillis;
+        this.batchSize = batchSize;
+        this.ticker = ticker;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+        
+        Gauge.builder("orders.payment-deadline.pending", pending, ConcurrentMap::size)
+                .description("Unpaid orders waiting for their payment deadline")
+                .register(meterRegistry);
+        Gauge.builder("orders.payment-deadline.due", this, scheduler -> scheduler.dueCount)
+                .description("Orders past their payment deadline, not cancelled yet")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Rebuild the timers from the unpaid orders, then start ticking.
+     * Runs before the web server starts, so no order is created meanwhile.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        orderService.streamByStatus(OrderStatus.CREATED,
+                order -> schedule(order.getOrderId(), order.getCreatedAt()));
+        log.info("Payment deadlines rebuilt: unpaidOrders={}, timeout={}, took={}ms",
+                pending.size(), timeout, (System.nanoTime() - start) / 1_000_000);
+        
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Track committed order events: created starts the clock, paid or cancelled stops it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DomainEvent event) {
+        if (event instanceof OrderCreatedEvent created) {
+            schedule(created.getOrderId(), created.getOccurredAt());
+        } else if (event instanceof OrderPaidEvent || event instanceof OrderCancelledEvent) {
+            unschedule(event.getAggregateId());
+        }
+    }
+    
+    private void schedule(String orderId, Instant createdAt) {
+        TimingWheel.Timer<String> timer = new TimingWheel.Timer<>(orderId, createdAt.plus(timeout).toEpochMilli());
+        TimingWheel.Timer<String> previous = pending.put(orderId, timer);
+        if (previous != null) {
+            previous.cancel();
+            removed.add(previous);
+        }
+        added.add(timer);
+    }
+    
+    private void unschedule(String orderId) {
+        TimingWheel.Timer<String> timer = pending.remove(orderId);
+        if (timer != null) {
+            timer.cancel();
+            removed.add(timer);
+        }
+    }
+    
+    /**
+     * One tick on the ticker thread: apply queued adds/removes, advance the
+     * wheel, then cancel at most one batch of expired orders.
+     */
+    void tick() {
+        try {
+            TimingWheel.Timer<String> timer;
+            while ((timer = added.poll()) != null) {
+                wheel.add(timer);
+            }
+            while ((timer = removed.poll()) != null) {
+                wheel.remove(timer);
+            }
+            wheel.advanceTo(clock.millis(), expired -> {
+                if (pending.remove(expired.payload(), expired)) {
+                    due.add(expired.payload());
+                }
+            });
+            cancelNextBatch();
+        } catch (RuntimeException e) {
+            // Never let an exception end the fixed-delay schedule
+            log.error("Payment deadline tick failed", e);
+        } finally {
+            dueCount = due.size();
+        }
+    }
+    
+    private void cancelNextBatch() {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(batchSize, due.size()));
+        while (batch.size() < batchSize && !due.isEmpty()) {
+            batch.add(due.poll());
+        }
+        
+        try {
+            int cancelled = 0;
+            for (BulkTransitionResult result : orderService.cancelUnpaidOrders(batch)) {
+                if (result.outcome() == BulkTransitionResult.Outcome.SUCCESS) {
+                    cancelled++;
+                }
+            }
+            record("cancelled", cancelled);
+            record("skipped", batch.size() - cancelled);
+            log.info("Payment deadline passed: cancelled={}, skipped={}, stillDue={}",
+                    cancelled, batch.size() - cancelled, due.size());
+        } catch (RuntimeException e) {
+            // Database trouble: keep the orders and try again on a later tick
+            due.addAll(batch);
+            record("failed", batch.size());
+            log.warn("Could not cancel expired orders, will retry: count={}, error={}",
+                    batch.size(), e.getMessage());
+        }
+    }
+    
+    private void record(String outcome, int count) {
+        meterRegistry.counter("orders.payment-deadline.expired", "outcome", outcome).increment(count);
+    }
+    
+    private static ScheduledExecutorService newTicker() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-deadline-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+}
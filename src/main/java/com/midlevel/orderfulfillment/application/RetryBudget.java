@@ -0,0 +1,75 @@
+package com.midlevel.orderfulfillment.application;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry Budget - Caps retries at a fixed fraction of live traffic.
+ * 
+ * Why a budget?
+ * - Per-call attempt limits alone let retries multiply load during an outage
+ *   (3 attempts = up to 3x the traffic on a database that is already struggling)
+ * - A budget bounds the extra load globally: with ratio 0.1, retries can add
+ *   at most 10% on top of the first attempts, however many calls are failing
+ * 
+ * How it works (token bucket fed by traffic, not by time):
+ * - Every first attempt deposits {@code ratio} tokens
+ * - Every retry withdraws one token; no token, no retry
+ * - The balance is capped at {@code maxBalance}, so a quiet hour doesn't
+ *   bank thousands of retries for the next brownout
+ * 
+ * Lock-free: the balance is a single AtomicLong in thousandths of a token.
+ */
+public final class RetryBudget {
+    
+    private static final long TOKEN = 1_000L;
+    
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+    
+    /**
+     * @param ratio retries allowed per first attempt (e.g., 0.1 = 10% of traffic)
+     * @param maxBalance most retries that can be saved up for a burst
+     */
+    public RetryBudget(double ratio, int maxBalance) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Retry budget ratio must be between 0 and 1: " + ratio);
+        }
+        if (maxBalance < 1) {
+            throw new IllegalArgumentException("Retry budget max balance must be at least 1: " + maxBalance);
+        }
+        this.depositPerCall = Math.round(ratio * TOKEN);
+        this.maxBalance = maxBalance * TOKEN;
+    }
+    
+    /**
+     * Record a first attempt (live traffic), earning {@code ratio} retry tokens.
+     */
+    public void recordCall() {
+        balance.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+    
+    /**
+     * Take one retry token if the budget allows it.
+     * 
+     * @return true if the retry may go ahead
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Retries currently available (exported as a gauge).
+     */
+    public double available() {
+        return (double) balance.get() / TOKEN;
+    }
+}
@@ -0,0 +1,217 @@
+package com.midlevel.orderfulfillment.application;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Retry Scheduler - Retries transient database failures without parking the caller's thread.
+ * 
+ * Replaces @Retryable on OrderService. Spring Retry backs off with Thread.sleep
+ * on the calling thread, so during a database brownout every Tomcat thread sat
+ * in a sleep for up to 3 seconds and even healthy reads couldn't get a thread.
+ * 
+ * How it works:
+ * 1. The first attempt runs directly on the caller's thread (no hop on the happy path)
+ * 2. On a retryable failure, the next attempt is scheduled on a small dedicated
+ *    pool after a jittered delay, and the caller gets back an incomplete future
+ * 3. The future completes with the first success or the last failure
+ * 
+ * Controllers return the future to Spring MVC (async request processing),
+ * which frees the Tomcat thread while the retry waits.
+ * 
+ * Backoff: "full jitter" - a random delay in [0, min(maxBackoff, initialBackoff * 2^retry)].
+ * Randomizing the whole delay spreads retries out, so requests that failed
+ * together don't hit the recovering database together.
+ * 
+ * Limits:
+ * - maxAttempts per call (first attempt included)
+ * - A global RetryBudget: retries can never exceed a fixed fraction of live traffic
+ * 
+ * Metrics (tagged operation=...):
+ * - retry.calls{outcome=success|recovered|failed|exhausted|budget_exhausted}
+ * - retry.attempts (retries scheduled)
+ * - retry.budget.available (gauge)
+ */
+@Component
+public class RetryScheduler implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(RetryScheduler.class);
+    
+    private final ScheduledExecutorService scheduler;
+    private final RetryBudget budget;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    
+    @Autowired
+    public RetryScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${resilience.retry.initial-backoff-ms:200}") long initialBackoffMs,
+            @Value("${resilience.retry.max-backoff-ms:2000}") long maxBackoffMs,
+            @Value("${resilience.retry.budget.ratio:0.1}") double budgetRatio,
+            @Value("${resilience.retry.budget.max-balance:100}") int budgetMaxBalance,
+            @Value("${resilience.retry.pool-size:4}") int poolSize) {
+        this(newScheduler(poolSize), new RetryBudget(budgetRatio, budgetMaxBalance),
+                meterRegistry, maxAttempts, initialBackoffMs, maxBackoffMs);
+        log.info("Retry scheduler initialized: maxAttempts={}, backoff={}..{}ms, budgetRatio={}, poolSize={}",
+                maxAttempts, initialBackoffMs, maxBackoffMs, budgetRatio, poolSize);
+    }
+    
+    RetryScheduler(
+            ScheduledExecutorService scheduler,
+            RetryBudget budget,
+            MeterRegistry meterRegistry,
+            int maxAttempts,
+            long initialBackoffMs,
+            long maxBackoffMs) {
+        this.scheduler = scheduler;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        
+        Gauge.builder("retry.budget.available", budget, RetryBudget::available)
+                .description("Retries the global retry budget currently allows")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Run an action, retrying transient failures in the background.
+     * 
+     * The action must be safe to repeat and must open its own transaction
+     * (each attempt runs on its own, possibly on another thread).
+     * 
+     * @param operation metric tag, e.g. "order.pay"
+     * @param action the attempt to run
+     * @return future completed with the first successful result or the final failure
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> action) {
+        budget.recordCall();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, action, 1, result);
+        return result;
+    }
+    
+    /**
+     * Whether a failure is worth retrying: connection / pool problems,
+     * timeouts, deadlocks and optimistic locking conflicts.
+     * Constraint violations and business rule failures are not.
+     */
+    static boolean isRetryable(Throwable failure) {
+        return failure instanceof TransientDataAccessException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof DataAccessResourceFailureException
+                || failure instanceof CannotCreateTransactionException;
+    }
+    
+    private <T> void attempt(String operation, Supplier<T> action, int attempt, CompletableFuture<T> result) {
+        try {
+            T value = action.get();
+            record(operation, attempt == 1 ? "success" : "recovered");
+            result.complete(value);
+        } catch (RuntimeException e) {
+            onFailure(operation, action, attempt, result, e);
+        }
+    }
+    
+    private <T> void onFailure(
+            String operation, Supplier<T> action, int attempt, CompletableFuture<T> result, RuntimeException failure) {
+        
+        if (!isRetryable(failure)) {
+            record(operation, "failed");
+            result.completeExceptionally(failure);
+            return;
+        }
+        if (attempt >= maxAttempts) {
+            record(operation, "exhausted");
+            log.error("Retries exhausted: operation={}, attempts={}", operation, attempt, failure);
+            result.completeExceptionally(failure);
+            return;
+        }
+        if (!budget.tryAcquire()) {
+            record(operation, "budget_exhausted");
+            log.warn("Retry budget exhausted, failing fast: operation={}, attempt={}", operation, attempt);
+            result.completeExceptionally(failure);
+            return;
+        }
+        
+        long delayMs = backoffMs(attempt);
+        log.warn("Transient failure, retrying in {}ms: operation={}, attempt={}, error={}",
+                delayMs, operation, attempt, failure.getMessage());
+        meterRegistry.counter("retry.attempts", "operation", operation).increment();
+        
+        // Carry the correlation ID (and any other MDC keys) over to the retry thread
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            scheduler.schedule(() -> withMdc(mdc, () -> attempt(operation, action, attempt + 1, result)),
+                    delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down - report the original failure
+            record(operation, "failed");
+            result.completeExceptionally(failure);
+        }
+    }
+    
+    /**
+     * Full jitter: uniform in [0, min(maxBackoff, initialBackoff * 2^(attempt-1))].
+     */
+    long backoffMs(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
+    private void record(String operation, String outcome) {
+        meterRegistry.counter("retry.calls", "operation", operation, "outcome", outcome).increment();
+    }
+    
+    private static void withMdc(Map<String, String> mdc, Runnable task) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            task.run();
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    private static ScheduledExecutorService newScheduler(int poolSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "order-retry-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+    
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
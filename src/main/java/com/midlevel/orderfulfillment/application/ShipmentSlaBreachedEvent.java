@@ -0,0 +1,18 @@
+package com.midlevel.orderfulfillment.application;
+
+import java.time.Instant;
+
+/**
+ * Published (as a Spring application event) when a paid order is still not
+ * shipped at its ship-by deadline. See ShipmentSlaWatchdog.
+ * 
+ * Not a DomainEvent: the order itself did not change, so nothing goes to
+ * the outbox or the order caches.
+ * 
+ * @param orderId the late order
+ * @param paidAt when the order was paid (start of the SLA)
+ * @param shipBy when it should have shipped
+ * @param detectedAt when the watchdog noticed (at most one tick after shipBy, later after a restart)
+ */
+public record ShipmentSlaBreachedEvent(String orderId, Instant paidAt, Instant shipBy, Instant detectedAt) {
+}
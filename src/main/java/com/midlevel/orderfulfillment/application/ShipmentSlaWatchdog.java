@@ -0,0 +1,300 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shipment SLA Watchdog - Flags paid orders that are not shipped in time.
+ * 
+ * Every paid order must ship within orders.ship-sla.ship-by of its payment.
+ * Instead of polling findByStatus(PAID) and scanning the result, the
+ * watchdog keeps an in-memory deadline index of the unshipped paid orders:
+ * 
+ * 1. OrderPaidEvent adds the order to a {@link TimingWheel};
+ *    OrderShippedEvent / OrderCancelledEvent take it out (O(1) both ways)
+ * 2. orders.ship-sla.warning before the deadline the order becomes
+ *    "at risk" (orders.ship-sla.at-risk gauge)
+ * 3. At the deadline it becomes "breached": a ShipmentSlaBreachedEvent is
+ *    published, orders.ship-sla.breaches is incremented and the order stays
+ *    in orders.ship-sla.breached until it ships or is cancelled
+ * 4. On startup the index is rebuilt by streaming the PAID orders (one
+ *    status query, no full table scan once the adapter indexes status);
+ *    orders already late are reported again on the first tick
+ * 
+ * Like PaymentDeadlineScheduler, the wheel is confined to one ticker thread
+ * and event listeners hand their changes over through lock-free queues.
+ * Each entry costs a few dozen bytes, so a backlog of a million paid orders
+ * fits comfortably in memory.
+ * 
+ * Each node only sees the events published locally: run the watchdog on a
+ * single node, or expect every node to report its own share of late orders.
+ * 
+ * Metrics:
+ * - orders.ship-sla.watched (gauge): paid orders not shipped yet
+ * - orders.ship-sla.at-risk (gauge): inside the warning window
+ * - orders.ship-sla.breached (gauge): past the deadline, still not shipped
+ * - orders.ship-sla.breaches (counter): deadlines missed
+ */
+@Component
+@ConditionalOnProperty(name = "orders.ship-sla.enabled", havingValue = "true", matchIfMissing = true)
+public class ShipmentSlaWatchdog implements SmartInitializingSingleton, DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(ShipmentSlaWatchdog.class);
+    
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_LEVELS = 4;
+    
+    /**
+     * Where a watched order stands. Only the ticker thread moves it forward.
+     */
+    enum Stage {
+        ON_TRACK, AT_RISK, BREACHED
+    }
+    
+    private final OrderService orderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Duration shipBy;
+    private final Duration warning;
+    private final long tickMillis;
+    private final Counter breachCounter;
+    
+    // Shared with event listener threads
+    private final ConcurrentMap<String, Watch> watched = new ConcurrentHashMap<>();
+    private final Queue<Watch> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Watch> removed = new ConcurrentLinkedQueue<>();
+    
+    // Confined to the ticker thread (counts are volatile for the gauges)
+    private final TimingWheel<Watch> wheel;
+    private volatile int atRiskCount;
+    private volatile int breachedCount;
+    
+    private final ScheduledExecutorService ticker;
+    
+    @Autowired
+    public ShipmentSlaWatchdog(
+            OrderService orderService,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${orders.ship-sla.ship-by:PT24H}") Duration shipBy,
+            @Value("${orders.ship-sla.warning:PT4H}") Duration warning,
+            @Value("${orders.ship-sla.tick-ms:1000}") long tickMillis) {
+        this(orderService, eventPublisher, meterRegistry, clock, shipBy, warning, tickMillis, newTicker());
+    }
+    
+    ShipmentSlaWatchdog(
+            OrderService orderService,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            Duration shipBy,
+            Duration warning,
+            long tickMillis,
+            ScheduledExecutorService ticker) {
+        if (warning.isNegative() || warning.compareTo(shipBy) > 0) {
+            throw new IllegalArgumentException("Warning must be between zero and ship-by: " + warning);
+        }
+        this.orderService = orderService;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.shipBy = shipBy;
+        this.warning = warning;
+        this.tickMillis = tickMillis;
+        this.ticker = ticker;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, clock.millis());
+        
+        Gauge.builder("orders.ship-sla.watched", watched, ConcurrentMap::size)
+                .description("Paid orders waiting to be shipped")
+                .register(meterRegistry);
+        Gauge.builder("orders.ship-sla.at-risk", this, watchdog -> watchdog.atRiskCount)
+                .description("Paid orders close to their ship-by deadline")
+                .register(meterRegistry);
+        Gauge.builder("orders.ship-sla.breached", this, watchdog -> watchdog.breachedCount)
+                .description("Paid orders past their ship-by deadline, still not shipped")
+                .register(meterRegistry);
+        this.breachCounter = Counter.builder("orders.ship-sla.breaches")
+                .description("Paid orders that missed their ship-by deadline")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Rebuild the index from the paid orders, then start ticking.
+     * Runs before the web server starts, so no order changes meanwhile.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        orderService.streamByStatus(OrderStatus.PAID, order -> watch(order.getOrderId(), order.getPaidAt()));
+        log.info("Shipment SLA index rebuilt: paidOrders={}, shipBy={}, took={}ms",
+                watched.size(), shipBy, (System.nanoTime() - start) / 1_000_000);
+        
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Track committed order events: paid starts the SLA, shipped or cancelled ends it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(DomainEvent event) {
+        if (event instanceof OrderPaidEvent paid) {
+            watch(paid.getOrderId(), paid.getPaidAt());
+        } else if (event instanceof OrderShippedEvent || event instanceof OrderCancelledEvent) {
+            unwatch(event.getAggregateId());
+        }
+    }
+    
+    private void watch(String orderId, Instant paidAt) {
+        Watch watch = new Watch(orderId, paidAt, paidAt.plus(shipBy));
+        Watch previous = watched.put(orderId, watch);
+        if (previous != null) {
+            previous.closed = true;
+            removed.add(previous);
+        }
+        added.add(watch);
+    }
+    
+    private void unwatch(String orderId) {
+        Watch watch = watched.remove(orderId);
+        if (watch != null) {
+            watch.closed = true;
+            removed.add(watch);
+        }
+    }
+    
+    /**
+     * One tick on the ticker thread: apply queued changes, then advance the
+     * wheel, moving due orders to AT_RISK or BREACHED.
+     */
+    void tick() {
+        try {
+            Watch watch;
+            while ((watch = added.poll()) != null) {
+                if (!watch.closed) {
+                    watch.timer = new TimingWheel.Timer<>(watch, watch.shipBy.minus(warning).toEpochMilli());
+                    wheel.add(watch.timer);
+                }
+            }
+            while ((watch = removed.poll()) != null) {
+                release(watch);
+            }
+            
+            List<Watch> breached = new ArrayList<>();
+            Instant now = clock.instant();
+            wheel.advanceTo(now.toEpochMilli(), timer -> advance(timer.payload(), breached));
+            if (!breached.isEmpty()) {
+                breachCounter.increment(breached.size());
+                log.warn("Shipment SLA breached: orders={}, atRisk={}, breached={}",
+                        breached.size(), atRiskCount, breachedCount);
+                for (Watch late : breached) {
+                    eventPublisher.publishEvent(new ShipmentSlaBreachedEvent(late.orderId, late.paidAt, late.shipBy, now));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception end the fixed-delay schedule
+            log.error("Shipment SLA tick failed", e);
+        }
+    }
+    
+    /**
+     * A watch's timer fired: ON_TRACK -> AT_RISK (timer re-armed for the
+     * deadline) -> BREACHED.
+     */
+    private void advance(Watch watch, List<Watch> breached) {
+        if (watch.closed) {
+            return;
+        }
+        if (watch.stage == Stage.ON_TRACK) {
+            watch.stage = Stage.AT_RISK;
+            atRiskCount++;
+            watch.timer = new TimingWheel.Timer<>(watch, watch.shipBy.toEpochMilli());
+            wheel.add(watch.timer);
+        } else if (watch.stage == Stage.AT_RISK) {
+            watch.stage = Stage.BREACHED;
+            atRiskCount--;
+            breachedCount++;
+            breached.add(watch);
+        }
+    }
+    
+    /**
+     * The order shipped or was cancelled: free its timer and take it out of the counts.
+     */
+    private void release(Watch watch) {
+        if (watch.timer == null) {
+            // Removed before it reached the wheel
+            return;
+        }
+        wheel.remove(watch.timer);
+        if (watch.stage == Stage.AT_RISK) {
+            atRiskCount--;
+        } else if (watch.stage == Stage.BREACHED) {
+            breachedCount--;
+        }
+    }
+    
+    private static ScheduledExecutorService newTicker() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ship-sla-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+    
+    /**
+     * One paid order in the index.
+     */
+    private static final class Watch {
+        
+        private final String orderId;
+        private final Instant paidAt;
+        private final Instant shipBy;
+        
+        /** Set by the listener that removes the order; the ticker skips closed watches */
+        private volatile boolean closed;
+        
+        // Owned by the ticker thread
+        private Stage stage = Stage.ON_TRACK;
+        private TimingWheel.Timer<Watch> timer;
+        
+        private Watch(String orderId, Instant paidAt, Instant shipBy) {
+            this.orderId = orderId;
+            this.paidAt = paidAt;
+            this.shipBy = shipBy;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.midlevel.orderfulfillment.application;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical Timing Wheel - Millions of timers with O(1) add and remove.
+ * 
+ * Why not a ScheduledExecutorService or a DelayQueue?
+ * - Both keep timers in a binary heap: O(log n) per add and cancel, and
+ *   every cancelled payment deadline would stay in the heap until it expires
+ * - A wheel is an array of buckets indexed by time: adding a timer links it
+ *   into one bucket, removing it unlinks it, and each tick only looks at
+ *   the timers that are actually due
+ * 
+ * How it works (same layout as Kafka's and Netty's wheels):
+ * - Level 0 has wheelSize buckets of one tick each
+ * - Level n has wheelSize buckets of wheelSize^n ticks each, so 4 levels of
+ *   512 buckets with a 1s tick cover over 2,000 years
+ * - A timer goes into the finest level whose span covers its deadline
+ * - When the clock reaches the start of a coarse bucket, its timers are
+ *   re-added ("cascaded") and fall into finer levels, until they expire
+ *   from level 0 within one tick of their deadline
+ * 
+ * Not thread-safe: add, remove and advanceTo must be called from one thread
+ * (see PaymentDeadlineScheduler, which funnels other threads' requests to
+ * its ticker thread through queues).
+ * 
+ * @param <T> what the timers carry (e.g., an order ID)
+ */
+public final class TimingWheel<T> {
+    
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Timer<T>[][] buckets;
+    private final ArrayDeque<Timer<T>> overdue = new ArrayDeque<>();
+    private long currentTick;
+    private int size;
+    
+    /**
+     * @param tickMillis resolution: timers fire up to one tick after their deadline
+     * @param wheelSize buckets per level, a power of two
+     * @param levels number of levels
+     * @param startMillis current time
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1ms: " + tickMillis);
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Unsupported number of levels: " + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.buckets = new Timer[levels][wheelSize];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+    
+    /**
+     * Add a timer. A deadline that has already passed fires on the next advance.
+     * Adding a cancelled timer (or one already in the wheel) does nothing.
+     */
+    public void add(Timer<T> timer) {
+        if (timer.cancelled || timer.linked) {
+            return;
+        }
+        size++;
+        insert(timer);
+    }
+    
+    /**
+     * Cancel a timer and free its bucket entry. Does nothing if it isn't in the wheel.
+     * (An overdue timer stays queued until the next advance, which skips it.)
+     */
+    public void remove(Timer<T> timer) {
+        timer.cancel();
+        if (!timer.linked || timer.level < 0) {
+            return;
+        }
+        size--;
+        unlink(timer);
+    }
+    
+    /**
+     * Move the clock forward, handing every timer whose deadline is at or
+     * before {@code nowMillis} to {@code onExpire} (cancelled ones are skipped).
+     */
+    public void advanceTo(long nowMillis, Consumer<Timer<T>> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        drainOverdue(onExpire);
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = buckets.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            expire(buckets[0], (int) (currentTick & mask), onExpire);
+            drainOverdue(onExpire);
+        }
+    }
+    
+    /**
+     * @return timers in the wheel (added, not yet fired or removed)
+     */
+    public int size() {
+        return size;
+    }
+    
+    private void insert(Timer<T> timer) {
+        long deadlineTick = Math.ceilDiv(timer.deadlineMillis, tickMillis);
+        long delta = deadlineTick - currentTick;
+        timer.linked = true;
+        if (delta <= 0) {
+            timer.level = -1;
+            overdue.add(timer);
+            return;
+        }
+        int level = 0;
+        while (level < buckets.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((deadlineTick >>> (bits * level)) & mask);
+        Timer<T> head = buckets[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[level][slot] = timer;
+    }
+    
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.linked = false;
+    }
+    
+    /**
+     * Re-add the timers of the level's current bucket; they land in finer levels.
+     */
+    private void cascade(int level) {
+        int slot = (int) ((currentTick >>> (bits * level)) & mask);
+        Timer<T> timer = buckets[level][slot];
+        buckets[level][slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            insert(timer);
+            timer = next;
+        }
+    }
+    
+    private void expire(Timer<T>[] level, int slot, Consumer<Timer<T>> onExpire) {
+        Timer<T> timer = level[slot];
+        level[slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            fire(timer, onExpire);
+            timer = next;
+        }
+    }
+    
+    private void drainOverdue(Consumer<Timer<T>> onExpire) {
+        Timer<T> timer;
+        while ((timer = overdue.poll()) != null) {
+            fire(timer, onExpire);
+        }
+    }
+    
+    private void fire(Timer<T> timer, Consumer<Timer<T>> onExpire) {
+        timer.linked = false;
+        size--;
+        if (!timer.cancelled) {
+            onExpire.accept(timer);
+        }
+    }
+    
+    /**
+     * One pending deadline.
+     * 
+     * Created on any thread; cancel() may be called from any thread, but only
+     * the wheel's thread links and unlinks it.
+     */
+    public static final class Timer<T> {
+        
+        private final T payload;
+        private final long deadlineMillis;
+        private volatile boolean cancelled;
+        
+        // Owned by the wheel's thread
+        private boolean linked;
+        private int level;
+        private int slot;
+        private Timer<T> prev;
+        private Timer<T> next;
+        
+        public Timer(T payload, long deadlineMillis) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+        
+        public T payload() {
+            return payload;
+        }
+        
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+        
+        /**
+         * Mark the timer as cancelled: it will not fire, even if it is already due.
+         * The wheel frees its slot on {@link TimingWheel#remove} or when it comes up.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
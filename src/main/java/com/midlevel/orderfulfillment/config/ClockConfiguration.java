@@ -0,0 +1,47 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.domain.model.CoarseClock;
+import com.midlevel.orderfulfillment.domain.model.DomainClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Time source for domain timestamps (createdAt, paidAt, ..., event occurredAt).
+ * 
+ * domain.clock.mode:
+ * - system (default): Clock.systemUTC(), full precision
+ * - coarse: CoarseClock refreshed every domain.clock.tick-ms by a ticker
+ *   thread; cheaper reads for high-throughput mode, millisecond-level precision
+ * 
+ * Like the id generator, the clock is also installed in DomainClock, where
+ * Order and DomainEvent pick it up. Tests and replays use Clock.fixed() or
+ * SteppingClock directly instead.
+ */
+@Configuration
+public class ClockConfiguration {
+    
+    private static final Logger log = LoggerFactory.getLogger(ClockConfiguration.class);
+    
+    /**
+     * CoarseClock is AutoCloseable, so Spring stops its ticker on shutdown.
+     */
+    @Bean
+    public Clock domainClock(
+            @Value("${domain.clock.mode:system}") String mode,
+            @Value("${domain.clock.tick-ms:1}") long tickMillis) {
+        Clock clock = switch (mode) {
+            case "system" -> Clock.systemUTC();
+            case "coarse" -> CoarseClock.start(tickMillis);
+            default -> throw new IllegalArgumentException(
+                    "Unknown domain clock mode '" + mode + "' (expected system or coarse)");
+        };
+        DomainClock.use(clock);
+        log.info("Domain clock initialized: {}", clock);
+        return clock;
+    }
+}
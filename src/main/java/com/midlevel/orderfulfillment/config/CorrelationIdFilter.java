@@ -1,5 +1,6 @@
 package com.midlevel.orderfulfillment.config;
 
+import com.midlevel.orderfulfillment.domain.model.IdGenerator;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,7 +9,6 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * Correlation ID Filter for Request Tracing (Day 10 - Observability)
@@ -18,11 +18,16 @@ import java.util.UUID;
  * 
  * Flow:
  * 1. Check if client sent X-Correlation-Id header
- * 2. If yes, use it; if no, generate new UUID
+ * 2. If yes, use it; if no, generate one with the IdGenerator (UUIDv7 by default,
+ *    so IDs in the logs sort by request start time)
  * 3. Add to MDC (Mapped Diagnostic Context) for logging
  * 4. Add to response header for client tracking
  * 5. Clean up MDC after request completes
  * 
+ * The MDC lives on the request thread (a platform or a virtual thread,
+ * depending on spring.threads.virtual.enabled). Retries get a copy
+ * through RetryScheduler, notifications through NotificationDispatcher.
+ * 
  * Benefits:
  * - Trace single request through all logs
  * - Debug production issues efficiently
@@ -36,6 +41,12 @@ public class CorrelationIdFilter implements Filter {
     private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     private static final String CORRELATION_ID_MDC_KEY = "correlationId";
 
+    private final IdGenerator idGenerator;
+    
+    public CorrelationIdFilter(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+    
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -47,7 +58,7 @@ public class CorrelationIdFilter implements Filter {
             // Get correlation ID from request header, or generate new one
             String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
             if (correlationId == null || correlationId.isBlank()) {
-                correlationId = UUID.randomUUID().toString();
+                correlationId = idGenerator.nextId();
             }
             
             // Add to MDC so it appears in all logs for this request
@@ -1,10 +1,24 @@
 package com.midlevel.orderfulfillment.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Map;
 
 /**
  * Kafka configuration for the Order Fulfillment System.
@@ -28,6 +42,9 @@ public class KafkaConfig {
     public static final String TOPIC_ORDER_CANCELLED = "order.cancelled";
     public static final String TOPIC_ORDER_EVENTS_DLQ = "order.events.dlq";
     
+    /** Listener container factory for whole-poll order event batches (see OrderEventBatchListener) */
+    public static final String ORDER_EVENT_BATCH_CONTAINER_FACTORY = "orderEventBatchContainerFactory";
+    
     /**
      * Create 'order.created' topic.
      * 
@@ -95,4 +112,49 @@ public class KafkaConfig {
                 .config("retention.ms", "604800000")  // 7 days retention
                 .build();
     }
+    
+    /**
+     * Batch listener containers for the order topics.
+     * 
+     * - The listener gets a whole poll (up to max-poll-records records)
+     * - Values are read as raw bytes (JSON or OrderEventCodec binary, see the
+     *   contentType header): OrderEventBatchListener decodes them itself so a
+     *   bad record can be dead-lettered instead of failing in the deserializer
+     * - MANUAL ack mode without acknowledging: the listener finishes records
+     *   after the poll returns, so it commits their offsets itself (through
+     *   the Consumer) once they are done
+     * - The listener is also the rebalance listener, so revoked partitions
+     *   are finished and committed before they move to another consumer
+     * - If the listener throws, the poll is re-delivered every second until
+     *   it goes through - records are never skipped
+     * - A ListenerContainerIdleEvent every events.consumer.idle-interval-ms
+     *   while no records arrive (also while the listener has paused its
+     *   partitions), so the listener can commit finished records and resume;
+     *   the poll timeout is capped to the same interval
+     * - One consumer per container: the workers provide the parallelism, and
+     *   the listener's backlog of not-yet-queued records is confined to the
+     *   consumer thread
+     */
+    @Bean(ORDER_EVENT_BATCH_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> orderEventBatchContainerFactory(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener,
+            @Value("${events.consumer.idle-interval-ms:1000}") long idleIntervalMs) {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(null);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setIdleEventInterval(idleIntervalMs);
+        factory.getContainerProperties().setPollTimeout(Math.min(idleIntervalMs, ContainerProperties.DEFAULT_POLL_TIMEOUT));
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1_000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        factory.setContainerCustomizer(container ->
+                rebalanceListener.ifUnique(container.getContainerProperties()::setConsumerRebalanceListener));
+        return factory;
+    }
 }
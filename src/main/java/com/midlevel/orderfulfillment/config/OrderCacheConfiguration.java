@@ -0,0 +1,30 @@
+package com.midlevel.orderfulfillment.config;
+
+import com.midlevel.orderfulfillment.adapter.out.cache.CachingOrderRepository;
+import com.midlevel.orderfulfillment.adapter.out.cache.OrderCache;
+import com.midlevel.orderfulfillment.adapter.out.persistence.OrderRepositoryAdapter;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts the order cache in front of the persistence adapter.
+ * 
+ * The caching decorator is the primary OrderRepository, so the application
+ * layer gets it without knowing about it. The plain adapter stays available
+ * by its own type (e.g., for tests that need to bypass the cache).
+ * 
+ * Disable with orders.cache.enabled=false (ORDER_CACHE_ENABLED).
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderCacheConfiguration {
+    
+    @Bean
+    @Primary
+    public OrderRepository cachingOrderRepository(OrderRepositoryAdapter orderRepositoryAdapter, OrderCache orderCache) {
+        return new CachingOrderRepository(orderRepositoryAdapter, orderCache);
+    }
+}
@@ -1,48 +1,51 @@
 package com.midlevel.orderfulfillment.config;
 
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
 
 /**
  * Retry configuration for handling transient failures.
  * 
  * <p><strong>Day 11: Error Handling & Resilience</strong></p>
  * 
- * <p>Spring Retry provides declarative retry support via @Retryable annotation.
- * Use cases:</p>
+ * <p>Retries used to be declarative (Spring Retry's @Retryable with
+ * exponential backoff). That backoff is a Thread.sleep on the calling thread,
+ * so during a database brownout every Tomcat thread ended up sleeping and the
+ * pool was exhausted within seconds. Retries are now done by
+ * {@link com.midlevel.orderfulfillment.application.RetryScheduler}:</p>
  * <ul>
- *   <li>Database connection failures (temporary network issues)</li>
- *   <li>External API timeouts (brief service unavailability)</li>
- *   <li>Optimistic locking conflicts (concurrent updates)</li>
+ *   <li>The next attempt is scheduled on a small dedicated pool, never slept for</li>
+ *   <li>Full-jitter exponential backoff, so failed requests don't retry in lockstep</li>
+ *   <li>A global retry budget caps retries at a fraction of live traffic</li>
+ *   <li>Per-operation metrics: retry.calls, retry.attempts, retry.budget.available</li>
  * </ul>
  * 
  * <p>Example usage in service layer:</p>
  * <pre>
  * {@code
- * @Retryable(
- *     value = {DataAccessException.class},
- *     maxAttempts = 3,
- *     backoff = @Backoff(delay = 1000, multiplier = 2.0)
- * )
- * public Order saveOrder(Order order) {
- *     return orderRepository.save(order);
+ * public CompletableFuture<Order> markOrderAsPaidAsync(String orderId) {
+ *     return retryScheduler.submit("order.pay",
+ *             () -> transactionTemplate.execute(status -> markOrderAsPaid(orderId)));
  * }
  * }
  * </pre>
  * 
+ * <p>Settings (application.yml, resilience.retry.*):</p>
+ * <ul>
+ *   <li>max-attempts, initial-backoff-ms, max-backoff-ms</li>
+ *   <li>budget.ratio (retries per first attempt), budget.max-balance (burst)</li>
+ *   <li>pool-size (threads running retries)</li>
+ * </ul>
+ * 
  * <p><strong>Best Practices:</strong></p>
  * <ul>
  *   <li>Only retry idempotent operations (safe to repeat)</li>
- *   <li>Use exponential backoff to avoid overwhelming the system</li>
+ *   <li>Each attempt must run in its own transaction</li>
  *   <li>Set reasonable max attempts (typically 3-5)</li>
- *   <li>Define specific exceptions to retry (not all exceptions)</li>
- *   <li>Add @Recover method for fallback behavior after all retries fail</li>
+ *   <li>Only retry transient failures (not constraint or business rule violations)</li>
  * </ul>
  */
 @Configuration
-@EnableRetry
 public class RetryConfiguration {
-    // @EnableRetry activates Spring Retry support
-    // No additional configuration needed for basic retry functionality
-    // Individual methods can be annotated with @Retryable as needed
+    // RetryScheduler is a @Component configured through resilience.retry.* properties
+    // No additional configuration needed here
 }
@@ -0,0 +1,15 @@
+package com.midlevel.orderfulfillment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g., the outbox relay).
+ * 
+ * Scheduled methods run on Spring's single-threaded scheduler by default,
+ * so a job never overlaps with itself on the same instance.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
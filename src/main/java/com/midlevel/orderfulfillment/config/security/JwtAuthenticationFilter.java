@@ -7,7 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,18 +14,16 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter - Processes JWT tokens from HTTP requests.
  * 
  * This filter intercepts every HTTP request and:
  * 1. Extracts JWT token from Authorization header
- * 2. Validates the token
- * 3. Loads user details from token
- * 4. Sets authentication in SecurityContext
+ * 2. Validates the token and loads user details from it
+ *    (one parse, see parseVerified; repeat tokens come from VerifiedTokenCache)
+ * 3. Sets authentication in SecurityContext
  * 
  * Filter Chain Position:
  * - Runs once per request (OncePerRequestFilter)
@@ -55,10 +52,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
     }
     
     /**
@@ -77,19 +74,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract JWT token from Authorization header
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                // Token is valid - extract user details
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                String rolesString = jwtTokenProvider.getRolesFromToken(jwt);
-                
-                // Convert role strings to GrantedAuthority objects
-                List<SimpleGrantedAuthority> authorities = Arrays.stream(rolesString.split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+            // Verify signature and extract user details (cached for repeat tokens)
+            Optional<JwtPrincipal> verified = StringUtils.hasText(jwt)
+                    ? verifiedTokenCache.get(jwt)
+                    : Optional.empty();
+            
+            if (verified.isPresent()) {
+                JwtPrincipal principal = verified.get();
                 
-                // Create authentication object
+                // Create authentication object (authorities already built from the roles claim)
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(
+                                principal.username(), null, principal.authorities());
                 
                 // Add request details (IP, session ID, etc.)
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -98,7 +94,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // This makes the user authenticated for this request
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 
-                log.debug("Authenticated user: {} with roles: {}", username, rolesString);
+                log.debug("Authenticated user: {} with roles: {}",
+                          principal.username(), principal.authorities());
             }
         } catch (Exception ex) {
             log.error("Failed to set user authentication in security context", ex);
@@ -0,0 +1,41 @@
+package com.midlevel.orderfulfillment.config.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JWT Principal - Everything the security layer needs from a verified token.
+ * 
+ * Produced by {@link JwtTokenProvider#parseVerified(String)} from a single
+ * parse + signature check, so callers never need to parse the same token twice.
+ * 
+ * Immutable:
+ * - Record components are final
+ * - Authorities are copied into an unmodifiable list
+ * 
+ * @param username the token subject
+ * @param authorities granted authorities built from the "roles" claim
+ * @param expiresAt the token's expiration ("exp" claim)
+ */
+public record JwtPrincipal(
+        String username,
+        List<SimpleGrantedAuthority> authorities,
+        Instant expiresAt
+) {
+    
+    public JwtPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+    
+    /**
+     * Checks whether the token has expired at the given instant.
+     * 
+     * @param now the current time
+     * @return true if the token is no longer valid
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,157 @@
+package com.midlevel.orderfulfillment.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified Token Cache - Remembers JWTs that have already passed signature verification.
+ * 
+ * Clients reuse the same token for its whole lifetime (24h by default), so most
+ * requests present a token we have already verified. This cache lets
+ * JwtAuthenticationFilter skip the parse + HMAC check for repeat tokens.
+ * 
+ * Design:
+ * - Key: SHA-256 of the token (raw bearer tokens are never kept in memory,
+ *   which matters because /actuator/heapdump is exposed)
+ * - Value: JwtPrincipal with pre-built authorities
+ * - Size-bounded (Caffeine, W-TinyLFU eviction)
+ * - Each entry expires exactly when its token's "exp" claim is reached,
+ *   measured on the injected Clock (the domain clock in the application)
+ * - Only successfully verified tokens are cached (garbage tokens can't flood it)
+ * 
+ * Security guarantee:
+ * - An expired token is never served, even if the entry is still physically
+ *   present (the expiry is re-checked on every hit)
+ * 
+ * Metrics (via Micrometer, tagged cache=jwt.verified-tokens):
+ * - cache.gets{result=hit|miss}, cache.evictions, cache.size
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(VerifiedTokenCache.class);
+    
+    static final String CACHE_NAME = "jwt.verified-tokens";
+    
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Clock clock;
+    private final Cache<String, JwtPrincipal> cache;
+    
+    public VerifiedTokenCache(
+            JwtTokenProvider jwtTokenProvider,
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${security.jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(clock))
+                .recordStats()
+                .build();
+        
+        // Export hit/miss/eviction metrics through the existing registry
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        
+        log.info("Verified token cache initialized with max size: {}", maxSize);
+    }
+    
+    /**
+     * Verify a token, using the cached result when this token was seen before.
+     * 
+     * @param token JWT token string
+     * @return the verified principal, or empty if the token is invalid or expired
+     */
+    public Optional<JwtPrincipal> get(String token) {
+        String key = hash(token);
+        
+        JwtPrincipal cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(clock.instant())) {
+                return Optional.of(cached);
+            }
+            // Expired but not yet evicted - drop it and let the provider reject the token
+            cache.invalidate(key);
+        }
+        
+        // The provider checks "exp" against the system time; hold it to our clock as well
+        Optional<JwtPrincipal> verified = jwtTokenProvider.parseVerified(token)
+                .filter(principal -> !principal.isExpiredAt(clock.instant()));
+        verified.ifPresent(principal -> cache.put(key, principal));
+        return verified;
+    }
+    
+    /**
+     * Remove all cached tokens (e.g., after rotating the signing key).
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    /**
+     * SHA-256 of the token, Base64-encoded.
+     * A cryptographic hash is required here: a weak hash (like String.hashCode)
+     * would let a crafted token collide with a verified one.
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+    
+    /**
+     * Expires each entry at its token's "exp" claim.
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+        
+        private final Clock clock;
+        
+        TokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+        
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            return nanosUntilExpiry(principal);
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return nanosUntilExpiry(principal);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;  // Reading a token doesn't extend its lifetime
+        }
+        
+        private long nanosUntilExpiry(JwtPrincipal principal) {
+            if (principal.expiresAt().equals(Instant.MAX)) {
+                return Long.MAX_VALUE;
+            }
+            long millis = principal.expiresAt().toEpochMilli() - clock.millis();
+            return Math.max(0L, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.midlevel.orderfulfillment.domain.event;
 
+import com.midlevel.orderfulfillment.domain.model.DomainClock;
+import com.midlevel.orderfulfillment.domain.model.IdGenerators;
+
 import java.time.Instant;
 
 /**
@@ -18,6 +21,10 @@ import java.time.Instant;
  * 4. Eventual Consistency: Allow async processing without blocking the main flow
  * 
  * DDD Pattern: Domain events are part of the Ubiquitous Language
+ * 
+ * Event IDs come from the domain's IdGenerator (UUIDv7 by default), so they
+ * sort in creation order - handy for outbox and audit tables. Timestamps come
+ * from the domain clock (DomainClock), or from the transition that raised the event.
  */
 public abstract class DomainEvent {
     
@@ -25,8 +32,25 @@ public abstract class DomainEvent {
     private final Instant occurredAt;
     
     protected DomainEvent() {
-        this.eventId = java.util.UUID.randomUUID().toString();
-        this.occurredAt = Instant.now();
+        this(DomainClock.now());
+    }
+    
+    /**
+     * @param occurredAt when the event happened (the aggregate's transition timestamp)
+     */
+    protected DomainEvent(Instant occurredAt) {
+        this(IdGenerators.current().nextId(), occurredAt);
+    }
+    
+    /**
+     * Rebuilds an event read back from the wire, keeping its original ID.
+     * 
+     * @param eventId the ID the event was raised with
+     * @param occurredAt when the event happened
+     */
+    protected DomainEvent(String eventId, Instant occurredAt) {
+        this.eventId = eventId;
+        this.occurredAt = occurredAt;
     }
     
     public String getEventId() {
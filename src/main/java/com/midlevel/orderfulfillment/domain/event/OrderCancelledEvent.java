@@ -1,5 +1,10 @@
 package com.midlevel.orderfulfillment.domain.event;
 
+import com.midlevel.orderfulfillment.domain.model.DomainClock;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.time.Instant;
+
 /**
  * Event published when an order is cancelled.
  * 
@@ -14,12 +19,35 @@ public class OrderCancelledEvent extends DomainEvent {
     private final String orderId;
     private final String customerId;
     private final String reason;
+    private final OrderStatus previousStatus;
     
     public OrderCancelledEvent(String orderId, String customerId, String reason) {
-        super();
+        this(orderId, customerId, reason, DomainClock.now());
+    }
+    
+    public OrderCancelledEvent(String orderId, String customerId, String reason, Instant cancelledAt) {
+        this(orderId, customerId, reason, null, cancelledAt);
+    }
+    
+    public OrderCancelledEvent(
+            String orderId, String customerId, String reason, OrderStatus previousStatus, Instant cancelledAt) {
+        super(cancelledAt);
         this.orderId = orderId;
         this.customerId = customerId;
         this.reason = reason;
+        this.previousStatus = previousStatus;
+    }
+    
+    /**
+     * Rebuilds an event read back from the wire (keeps its event ID).
+     */
+    public OrderCancelledEvent(String eventId, String orderId, String customerId, String reason,
+                               OrderStatus previousStatus, Instant cancelledAt) {
+        super(eventId, cancelledAt);
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.reason = reason;
+        this.previousStatus = previousStatus;
     }
     
     @Override
@@ -39,12 +67,22 @@ public class OrderCancelledEvent extends DomainEvent {
         return reason;
     }
     
+    /**
+     * Status the order was cancelled from (CREATED or PAID), so consumers
+     * can tell whether a refund is due without loading the order.
+     * Null for events raised before this field existed.
+     */
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
     @Override
     public String toString() {
         return "OrderCancelledEvent{" +
                 "orderId='" + orderId + '\'' +
                 ", customerId='" + customerId + '\'' +
                 ", reason='" + reason + '\'' +
+                ", previousStatus=" + previousStatus +
                 ", occurredAt=" + getOccurredAt() +
                 '}';
     }
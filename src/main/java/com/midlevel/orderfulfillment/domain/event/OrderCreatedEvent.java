@@ -1,7 +1,9 @@
 package com.midlevel.orderfulfillment.domain.event;
 
+import com.midlevel.orderfulfillment.domain.model.DomainClock;
 import com.midlevel.orderfulfillment.domain.model.Money;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -22,7 +24,23 @@ public class OrderCreatedEvent extends DomainEvent {
     private final int itemCount;
     
     public OrderCreatedEvent(String orderId, String customerId, Money totalAmount, int itemCount) {
-        super();
+        this(orderId, customerId, totalAmount, itemCount, DomainClock.now());
+    }
+    
+    public OrderCreatedEvent(String orderId, String customerId, Money totalAmount, int itemCount, Instant createdAt) {
+        super(createdAt);
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+    }
+    
+    /**
+     * Rebuilds an event read back from the wire (keeps its event ID).
+     */
+    public OrderCreatedEvent(
+            String eventId, String orderId, String customerId, Money totalAmount, int itemCount, Instant createdAt) {
+        super(eventId, createdAt);
         this.orderId = orderId;
         this.customerId = customerId;
         this.totalAmount = totalAmount;
@@ -21,7 +21,18 @@ public class OrderPaidEvent extends DomainEvent {
     private final Instant paidAt;
     
     public OrderPaidEvent(String orderId, String customerId, Money totalAmount, Instant paidAt) {
-        super();
+        super(paidAt);
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.totalAmount = totalAmount;
+        this.paidAt = paidAt;
+    }
+    
+    /**
+     * Rebuilds an event read back from the wire (keeps its event ID).
+     */
+    public OrderPaidEvent(String eventId, String orderId, String customerId, Money totalAmount, Instant paidAt) {
+        super(eventId, paidAt);
         this.orderId = orderId;
         this.customerId = customerId;
         this.totalAmount = totalAmount;
@@ -18,7 +18,17 @@ public class OrderShippedEvent extends DomainEvent {
     private final Instant shippedAt;
     
     public OrderShippedEvent(String orderId, String customerId, Instant shippedAt) {
-        super();
+        super(shippedAt);
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.shippedAt = shippedAt;
+    }
+    
+    /**
+     * Rebuilds an event read back from the wire (keeps its event ID).
+     */
+    public OrderShippedEvent(String eventId, String orderId, String customerId, Instant shippedAt) {
+        super(eventId, shippedAt);
         this.orderId = orderId;
         this.customerId = customerId;
         this.shippedAt = shippedAt;
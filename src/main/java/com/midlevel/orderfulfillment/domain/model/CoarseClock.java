@@ -0,0 +1,112 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock that returns a cached instant refreshed by a ticker thread.
+ * 
+ * Why: every Order transition and every domain event reads the time. With a
+ * system clock each read is a clock_gettime call plus a new Instant; here it is
+ * one volatile read of an Instant the ticker already built.
+ * 
+ * Trade-off: timestamps are only as precise as the tick (1ms by default), so
+ * two transitions within one tick get the same time. Fine for order timestamps
+ * (stored to the millisecond anyway), not for measuring durations.
+ * 
+ * The ticker is a daemon thread; close() stops it. Clocks returned by
+ * withZone() share the ticker of the clock they came from.
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+    
+    private final Ticker ticker;
+    private final ZoneId zone;
+    
+    private CoarseClock(Ticker ticker, ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = zone;
+    }
+    
+    /**
+     * Start a coarse UTC clock that refreshes from the system clock.
+     * 
+     * @param tickMillis refresh interval (the clock's resolution)
+     */
+    public static CoarseClock start(long tickMillis) {
+        return start(Clock.systemUTC(), tickMillis);
+    }
+    
+    static CoarseClock start(Clock source, long tickMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Coarse clock tick must be at least 1ms: " + tickMillis);
+        }
+        return new CoarseClock(new Ticker(source, tickMillis), ZoneOffset.UTC);
+    }
+    
+    @Override
+    public Instant instant() {
+        return ticker.current;
+    }
+    
+    @Override
+    public long millis() {
+        return ticker.current.toEpochMilli();
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new CoarseClock(ticker, zone);
+    }
+    
+    /**
+     * Refresh the cached time now (the ticker does this every tick).
+     */
+    void tick() {
+        ticker.tick();
+    }
+    
+    @Override
+    public void close() {
+        ticker.executor.shutdownNow();
+    }
+    
+    @Override
+    public String toString() {
+        return "CoarseClock[" + zone + ", tick=" + ticker.tickMillis + "ms]";
+    }
+    
+    private static final class Ticker {
+        
+        private final Clock source;
+        private final long tickMillis;
+        private final ScheduledExecutorService executor;
+        private volatile Instant current;
+        
+        Ticker(Clock source, long tickMillis) {
+            this.source = Objects.requireNonNull(source, "source");
+            this.tickMillis = tickMillis;
+            this.current = source.instant();
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "coarse-clock-ticker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        
+        void tick() {
+            current = source.instant();
+        }
+    }
+}
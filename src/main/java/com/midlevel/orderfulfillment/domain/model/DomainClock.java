@@ -0,0 +1,47 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Holds the time source used by the domain for createdAt, paidAt, shippedAt,
+ * cancelledAt and event timestamps.
+ * 
+ * Clocks in use:
+ * - Clock.systemUTC(): the default, same as Instant.now()
+ * - CoarseClock: cached time refreshed by a ticker thread (high-throughput mode)
+ * - Clock.fixed(...) / SteppingClock: deterministic time for tests, replays and benchmarks
+ * 
+ * Order.create() and the transition methods read it when no clock is passed
+ * in; the application replaces it at startup from domain.clock.mode
+ * (see ClockConfiguration).
+ */
+public final class DomainClock {
+    
+    private static volatile Clock current = Clock.systemUTC();
+    
+    private DomainClock() {
+    }
+    
+    /**
+     * @return the clock currently used by the domain
+     */
+    public static Clock current() {
+        return current;
+    }
+    
+    /**
+     * @return the current instant according to the domain clock
+     */
+    public static Instant now() {
+        return current.instant();
+    }
+    
+    /**
+     * Replace the clock used by the domain (application startup, tests).
+     */
+    public static void use(Clock clock) {
+        current = Objects.requireNonNull(clock, "clock");
+    }
+}
@@ -0,0 +1,20 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+/**
+ * Source of unique identifiers for aggregates and domain events.
+ * 
+ * Implementations:
+ * - UuidV7Generator: time-ordered UUIDv7 (default)
+ * - RandomUuidGenerator: random UUIDv4 (the previous behaviour)
+ * 
+ * The domain reads the active generator from IdGenerators, which the
+ * application configures once at startup (ids.generator).
+ */
+@FunctionalInterface
+public interface IdGenerator {
+    
+    /**
+     * @return a new identifier, unique across threads and instances
+     */
+    String nextId();
+}
@@ -0,0 +1,48 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Holds the identifier generator used by the domain.
+ * 
+ * Order.create() and DomainEvent read it when no generator is passed in.
+ * It defaults to UuidV7Generator, so plain unit tests and benchmarks need no
+ * setup; the application replaces it at startup from ids.generator
+ * (see IdGeneratorConfiguration).
+ */
+public final class IdGenerators {
+    
+    private static volatile IdGenerator current = new UuidV7Generator();
+    
+    private IdGenerators() {
+    }
+    
+    /**
+     * @return the generator currently used by the domain
+     */
+    public static IdGenerator current() {
+        return current;
+    }
+    
+    /**
+     * Replace the generator used by the domain (application startup, tests).
+     */
+    public static void use(IdGenerator generator) {
+        current = Objects.requireNonNull(generator, "generator");
+    }
+    
+    /**
+     * Resolve a generator by its configuration name.
+     * 
+     * @param name "uuid-v7" or "uuid-v4"
+     * @throws IllegalArgumentException for any other name
+     */
+    public static IdGenerator forName(String name) {
+        return switch (name) {
+            case "uuid-v7" -> new UuidV7Generator();
+            case "uuid-v4" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException(
+                    "Unknown id generator '" + name + "' (expected uuid-v7 or uuid-v4)");
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.midlevel.orderfulfillment.domain.model;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Currency;
 import java.util.Objects;
@@ -9,28 +10,70 @@ import java.util.Objects;
  * Money is a Value Object representing a monetary amount with currency.
  * 
  * DDD Value Object Properties:
- * - Immutable: All fields are final, no setters
+ * - Immutable: All state is final, no setters (the BigDecimal view is only a cache)
  * - Self-validating: Constructor validates invariants
  * - Equality by value: equals() compares values, not identity
+ * 
+ * Internal representation:
+ * - Compact form: the amount is held as a long count of minor units (e.g., cents)
+ *   at the currency's default scale. add() and multiply() use exact long arithmetic,
+ *   so summing a basket allocates nothing but the resulting Money objects.
+ * - Inflated form: the amount is held as a BigDecimal. Only used when the value
+ *   doesn't fit in a long, or an add/multiply overflows.
+ * 
+ * A value that fits in a long is always stored in compact form, so two equal
+ * amounts in the same currency always share the same representation.
+ * Callers never see the difference - getAmount() always returns a BigDecimal.
  */
 public final class Money {
     
+    // Amount in minor units at the currency's scale (only meaningful when compact)
+    private final long minorUnits;
+    
+    // True when minorUnits holds the amount; false when only the BigDecimal does
+    private final boolean compact;
+    
+    // BigDecimal amount for the inflated form (null when compact)
     // BigDecimal is used for precise decimal arithmetic (avoiding floating-point errors)
-    private final BigDecimal amount;
+    private final BigDecimal inflated;
+    
+    // Lazily built BigDecimal view of a compact amount (see amount())
+    private BigDecimal amountView;
     
     // Currency ensures we handle different currencies correctly
     private final Currency currency;
     
+    // Cached currency.getDefaultFractionDigits() (e.g., 2 for USD)
+    private final int scale;
+    
     /**
-     * Private constructor to enforce factory method usage.
-     * This allows us to control object creation and validation in one place.
+     * Private constructor for the compact (long minor units) form.
      * 
-     * @param amount the monetary amount
-     * @param currency the currency code
+     * @param minorUnits the amount in minor units
+     * @param currency the currency
+     * @param scale the currency's default fraction digits
+     */
+    private Money(long minorUnits, Currency currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.compact = true;
+        this.inflated = null;
+        this.currency = currency;
+        this.scale = scale;
+    }
+    
+    /**
+     * Private constructor for the inflated (BigDecimal) form.
+     * 
+     * @param amount the monetary amount, already scaled
+     * @param currency the currency
+     * @param scale the currency's default fraction digits
      */
-    private Money(BigDecimal amount, Currency currency) {
-        this.amount = amount;
+    private Money(BigDecimal amount, Currency currency, int scale) {
+        this.minorUnits = 0L;
+        this.compact = false;
+        this.inflated = amount;
         this.currency = currency;
+        this.scale = scale;
     }
     
     /**
@@ -58,15 +101,16 @@ public final class Money {
         
         // Validate currency code (Currency.getInstance throws if invalid)
         Currency currency = Currency.getInstance(currencyCode);
+        int scale = currency.getDefaultFractionDigits();
         
         // Scale the amount to the currency's standard decimal places (e.g., 2 for USD)
         BigDecimal scaledAmount = amount.setScale(
-            currency.getDefaultFractionDigits(),  // Number of decimal places for this currency
-            RoundingMode.HALF_UP                   // Round .5 up (standard rounding)
+            scale,                 // Number of decimal places for this currency
+            RoundingMode.HALF_UP   // Round .5 up (standard rounding)
         );
         
-        // Return the new Money instance
-        return new Money(scaledAmount, currency);
+        // Return the new Money instance (compact when the amount fits in a long)
+        return fromScaled(scaledAmount, currency, scale);
     }
     
     /**
@@ -92,6 +136,42 @@ public final class Money {
         return of(BigDecimal.valueOf(amount), currencyCode);
     }
     
+    /**
+     * Factory method for an amount given in minor units (e.g., cents for USD),
+     * as read back from compact encodings.
+     * 
+     * @param minorUnits the amount in minor units at the currency's default scale
+     * @param currencyCode the ISO 4217 currency code
+     * @return a new Money instance
+     * @throws IllegalArgumentException if the amount is negative, or the currency
+     *         is invalid or has no minor unit (e.g., XXX)
+     */
+    public static Money ofMinor(long minorUnits, String currencyCode) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + minorUnits);
+        }
+        Currency currency = Currency.getInstance(currencyCode);
+        int scale = currency.getDefaultFractionDigits();
+        if (scale < 0) {
+            throw new IllegalArgumentException("Currency has no minor unit: " + currencyCode);
+        }
+        return new Money(minorUnits, currency, scale);
+    }
+    
+    /**
+     * Picks the representation for an amount already at the currency's scale.
+     * Currencies without a default scale (e.g., XXX) always stay inflated.
+     */
+    private static Money fromScaled(BigDecimal scaledAmount, Currency currency, int scale) {
+        if (scale >= 0) {
+            BigInteger unscaled = scaledAmount.unscaledValue();
+            if (unscaled.bitLength() < Long.SIZE) {
+                return new Money(unscaled.longValue(), currency, scale);
+            }
+        }
+        return new Money(scaledAmount, currency, scale);
+    }
+    
     /**
      * Adds another Money instance to this one.
      * Value objects are immutable, so this returns a new instance.
@@ -108,8 +188,17 @@ public final class Money {
             );
         }
         
-        // Add amounts and return new Money instance (immutability)
-        return new Money(this.amount.add(other.amount), this.currency);
+        // Fast path: exact long addition, no BigDecimal involved
+        if (this.compact && other.compact) {
+            try {
+                return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currency, this.scale);
+            } catch (ArithmeticException overflow) {
+                // Sum doesn't fit in a long - fall through to BigDecimal
+            }
+        }
+        
+        // Slow path (inflated operand or long overflow)
+        return fromScaled(this.amount().add(other.amount()), this.currency, this.scale);
     }
     
     /**
@@ -120,13 +209,23 @@ public final class Money {
      * @return a new Money instance with the product
      */
     public Money multiply(int multiplier) {
-        // Convert int to BigDecimal and multiply
-        BigDecimal result = this.amount.multiply(BigDecimal.valueOf(multiplier));
+        // Fast path: exact long multiplication (an int factor never changes the scale)
+        if (compact) {
+            try {
+                return new Money(Math.multiplyExact(minorUnits, multiplier), this.currency, this.scale);
+            } catch (ArithmeticException overflow) {
+                // Product doesn't fit in a long - fall through to BigDecimal
+            }
+        }
+        
+        // Slow path: convert int to BigDecimal and multiply
+        BigDecimal result = this.amount().multiply(BigDecimal.valueOf(multiplier));
         
         // Return new Money instance with proper scaling
-        return new Money(
-            result.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP),
-            this.currency
+        return fromScaled(
+            result.setScale(scale, RoundingMode.HALF_UP),
+            this.currency,
+            this.scale
         );
     }
     
@@ -143,8 +242,13 @@ public final class Money {
             throw new IllegalArgumentException("Cannot compare different currencies");
         }
         
+        // Same currency means same scale, so minor units compare directly
+        if (this.compact && other.compact) {
+            return this.minorUnits > other.minorUnits;
+        }
+        
         // Compare amounts (returns > 0 if this > other)
-        return this.amount.compareTo(other.amount) > 0;
+        return this.amount().compareTo(other.amount()) > 0;
     }
     
     /**
@@ -153,22 +257,53 @@ public final class Money {
      * @return true if amount is zero
      */
     public boolean isZero() {
+        if (compact) {
+            return minorUnits == 0L;
+        }
         // Compare with ZERO (returns 0 if equal)
-        return this.amount.compareTo(BigDecimal.ZERO) == 0;
+        return this.inflated.compareTo(BigDecimal.ZERO) == 0;
     }
     
     // Getters (no setters - immutability)
     
     public BigDecimal getAmount() {
-        return amount;
+        return amount();
     }
     
     /**
      * Record-style accessor for amount.
+     * 
+     * For compact values the BigDecimal is built on first use and cached.
+     * The race on the cache is benign: every thread computes the same
+     * immutable BigDecimal (same idea as String.hashCode()).
+     * 
      * @return the monetary amount
      */
     public BigDecimal amount() {
-        return amount;
+        if (!compact) {
+            return inflated;
+        }
+        BigDecimal result = amountView;
+        if (result == null) {
+            result = BigDecimal.valueOf(minorUnits, scale);
+            amountView = result;
+        }
+        return result;
+    }
+    
+    /**
+     * The amount in minor units at the currency's scale (e.g., 1999 for 19.99 USD).
+     * Not a bean getter on purpose: the JSON shape of Money stays amount + currency.
+     * 
+     * @return the amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a long
+     *         (or the currency has no minor unit)
+     */
+    public long toMinorUnits() {
+        if (!compact) {
+            throw new ArithmeticException("Amount does not fit in minor units: " + inflated + " " + currency);
+        }
+        return minorUnits;
     }
     
     public Currency getCurrency() {
@@ -206,10 +341,18 @@ public final class Money {
         // Cast and compare field values
         Money money = (Money) o;
         
+        if (!Objects.equals(currency, money.currency)) {
+            return false;
+        }
+        
+        // Same currency means same scale, so minor units compare directly
+        if (compact && money.compact) {
+            return minorUnits == money.minorUnits;
+        }
+        
         // Compare amount (compareTo returns 0 if equal)
         // We use compareTo instead of equals to handle scale differences (2.00 vs 2.0)
-        return amount.compareTo(money.amount) == 0 && 
-               Objects.equals(currency, money.currency);
+        return amount().compareTo(money.amount()) == 0;
     }
     
     /**
@@ -220,7 +363,7 @@ public final class Money {
     public int hashCode() {
         // Use Objects.hash for consistent hashing
         // Note: We use stripTrailingZeros() for amount to handle scale differences
-        return Objects.hash(amount.stripTrailingZeros(), currency);
+        return Objects.hash(amount().stripTrailingZeros(), currency);
     }
     
     /**
@@ -229,6 +372,6 @@ public final class Money {
      */
     @Override
     public String toString() {
-        return amount.toPlainString() + " " + currency.getCurrencyCode();
+        return amount().toPlainString() + " " + currency.getCurrencyCode();
     }
 }
@@ -6,12 +6,12 @@ import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
 import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
 import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Order is the main Aggregate Root in our domain.
@@ -52,6 +52,9 @@ public class Order {
     // Shipping address (immutable - set at creation)
     private final Address shippingAddress;
     
+    // Sum of all line totals (immutable - items cannot change after creation)
+    private final Money totalAmount;
+    
     // Current status of the order (mutable - changes through state transitions)
     private OrderStatus status;
     
@@ -64,6 +67,14 @@ public class Order {
     // When the order was cancelled (null unless cancelled)
     private Instant cancelledAt;
     
+    // Incremented by every state change (0 at creation). Lets clients detect
+    // changes cheaply (ETags) and lets the repository detect concurrent updates.
+    private long version;
+    
+    // State changes not yet written to the database (creation counts as one).
+    // Orders loaded from the database start at 0.
+    private int unsavedChanges;
+    
     // Domain events that occurred during this request
     // These will be published after the transaction commits
     // Added in Day 4 (Actually Day 7: Domain Events in mentor program)
@@ -73,15 +84,17 @@ public class Order {
      * Private constructor to enforce factory method pattern.
      * This ensures all Order instances go through proper validation.
      */
-    private Order(String orderId, String customerId, List<OrderItem> items, Address shippingAddress) {
+    private Order(String orderId, String customerId, List<OrderItem> items, Address shippingAddress, Instant createdAt) {
         this.orderId = orderId;
         this.customerId = customerId;
         this.items = new ArrayList<>(items);  // Defensive copy to prevent external modification
         this.shippingAddress = shippingAddress;
+        this.totalAmount = sumLineTotals(this.items);  // Computed once - items are immutable
         this.status = OrderStatus.CREATED;     // New orders always start in CREATED state
-        this.createdAt = Instant.now();        // Capture creation timestamp
+        this.createdAt = createdAt;            // Creation timestamp from the domain clock
         this.paidAt = null;                     // Not paid yet
         this.shippedAt = null;                  // Not shipped yet
+        this.version = 0;                       // First version
     }
     
     /**
@@ -95,8 +108,40 @@ public class Order {
      * @throws IllegalArgumentException if validation fails
      */
     public static Order create(String customerId, List<OrderItem> items, Address shippingAddress) {
-        // Generate a unique order ID using UUID
-        String orderId = UUID.randomUUID().toString();
+        return create(IdGenerators.current(), DomainClock.current(), customerId, items, shippingAddress);
+    }
+    
+    /**
+     * Factory method to create a new Order with an explicit id generator
+     * (tests and benchmarks comparing generators).
+     * 
+     * @param idGenerator source of the order ID
+     * @param customerId the customer placing the order
+     * @param items the items being ordered
+     * @param shippingAddress where to ship the order
+     * @return a new Order in CREATED status
+     * @throws IllegalArgumentException if validation fails
+     */
+    public static Order create(IdGenerator idGenerator, String customerId, List<OrderItem> items, Address shippingAddress) {
+        return create(idGenerator, DomainClock.current(), customerId, items, shippingAddress);
+    }
+    
+    /**
+     * Factory method to create a new Order with an explicit id generator and clock
+     * (replays and deterministic tests/benchmarks).
+     * 
+     * @param idGenerator source of the order ID
+     * @param clock source of createdAt
+     * @param customerId the customer placing the order
+     * @param items the items being ordered
+     * @param shippingAddress where to ship the order
+     * @return a new Order in CREATED status
+     * @throws IllegalArgumentException if validation fails
+     */
+    public static Order create(
+            IdGenerator idGenerator, Clock clock, String customerId, List<OrderItem> items, Address shippingAddress) {
+        // Generate a unique, time-ordered order ID (UUIDv7 by default)
+        String orderId = idGenerator.nextId();
         
         // Validate customer ID
         if (customerId == null || customerId.trim().isEmpty()) {
@@ -107,6 +152,9 @@ public class Order {
         if (items == null || items.isEmpty()) {
             throw new IllegalArgumentException("Order must have at least one item");
         }
+        if (items.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Order items cannot contain null");
+        }
         
         // Validate shipping address
         if (shippingAddress == null) {
@@ -114,7 +162,8 @@ public class Order {
         }
         
         // Create the order instance
-        Order order = new Order(orderId, customerId, items, shippingAddress);
+        Order order = new Order(orderId, customerId, items, shippingAddress, clock.instant());
+        order.unsavedChanges = 1;  // Not stored yet
         
         // Validate the total is greater than zero (Business Rule #2)
         if (order.calculateTotal().isZero()) {
@@ -125,8 +174,9 @@ public class Order {
         order.registerEvent(new OrderCreatedEvent(
                 order.orderId,
                 order.customerId,
-                order.calculateTotal(),
-                order.items.size()
+                order.totalAmount,
+                order.items.size(),
+                order.createdAt
         ));
         
         // Return the validated order
@@ -134,12 +184,24 @@ public class Order {
     }
     
     /**
-     * Calculates the total amount for this order.
-     * This is a derived value computed by summing all line item totals.
+     * Returns the total amount for this order.
+     * 
+     * The total is a derived value (sum of all line item totals), but items can't
+     * change after Order.create(), so it is computed once in the constructor.
+     * This method is called from getTotalAmount(), toString(), every domain event
+     * and the DTO mapper - recomputing it each time allocated a new Money per line.
      * 
      * @return the total order amount
      */
     public Money calculateTotal() {
+        return totalAmount;
+    }
+    
+    /**
+     * Sums the line totals of the given items.
+     * Callers must ensure the list is non-empty (Business Rule #1).
+     */
+    private static Money sumLineTotals(List<OrderItem> items) {
         // Start with the first item's total
         Money total = items.get(0).calculateLineTotal();
         
@@ -156,7 +218,7 @@ public class Order {
      * @return the total order amount
      */
     public Money getTotalAmount() {
-        return calculateTotal();
+        return totalAmount;
     }
     
     /**
@@ -182,6 +244,14 @@ public class Order {
      * @throws IllegalStateException if order cannot be paid from current status
      */
     public void pay() {
+        pay(DomainClock.current());
+    }
+    
+    /**
+     * Same as {@link #pay()}, with the timestamp taken from the given clock
+     * (replays and deterministic tests/benchmarks).
+     */
+    public void pay(Clock clock) {
         // Idempotent check: If already paid, do nothing (Business Rule #6)
         if (this.status == OrderStatus.PAID) {
             // Already paid - this is a duplicate payment request
@@ -201,13 +271,15 @@ public class Order {
         this.status = OrderStatus.PAID;
         
         // Record payment timestamp
-        this.paidAt = Instant.now();
+        this.paidAt = clock.instant();
+        this.version++;
+        this.unsavedChanges++;
         
         // Raise domain event: Order was paid
         registerEvent(new OrderPaidEvent(
                 this.orderId,
                 this.customerId,
-                this.calculateTotal(),
+                this.totalAmount,
                 this.paidAt
         ));
     }
@@ -222,6 +294,14 @@ public class Order {
      * @throws IllegalStateException if order cannot be shipped from current status
      */
     public void ship() {
+        ship(DomainClock.current());
+    }
+    
+    /**
+     * Same as {@link #ship()}, with the timestamp taken from the given clock
+     * (replays and deterministic tests/benchmarks).
+     */
+    public void ship(Clock clock) {
         // Validate current status allows shipping (Business Rule #4)
         if (this.status != OrderStatus.PAID) {
             throw new IllegalStateException(
@@ -239,7 +319,9 @@ public class Order {
         
         // Transition to SHIPPED status
         this.status = OrderStatus.SHIPPED;
-        this.shippedAt = Instant.now();
+        this.shippedAt = clock.instant();
+        this.version++;
+        this.unsavedChanges++;
         
         // Raise domain event: Order was shipped
         registerEvent(new OrderShippedEvent(
@@ -264,6 +346,29 @@ public class Order {
      * @throws IllegalStateException if order cannot be cancelled from current status
      */
     public void cancel() {
+        cancel(DomainClock.current());
+    }
+    
+    /**
+     * Same as {@link #cancel()}, with the timestamp taken from the given clock
+     * (replays and deterministic tests/benchmarks).
+     */
+    public void cancel(Clock clock) {
+        cancel(clock, "User requested cancellation");
+    }
+    
+    /**
+     * Same as {@link #cancel()}, recording why the order was cancelled
+     * (e.g., the payment deadline passed) in the OrderCancelledEvent.
+     */
+    public void cancel(String reason) {
+        cancel(DomainClock.current(), reason);
+    }
+    
+    /**
+     * Cancels the order with the given timestamp source and reason.
+     */
+    public void cancel(Clock clock, String reason) {
         // Check if we're in a terminal state (Business Rule #5)
         if (this.status == OrderStatus.SHIPPED) {
             throw new IllegalStateException(
@@ -285,14 +390,19 @@ public class Order {
         }
         
         // Transition to CANCELLED status
+        OrderStatus previousStatus = this.status;
         this.status = OrderStatus.CANCELLED;
-        this.cancelledAt = Instant.now();
+        this.cancelledAt = clock.instant();
+        this.version++;
+        this.unsavedChanges++;
         
         // Raise domain event: Order was cancelled
         registerEvent(new OrderCancelledEvent(
                 this.orderId,
                 this.customerId,
-                "User requested cancellation"
+                reason,
+                previousStatus,
+                this.cancelledAt
         ));
         
         // In a real system, we would:
@@ -335,6 +445,29 @@ public class Order {
         return status;
     }
     
+    /**
+     * Version of the order's state: 0 when created, +1 per state change.
+     * Idempotent no-op transitions (paying a paid order) don't change it.
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Version the database holds for this order, i.e. the version a save must
+     * find to succeed (compare-and-set). -1 for an order that was never saved.
+     */
+    public long getPersistedVersion() {
+        return version - unsavedChanges;
+    }
+    
+    /**
+     * Called by the repository once the current version has been written.
+     */
+    public void markPersisted() {
+        this.unsavedChanges = 0;
+    }
+    
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -347,6 +480,10 @@ public class Order {
         return shippedAt;
     }
     
+    public Instant getCancelledAt() {
+        return cancelledAt;
+    }
+    
     /**
      * Returns an immutable view of the order items.
      * This prevents external code from modifying the internal list.
@@ -396,7 +533,7 @@ public class Order {
                 ", customerId='" + customerId + '\'' +
                 ", status=" + status +
                 ", itemCount=" + items.size() +
-                ", total=" + calculateTotal() +
+                ", total=" + totalAmount +
                 ", createdAt=" + createdAt +
                 '}';
     }
@@ -22,6 +22,9 @@ public final class OrderItem {
     // The quantity ordered (must be positive)
     private final int quantity;
     
+    // unitPrice * quantity, computed once because all inputs are immutable
+    private final Money lineTotal;
+    
     /**
      * Private constructor to enforce factory method pattern.
      * 
@@ -35,6 +38,7 @@ public final class OrderItem {
         this.productName = productName;
         this.unitPrice = unitPrice;
         this.quantity = quantity;
+        this.lineTotal = unitPrice.multiply(quantity);  // Memoized - see calculateLineTotal()
     }
     
     /**
@@ -94,14 +98,14 @@ public final class OrderItem {
      * Calculates the total price for this line item.
      * Formula: unitPrice * quantity
      * 
-     * This is a derived value (computed from other fields) rather than stored state.
-     * This follows the principle: "Don't store what you can compute."
+     * This is a derived value, but since OrderItem is immutable it is computed once
+     * in the constructor and reused. The total is read by Order, domain events,
+     * the DTO mapper and toString(), so recomputing it each time only produced garbage.
      * 
      * @return the total price for this line item
      */
     public Money calculateLineTotal() {
-        // Delegate to Money's multiply method
-        return unitPrice.multiply(quantity);
+        return lineTotal;
     }
     
     /**
@@ -0,0 +1,21 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDv4 identifiers - what Order and DomainEvent used before UUIDv7.
+ * 
+ * Kept as a fallback (ids.generator=uuid-v4) and as the baseline in benchmarks.
+ * 
+ * Downsides at volume:
+ * - Random keys land on random B-tree pages, so every insert touches a cold
+ *   page and page splits leave the primary key index half empty
+ * - UUID.randomUUID() draws from one shared SecureRandom
+ */
+public final class RandomUuidGenerator implements IdGenerator {
+    
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
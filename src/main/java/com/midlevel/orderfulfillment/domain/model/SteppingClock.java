@@ -0,0 +1,61 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic clock that moves forward by a fixed step on every read.
+ * 
+ * Use it where Clock.fixed() is not enough because the order of timestamps
+ * matters (createdAt before paidAt before shippedAt): tests, event replays
+ * and benchmarks that must produce the same output on every run.
+ * 
+ * The n-th read (from 0) returns start + n * step. Thread-safe.
+ */
+public final class SteppingClock extends Clock {
+    
+    private final Instant start;
+    private final long stepNanos;
+    private final AtomicLong reads;
+    private final ZoneId zone;
+    
+    public SteppingClock(Instant start, Duration step) {
+        this(start, step.toNanos(), new AtomicLong(), ZoneOffset.UTC);
+        if (step.isNegative()) {
+            throw new IllegalArgumentException("Step must not be negative: " + step);
+        }
+    }
+    
+    private SteppingClock(Instant start, long stepNanos, AtomicLong reads, ZoneId zone) {
+        this.start = Objects.requireNonNull(start, "start");
+        this.stepNanos = stepNanos;
+        this.reads = reads;
+        this.zone = zone;
+    }
+    
+    @Override
+    public Instant instant() {
+        return start.plusNanos(reads.getAndIncrement() * stepNanos);
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        // Same read counter: the zone only changes how the instant is presented
+        return zone.equals(this.zone) ? this : new SteppingClock(start, stepNanos, reads, zone);
+    }
+    
+    @Override
+    public String toString() {
+        return "SteppingClock[" + start + ", step=" + Duration.ofNanos(stepNanos) + "]";
+    }
+}
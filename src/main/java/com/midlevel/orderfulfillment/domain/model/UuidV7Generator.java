@@ -0,0 +1,78 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDv7 identifiers (RFC 9562).
+ * 
+ * Layout (128 bits):
+ * - 48 bits: Unix time in milliseconds
+ * - 4 bits: version (7)
+ * - 12 bits: per-thread sequence within the millisecond
+ * - 2 bits: variant (10)
+ * - 62 bits: random
+ * 
+ * Why v7 instead of v4:
+ * - Ids created close together sort close together, so primary key inserts
+ *   go to the right-most B-tree page (hot in cache, no random page splits)
+ * - Still a standard UUID: same 36-character string, same column types
+ * 
+ * Lock-free: each thread keeps its own last timestamp and sequence, and the
+ * random bits come from ThreadLocalRandom, so there is no shared SecureRandom
+ * and no CAS loop. Ids from one thread are strictly increasing; ids from
+ * different threads in the same millisecond are told apart by the 62 random bits.
+ * 
+ * If a thread creates more than 4096 ids in one millisecond, or the wall clock
+ * steps back, the timestamp is carried forward from the last id instead of
+ * going backwards.
+ * 
+ * Note: a v7 id reveals when it was created. Order ids were never secrets
+ * (access is checked by the API), but don't use this for tokens.
+ */
+public final class UuidV7Generator implements IdGenerator {
+    
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long SEQUENCE_MAX = 0xFFFL;
+    // New milliseconds start the sequence at a random point in the lower half,
+    // leaving at least 2048 increments before the timestamp has to be carried
+    private static final int SEQUENCE_SEED_BOUND = 0x800;
+    
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    
+    @Override
+    public String nextId() {
+        return nextUuid().toString();
+    }
+    
+    /**
+     * @return the next UUIDv7 for the current thread
+     */
+    public UUID nextUuid() {
+        return next(System.currentTimeMillis());
+    }
+    
+    UUID next(long nowMillis) {
+        State state = STATE.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        if (nowMillis > state.lastMillis) {
+            state.lastMillis = nowMillis;
+            state.sequence = random.nextInt(SEQUENCE_SEED_BOUND);
+        } else if (++state.sequence > SEQUENCE_MAX) {
+            // Sequence exhausted for this millisecond: borrow the next one
+            state.lastMillis++;
+            state.sequence = 0;
+        }
+        
+        long msb = (state.lastMillis << 16) | VERSION | state.sequence;
+        long lsb = VARIANT | (random.nextLong() >>> 2);
+        return new UUID(msb, lsb);
+    }
+    
+    private static final class State {
+        long lastMillis = -1;
+        long sequence;
+    }
+}
@@ -0,0 +1,45 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Filter for a customer's order history.
+ * 
+ * Only customerId is required; every other criterion is optional (null = no filter).
+ * The date range is half-open, [createdFrom, createdTo), so consecutive ranges
+ * never count the same order twice.
+ * 
+ * Adapters should serve this from an index on (customer_id, created_at):
+ * the customer equality and the date range are both index bounds, and the
+ * status filter is applied to the (already narrow) index range.
+ * 
+ * @param customerId the customer whose orders to return
+ * @param status only orders currently in this status, or null for all
+ * @param createdFrom only orders created at or after this instant, or null
+ * @param createdTo only orders created before this instant, or null
+ */
+public record CustomerOrderQuery(
+        String customerId,
+        OrderStatus status,
+        Instant createdFrom,
+        Instant createdTo
+) {
+    
+    public CustomerOrderQuery {
+        if (customerId == null || customerId.isBlank()) {
+            throw new IllegalArgumentException("Customer ID cannot be empty");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+    }
+    
+    /**
+     * Query for all of a customer's orders, without filters.
+     */
+    public static CustomerOrderQuery forCustomer(String customerId) {
+        return new CustomerOrderQuery(customerId, null, null, null);
+    }
+}
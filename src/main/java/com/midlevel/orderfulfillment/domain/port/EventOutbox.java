@@ -0,0 +1,31 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+
+import java.util.Collection;
+
+/**
+ * Port for the transactional outbox (Hexagonal Architecture).
+ * 
+ * Why an outbox?
+ * - Writing the order and sending to Kafka are two separate systems; doing
+ *   both inside a request either loses events (broker down after commit) or
+ *   publishes events for orders that were rolled back
+ * - Instead, events are stored in the same database transaction as the order
+ *   and a background relay ships them to the broker afterwards
+ * 
+ * Guarantees:
+ * - An event is stored if and only if the order change commits
+ * - At-least-once delivery: consumers must de-duplicate on eventId
+ * - Request latency no longer includes a broker round-trip
+ */
+public interface EventOutbox {
+    
+    /**
+     * Stores events for later delivery.
+     * Must be called inside the transaction that persists the aggregate.
+     * 
+     * @param events events to deliver, in the order they occurred
+     */
+    void append(Collection<? extends DomainEvent> events);
+}
@@ -45,4 +45,18 @@ public interface NotificationPort {
      * @param order the order that was cancelled
      */
     void sendOrderCancelledNotification(Order order);
+    
+    /**
+     * Send one "order confirmed" notification for an order that was created and
+     * paid in quick succession (the dispatcher coalesces the two).
+     * 
+     * <p>The default sends the created and paid notifications back to back;
+     * adapters should override it with a single combined message.</p>
+     * 
+     * @param order the order that was created and paid
+     */
+    default void sendOrderConfirmedNotification(Order order) {
+        sendOrderCreatedNotification(order);
+        sendOrderPaidNotification(order);
+    }
 }
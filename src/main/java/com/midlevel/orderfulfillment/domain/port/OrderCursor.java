@@ -0,0 +1,75 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import com.midlevel.orderfulfillment.domain.model.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset cursor over the (createdAt, orderId) ordering of orders.
+ *
+ * Why keyset instead of OFFSET?
+ * - OFFSET n makes the database read and discard n rows, so deep pages get slower
+ * - A keyset predicate "(created_at, order_id) > (:createdAt, :orderId)"
+ *   is an index seek, so every page costs the same
+ * - Rows inserted while a client is paging don't shift later pages
+ *
+ * orderId breaks ties between orders created in the same instant, which
+ * makes the ordering total and the cursor stable.
+ *
+ * Clients only ever see the encoded form (URL-safe Base64), so the
+ * ordering key can change later without breaking the API contract.
+ *
+ * @param createdAt creation time of the last order on the previous page
+ * @param orderId ID of the last order on the previous page
+ */
+public record OrderCursor(Instant createdAt, String orderId) {
+
+    private static final char SEPARATOR = '|';
+
+    public OrderCursor {
+        Objects.requireNonNull(createdAt, "createdAt cannot be null");
+        Objects.requireNonNull(orderId, "orderId cannot be null");
+    }
+
+    /**
+     * Cursor positioned directly after the given order.
+     */
+    public static OrderCursor after(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getOrderId());
+    }
+
+    /**
+     * Encodes this cursor into an opaque token for API clients.
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token opaque cursor token
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new OrderCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
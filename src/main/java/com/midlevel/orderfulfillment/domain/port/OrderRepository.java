@@ -2,8 +2,11 @@ package com.midlevel.orderfulfillment.domain.port;
 
 import com.midlevel.orderfulfillment.domain.model.Order;
 import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Port interface for Order persistence (Hexagonal Architecture).
@@ -25,11 +28,40 @@ public interface OrderRepository {
     /**
      * Saves a new order or updates an existing one.
      * 
+     * Updates are version-checked (optimistic concurrency): implementations
+     * must write only if the stored version equals order.getPersistedVersion()
+     * ("UPDATE ... SET version = :version WHERE order_id = :orderId AND version = :persistedVersion"),
+     * throw {@link OrderVersionConflictException} when no row matched, and call
+     * order.markPersisted() after a successful write.
+     * 
      * @param order the order to save
      * @return the saved order with any generated values
+     * @throws OrderVersionConflictException if the order changed since it was loaded
      */
     Order save(Order order);
     
+    /**
+     * Saves several new or updated orders in one go.
+     * 
+     * The default saves them one by one (still inside the caller's single
+     * transaction). JPA adapters should override it with JpaRepository.saveAll
+     * so Hibernate groups the INSERTs into JDBC batches
+     * (spring.jpa.properties.hibernate.jdbc.batch_size).
+     * 
+     * Each order is version-checked as in {@link #save}.
+     * 
+     * @param orders the orders to save
+     * @return the saved orders, in the same order as the input
+     * @throws OrderVersionConflictException if any order changed since it was loaded
+     */
+    default List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(save(order));
+        }
+        return saved;
+    }
+    
     /**
      * Finds an order by its ID.
      * 
@@ -38,14 +70,63 @@ public interface OrderRepository {
      */
     Optional<Order> findById(String orderId);
     
+    /**
+     * Finds only the version of an order - enough to answer a conditional GET.
+     * 
+     * The default loads the whole order. Persistence adapters should override
+     * it with a single-column query ("SELECT version FROM orders WHERE order_id = :orderId"),
+     * which the primary key index answers without touching items or address.
+     * 
+     * @param orderId the order ID
+     * @return the order's version, or empty if the order doesn't exist
+     */
+    default Optional<Long> findVersionById(String orderId) {
+        return findById(orderId).map(Order::getVersion);
+    }
+    
+    /**
+     * Finds several orders by ID.
+     * 
+     * The default looks them up one by one. JPA adapters should override it
+     * with JpaRepository.findAllById, which loads them with a single
+     * "WHERE order_id IN (...)" query.
+     * 
+     * @param orderIds the order IDs
+     * @return the orders that exist, in no particular order
+     */
+    default List<Order> findAllById(Collection<String> orderIds) {
+        List<Order> found = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            findById(orderId).ifPresent(found::add);
+        }
+        return found;
+    }
+    
     /**
      * Finds all orders for a customer.
+     * Unbounded - prefer {@link #findByCustomer} for order history screens.
      * 
      * @param customerId the customer ID
      * @return list of orders, may be empty
      */
     List<Order> findByCustomerId(String customerId);
     
+    /**
+     * Finds one page of a customer's orders, newest first, in
+     * (createdAt DESC, orderId DESC) order.
+     * 
+     * Implementations must use a keyset predicate
+     * ("(created_at, order_id) < (:createdAt, :orderId) ORDER BY created_at DESC, order_id DESC LIMIT :limit")
+     * served by the composite index on (customer_id, created_at), so the cost
+     * of a page does not depend on how many orders the customer has.
+     * 
+     * @param query customer and optional status / date range filters
+     * @param after cursor of the last (oldest) order already returned, or null for the newest page
+     * @param limit maximum number of orders to return
+     * @return up to {@code limit} matching orders strictly older than the cursor
+     */
+    List<Order> findByCustomer(CustomerOrderQuery query, OrderCursor after, int limit);
+    
     /**
      * Finds all orders with a specific status.
      * 
@@ -57,11 +138,69 @@ public interface OrderRepository {
     /**
      * Finds all orders.
      * Use with caution - could return large datasets.
+     * Prefer {@link #findPageAfter} or {@link #streamAll} for unbounded reads.
      * 
      * @return list of all orders
      */
     List<Order> findAll();
     
+    /**
+     * Finds one page of orders in (createdAt, orderId) order.
+     * 
+     * Implementations must use a keyset predicate
+     * ("(created_at, order_id) > (:createdAt, :orderId) ORDER BY created_at, order_id LIMIT :limit")
+     * backed by an index on (created_at, order_id), never OFFSET.
+     * 
+     * @param after cursor of the last order already returned, or null for the first page
+     * @param limit maximum number of orders to return
+     * @return up to {@code limit} orders strictly after the cursor
+     */
+    List<Order> findPageAfter(OrderCursor after, int limit);
+    
+    /**
+     * Visits every order in (createdAt, orderId) order without holding them all in memory.
+     * 
+     * The default implementation walks the keyset pages of {@link #findPageAfter},
+     * so at most {@code fetchSize} orders are live at once. Persistence adapters
+     * should override it with a forward-only result set (JPA Stream with a fetch
+     * size hint) and detach each row once it has been handed to the consumer.
+     * Must be called inside a read-only transaction.
+     * 
+     * @param fetchSize number of rows to fetch per round trip
+     * @param action called once per order
+     */
+    default void streamAll(int fetchSize, Consumer<? super Order> action) {
+        OrderCursor cursor = null;
+        List<Order> page;
+        do {
+            page = findPageAfter(cursor, fetchSize);
+            page.forEach(action);
+            if (!page.isEmpty()) {
+                cursor = OrderCursor.after(page.get(page.size() - 1));
+            }
+        } while (page.size() == fetchSize);
+    }
+    
+    /**
+     * Visits every order in one status without holding them all in memory.
+     * 
+     * The default filters {@link #streamAll}, i.e. reads the whole table.
+     * Persistence adapters should override it with a forward-only
+     * "WHERE status = :status" query served by the status index.
+     * Must be called inside a read-only transaction.
+     * 
+     * @param status the order status
+     * @param fetchSize number of rows to fetch per round trip
+     * @param action called once per matching order
+     */
+    default void streamByStatus(OrderStatus status, int fetchSize, Consumer<? super Order> action) {
+        streamAll(fetchSize, order -> {
+            if (order.getStatus() == status) {
+                action.accept(order);
+            }
+        });
+    }
+    
     /**
      * Deletes an order by ID.
      * Note: In real systems, consider soft deletes instead.
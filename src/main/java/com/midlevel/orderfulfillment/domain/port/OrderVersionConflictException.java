@@ -0,0 +1,53 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+/**
+ * Thrown when an order was changed by someone else between loading and saving it.
+ * 
+ * The repository writes an order only if the stored version still equals
+ * the version it was loaded at (Order.getPersistedVersion()). If another
+ * transaction got there first - a payment webhook racing a customer cancel -
+ * the save fails with this exception instead of silently overwriting the
+ * other change.
+ * 
+ * Callers recover by reloading the order and applying their change again
+ * (OrderService does this a bounded number of times).
+ */
+public class OrderVersionConflictException extends RuntimeException {
+    
+    private final String orderId;
+    private final long expectedVersion;
+    
+    public OrderVersionConflictException(String orderId, long expectedVersion) {
+        this(orderId, expectedVersion, null);
+    }
+    
+    public OrderVersionConflictException(String orderId, long expectedVersion, Throwable cause) {
+        super(message(orderId, expectedVersion), cause);
+        this.orderId = orderId;
+        this.expectedVersion = expectedVersion;
+    }
+    
+    private static String message(String orderId, long expectedVersion) {
+        if (orderId == null) {
+            return "An order in the batch was modified concurrently";
+        }
+        if (expectedVersion < 0) {
+            return "Order " + orderId + " was modified concurrently";
+        }
+        return "Order " + orderId + " was modified concurrently (expected version " + expectedVersion + ")";
+    }
+    
+    /**
+     * @return the order that conflicted, or null if unknown (bulk operations)
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+    
+    /**
+     * @return the version the save expected to find, or -1 if unknown
+     */
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,128 @@
+package com.midlevel.orderfulfillment.adapter.in.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Key-Ordered Executor Tests")
+class KeyOrderedExecutorTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("order.paid", 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeyOrderedExecutor<String> executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Processes records of the same key in submission order, across many workers")
+    void keepsOrderPerKey() throws Exception {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        executor = new KeyOrderedExecutor<>("test", 8, 10_000, 16, items -> items.forEach(item -> {
+            String[] parts = item.split(":");
+            seen.computeIfAbsent(parts[0], key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(parts[1]));
+        }), meterRegistry);
+
+        for (int i = 0; i < 5_000; i++) {
+            String key = "ORD-" + (i % 50);
+            assertThat(executor.trySubmit(PARTITION, i, key, key + ":" + i, 5_000)).isTrue();
+        }
+
+        assertThat(executor.awaitCompletion(List.of(PARTITION), 10_000)).isTrue();
+        assertThat(seen).hasSize(50);
+        seen.values().forEach(sequence -> assertThat(sequence).isSorted().hasSize(100));
+        assertThat(executor.committableOffsets()).containsEntry(PARTITION, new OffsetAndMetadata(5_000));
+        assertThat(executor.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Commits only up to the first record that is still in progress")
+    void commitsContiguousOffsets() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch othersDone = new CountDownLatch(2);
+        executor = new KeyOrderedExecutor<>("test", 4, 100, 1, blockOn("slow", release, othersDone), meterRegistry);
+        String fastKey = otherShardKeyThan("slow", 4);
+
+        assertThat(executor.trySubmit(PARTITION, 10, "slow", "slow", 0)).isTrue();
+        assertThat(executor.trySubmit(PARTITION, 11, fastKey, "fast-1", 0)).isTrue();
+        assertThat(executor.trySubmit(PARTITION, 12, fastKey, "fast-2", 0)).isTrue();
+
+        assertThat(othersDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.committableOffsets()).isEmpty();
+
+        release.countDown();
+        assertThat(executor.awaitCompletion(List.of(PARTITION), 5_000)).isTrue();
+        assertThat(executor.committableOffsets()).isEqualTo(Map.of(PARTITION, new OffsetAndMetadata(13)));
+        assertThat(executor.committableOffsets()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Refuses records while the in-flight window is full and reports shard lag")
+    void boundsInFlightRecords() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor = new KeyOrderedExecutor<>("test", 1, 2, 1, blockOn("a", release, new CountDownLatch(0)), meterRegistry);
+
+        assertThat(executor.trySubmit(PARTITION, 0, "a", "a", 0)).isTrue();
+        assertThat(executor.trySubmit(PARTITION, 1, "b", "b", 0)).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(executor.trySubmit(PARTITION, 2, "c", "c", 200)).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(meterRegistry.get("test.in-flight").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("test.shard.lag").tag("shard", "0").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(executor.trySubmit(PARTITION, 2, "c", "c", 5_000)).isTrue();
+        assertThat(executor.awaitCompletion(List.of(PARTITION), 5_000)).isTrue();
+        assertThat(executor.committableOffsets()).containsEntry(PARTITION, new OffsetAndMetadata(3));
+    }
+
+    /**
+     * Processor that blocks on {@code slowItem} until released and counts down for every other item.
+     */
+    private static Consumer<List<String>> blockOn(String slowItem, CountDownLatch release, CountDownLatch othersDone) {
+        return items -> items.forEach(item -> {
+            if (item.equals(slowItem)) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                othersDone.countDown();
+            }
+        });
+    }
+
+    private static String otherShardKeyThan(String key, int workers) {
+        for (int i = 0; ; i++) {
+            String candidate = "ORD-" + i;
+            if (shard(candidate, workers) != shard(key, workers)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int shard(String key, int workers) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), workers);
+    }
+}
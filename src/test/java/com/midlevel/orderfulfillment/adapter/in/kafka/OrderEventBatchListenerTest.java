@@ -0,0 +1,281 @@
+package com.midlevel.orderfulfillment.adapter.in.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventCodec;
+import com.midlevel.orderfulfillment.application.OrderEventBatchHandler;
+import com.midlevel.orderfulfillment.application.OrderEventMessage;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Order Event Batch Listener Tests")
+class OrderEventBatchListenerTest {
+
+    private static final Instant OCCURRED_AT = Instant.parse("2024-03-01T12:00:00.123456Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final RecordingHandler handler = new RecordingHandler();
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, byte[]> consumer = mock(Consumer.class);
+    private final Map<TopicPartition, OffsetAndMetadata> committed = new ConcurrentHashMap<>();
+    private MockProducer<String, byte[]> dlqProducer;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventBatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        dlqProducer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        meterRegistry = new SimpleMeterRegistry();
+        listener = listener(4, 100, 1_000L);
+        doAnswer(invocation -> committed.putAll(invocation.getArgument(0)))
+                .when(consumer).commitAsync(anyMap(), any());
+        doAnswer(invocation -> committed.putAll(invocation.getArgument(0)))
+                .when(consumer).commitSync(anyMap());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listener.destroy();
+    }
+
+    @Test
+    @DisplayName("Keeps each order's events in order across workers and commits every partition")
+    void keepsOrderPerOrderId() {
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                record(KafkaConfig.TOPIC_ORDER_CREATED, 0, 10, "ORD-1", "evt-1"),
+                record(KafkaConfig.TOPIC_ORDER_CREATED, 1, 20, "ORD-2", "evt-2"),
+                record(KafkaConfig.TOPIC_ORDER_CREATED, 0, 11, "ORD-3", "evt-3"),
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 5, "ORD-1", "evt-4"));
+
+        listener.onBatch(poll, consumer);
+        revokeAll(poll);
+
+        assertThat(handler.handled).containsExactlyInAnyOrder("evt-1", "evt-2", "evt-3", "evt-4");
+        assertThat(handler.handled.indexOf("evt-1")).isLessThan(handler.handled.indexOf("evt-4"));
+        assertThat(handler.messages.get("evt-4"))
+                .isEqualTo(new OrderEventMessage("evt-4", "ORD-1", OrderStatus.PAID, OCCURRED_AT));
+        assertThat(committed).isEqualTo(Map.of(
+                new TopicPartition(KafkaConfig.TOPIC_ORDER_CREATED, 0), new OffsetAndMetadata(12),
+                new TopicPartition(KafkaConfig.TOPIC_ORDER_CREATED, 1), new OffsetAndMetadata(21),
+                new TopicPartition(KafkaConfig.TOPIC_ORDER_PAID, 0), new OffsetAndMetadata(6)));
+        assertThat(meterRegistry.get("order.events.consumed").counter().count()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("order.events.batch.size").summary().totalAmount()).isEqualTo(4.0);
+        assertThat(dlqProducer.history()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reads binary records by their contentType header, next to JSON ones")
+    void readsBinaryRecords() {
+        OrderShippedEvent shipped = new OrderShippedEvent("evt-2", "ORD-1", "CUST-1", OCCURRED_AT);
+        ConsumerRecord<String, byte[]> binary = new ConsumerRecord<>(
+                KafkaConfig.TOPIC_ORDER_SHIPPED, 0, 3, "ORD-1", OrderEventCodec.encode(shipped));
+        binary.headers().add(OrderEventCodec.CONTENT_TYPE_HEADER,
+                OrderEventCodec.BINARY_CONTENT_TYPE.getBytes(StandardCharsets.US_ASCII));
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                record(KafkaConfig.TOPIC_ORDER_SHIPPED, 0, 2, "ORD-1", "evt-1"),
+                binary);
+
+        listener.onBatch(poll, consumer);
+        revokeAll(poll);
+
+        assertThat(handler.handled).containsExactly("evt-1", "evt-2");
+        assertThat(handler.messages.get("evt-2"))
+                .isEqualTo(new OrderEventMessage("evt-2", "ORD-1", OrderStatus.SHIPPED, OCCURRED_AT));
+        assertThat(dlqProducer.history()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Dead-letters unreadable records without holding up the rest of the partition")
+    void deadLettersUnreadableRecords() {
+        ConsumerRecord<String, byte[]> poison = new ConsumerRecord<>(KafkaConfig.TOPIC_ORDER_PAID, 0, 7, "ORD-9", bytes("{not json"));
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 6, "ORD-1", "evt-1"),
+                poison,
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 8, "ORD-2", "evt-2"));
+
+        listener.onBatch(poll, consumer);
+        revokeAll(poll);
+
+        assertThat(handler.handled).containsExactlyInAnyOrder("evt-1", "evt-2");
+        assertThat(dlqProducer.history()).hasSize(1);
+        var deadLetter = dlqProducer.history().get(0);
+        assertThat(deadLetter.topic()).isEqualTo(KafkaConfig.TOPIC_ORDER_EVENTS_DLQ);
+        assertThat(deadLetter.key()).isEqualTo("ORD-9");
+        assertThat(deadLetter.value()).isEqualTo(bytes("{not json"));
+        assertThat(new String(deadLetter.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(),
+                StandardCharsets.UTF_8)).isEqualTo(KafkaConfig.TOPIC_ORDER_PAID);
+        assertThat(meterRegistry.get("order.events.dead-lettered").tag("reason", "unreadable").counter().count())
+                .isEqualTo(1.0);
+        assertThat(committed).containsEntry(new TopicPartition(KafkaConfig.TOPIC_ORDER_PAID, 0), new OffsetAndMetadata(9));
+    }
+
+    @Test
+    @DisplayName("Retries a failed batch one event at a time and dead-letters only the culprit")
+    void isolatesHandlerFailures() {
+        handler.failOn = "evt-2";
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                record(KafkaConfig.TOPIC_ORDER_SHIPPED, 2, 1, "ORD-1", "evt-1"),
+                record(KafkaConfig.TOPIC_ORDER_SHIPPED, 2, 2, "ORD-2", "evt-2"),
+                record(KafkaConfig.TOPIC_ORDER_SHIPPED, 2, 3, "ORD-3", "evt-3"));
+
+        listener.onBatch(poll, consumer);
+        revokeAll(poll);
+
+        assertThat(handler.handled).containsExactlyInAnyOrder("evt-1", "evt-3");
+        assertThat(dlqProducer.history()).extracting(r -> r.key()).containsExactly("ORD-2");
+        assertThat(meterRegistry.get("order.events.dead-lettered").tag("reason", "handler").counter().count())
+                .isEqualTo(1.0);
+        assertThat(committed).containsEntry(new TopicPartition(KafkaConfig.TOPIC_ORDER_SHIPPED, 2), new OffsetAndMetadata(4));
+    }
+
+    @Test
+    @DisplayName("Does not commit a record while the dead letter topic is unavailable")
+    void keepsOffsetsWhenDeadLetteringFails() throws Exception {
+        listener.destroy();
+        dlqProducer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        listener = listener(4, 100, 100L);
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                new ConsumerRecord<>(KafkaConfig.TOPIC_ORDER_CREATED, 0, 1, null, bytes("{}")));
+
+        listener.onBatch(poll, consumer);
+        revokeAll(poll);
+
+        assertThat(dlqProducer.history()).isNotEmpty();
+        assertThat(committed).isEmpty();
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    @DisplayName("Pauses its partitions while the in-flight window is full, resumes and commits when idle")
+    void pausesWhileWindowIsFull() throws Exception {
+        listener.destroy();
+        CountDownLatch release = new CountDownLatch(1);
+        handler.blockUntil = release;
+        listener = listener(1, 1, 1_000L);
+        TopicPartition partition = new TopicPartition(KafkaConfig.TOPIC_ORDER_PAID, 0);
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        List<ConsumerRecord<String, byte[]>> poll = List.of(
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 1, "ORD-1", "evt-1"),
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 2, "ORD-2", "evt-2"),
+                record(KafkaConfig.TOPIC_ORDER_PAID, 0, 3, "ORD-3", "evt-3"));
+
+        listener.onBatch(poll, consumer);
+
+        verify(consumer).pause(Set.of(partition));
+        listener.onIdle(idleEvent());
+        verify(consumer, never()).resume(anyCollection());
+        assertThat(committed).isEmpty();
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!new OffsetAndMetadata(4).equals(committed.get(partition)) && System.nanoTime() < deadline) {
+            listener.onIdle(idleEvent());
+        }
+
+        verify(consumer).resume(Set.of(partition));
+        assertThat(handler.handled).containsExactly("evt-1", "evt-2", "evt-3");
+        assertThat(committed).isEqualTo(Map.of(partition, new OffsetAndMetadata(4)));
+    }
+
+    private OrderEventBatchListener listener(int workers, int maxInFlight, long dlqTimeoutMs) {
+        return new OrderEventBatchListener(
+                List.of(handler),
+                objectMapper,
+                new KafkaTemplate<>(new MockProducerFactory<>(() -> dlqProducer)),
+                meterRegistry,
+                workers,
+                maxInFlight,
+                50L,
+                dlqTimeoutMs,
+                2_000L);
+    }
+
+    private ListenerContainerIdleEvent idleEvent() {
+        return new ListenerContainerIdleEvent(this, this, 1_000L, OrderEventBatchListener.LISTENER_ID + "-0",
+                consumer.assignment(), consumer, false);
+    }
+
+    /**
+     * Rebalance away every partition of the poll: waits for its records and commits what is done.
+     */
+    private void revokeAll(List<ConsumerRecord<String, byte[]>> poll) {
+        Set<TopicPartition> partitions = new HashSet<>();
+        poll.forEach(record -> partitions.add(new TopicPartition(record.topic(), record.partition())));
+        listener.onPartitionsRevokedBeforeCommit(consumer, partitions);
+    }
+
+    private ConsumerRecord<String, byte[]> record(String topic, int partition, long offset, String orderId, String eventId) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(Map.of(
+                    "eventId", eventId, "orderId", orderId, "occurredAt", OCCURRED_AT.toString()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return new ConsumerRecord<>(topic, partition, offset, orderId, bytes(json));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Records handled events (workers run concurrently, hence the synchronized list).
+     */
+    private static final class RecordingHandler implements OrderEventBatchHandler {
+
+        private final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, OrderEventMessage> messages = new ConcurrentHashMap<>();
+        private volatile String failOn;
+        private volatile CountDownLatch blockUntil;
+
+        @Override
+        public void handle(List<OrderEventMessage> events) {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (events.stream().anyMatch(event -> event.eventId().equals(failOn))) {
+                throw new IllegalStateException("cannot handle " + failOn);
+            }
+            events.forEach(event -> {
+                handled.add(event.eventId());
+                messages.put(event.eventId(), event);
+            });
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.midlevel.orderfulfillment.adapter.in.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventCodec;
+import com.midlevel.orderfulfillment.application.OrderEventBatchHandler;
+import com.midlevel.orderfulfillment.application.OrderEventMessage;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.BatchConsumerAwareMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput test for OrderEventBatchListener against an embedded Kafka broker.
+ *
+ * Publishes RECORDS order events (one in every POISON_EVERY is unreadable,
+ * every other one binary via OrderEventCodec, the rest JSON) over the four
+ * order topics, then consumes them once per workers setting,
+ * each run with a fresh consumer group. The handler spends a few
+ * microseconds per event, standing in for notification / projection work.
+ *
+ * Checks that every record was either handled or dead-lettered and that the
+ * committed offsets reached the end of every partition, then prints
+ * records/s, polls and the average poll size per setting.
+ *
+ * Tagged "load": excluded from the default build.
+ * Run with: mvn test -Dtest.excludedGroups= -Dgroups=load -Dtest=OrderEventConsumerLoadTest
+ */
+@Tag("load")
+@DisplayName("Order Event Consumer Load Test")
+class OrderEventConsumerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventConsumerLoadTest.class);
+
+    private static final int PARTITIONS = 6;
+    private static final int RECORDS = 200_000;
+    private static final int POISON_EVERY = 1_000;
+    private static final long WORK_NANOS_PER_EVENT = 5_000;
+
+    private static final List<String> TOPICS = List.of(
+            KafkaConfig.TOPIC_ORDER_CREATED,
+            KafkaConfig.TOPIC_ORDER_PAID,
+            KafkaConfig.TOPIC_ORDER_SHIPPED,
+            KafkaConfig.TOPIC_ORDER_CANCELLED);
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS,
+                KafkaConfig.TOPIC_ORDER_CREATED, KafkaConfig.TOPIC_ORDER_PAID,
+                KafkaConfig.TOPIC_ORDER_SHIPPED, KafkaConfig.TOPIC_ORDER_CANCELLED,
+                KafkaConfig.TOPIC_ORDER_EVENTS_DLQ);
+        broker.afterPropertiesSet();
+        publishEvents();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    @DisplayName("Consumes the order topics in batches, in parallel per order ID")
+    void measureThroughput() throws Exception {
+        log.info(String.format("%d records over %d topics x %d partitions, %dus of work per event",
+                RECORDS, TOPICS.size(), PARTITIONS, WORK_NANOS_PER_EVENT / 1_000));
+        for (int workers : new int[] {1, 4, 8}) {
+            consume(workers);
+        }
+    }
+
+    private void consume(int workers) throws Exception {
+        String groupId = "load-test-" + workers;
+        LongAdder handled = new LongAdder();
+        OrderEventBatchHandler handler = events -> {
+            for (OrderEventMessage ignored : events) {
+                long until = System.nanoTime() + WORK_NANOS_PER_EVENT;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+                handled.increment();
+            }
+        };
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DefaultKafkaProducerFactory<String, byte[]> dlqProducerFactory = new DefaultKafkaProducerFactory<>(producerProps());
+        OrderEventBatchListener listener = new OrderEventBatchListener(
+                List.of(handler), new ObjectMapper().findAndRegisterModules(),
+                new KafkaTemplate<>(dlqProducerFactory), meterRegistry, workers, 2_000, 1_000L, 10_000L, 30_000L);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(broker.getBrokersAsString(), groupId, "false");
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        ContainerProperties containerProperties = new ContainerProperties(TOPICS.toArray(String[]::new));
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setIdleEventInterval(200L);
+        containerProperties.setPollTimeout(200L);
+        containerProperties.setMessageListener((BatchConsumerAwareMessageListener<String, byte[]>) listener::onBatch);
+        containerProperties.setConsumerRebalanceListener(listener);
+        KafkaMessageListenerContainer<String, byte[]> container = new KafkaMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(consumerProps), containerProperties);
+        // No application context here: hand the idle events (resume, commit) to the listener directly
+        container.setApplicationEventPublisher(event -> {
+            if (event instanceof ListenerContainerIdleEvent idle) {
+                listener.onIdle(idle);
+            }
+        });
+
+        long start = System.nanoTime();
+        container.start();
+        int poison = RECORDS / POISON_EVERY;
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (handled.sum() + deadLettered(meterRegistry) < RECORDS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Stopping revokes the partitions: the listener commits the tail, then check nothing is left behind
+        container.stop();
+        Map<TopicPartition, OffsetAndMetadata> committed = committedOffsets(groupId);
+        listener.destroy();
+        dlqProducerFactory.destroy();
+
+        long polls = meterRegistry.get("order.events.batch.size").summary().count();
+        log.info(String.format("workers=%d  throughput=%,.0f records/s  polls=%,d  avg poll=%.0f records  dead-lettered=%,.0f",
+                workers, RECORDS / seconds, polls, (double) RECORDS / Math.max(1, polls),
+                deadLettered(meterRegistry)));
+
+        assertThat(handled.sum()).isEqualTo(RECORDS - poison);
+        assertThat(deadLettered(meterRegistry)).isEqualTo(poison);
+        assertThat(committed.values().stream().mapToLong(OffsetAndMetadata::offset).sum()).isEqualTo(RECORDS);
+    }
+
+    private static double deadLettered(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("order.events.dead-lettered").counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private static Map<TopicPartition, OffsetAndMetadata> committedOffsets(String groupId) throws Exception {
+        try (AdminClient admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+            return admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata().get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void publishEvents() throws Exception {
+        DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(producerProps());
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(producerFactory);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Instant occurredAt = Instant.parse("2024-03-01T12:00:00Z");
+        byte[] binaryContentType = OrderEventCodec.BINARY_CONTENT_TYPE.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < RECORDS; i++) {
+            String orderId = "ORD-" + (i / TOPICS.size());
+            ProducerRecord<String, byte[]> record;
+            if (i % POISON_EVERY == 0) {
+                record = new ProducerRecord<>(TOPICS.get(i % TOPICS.size()), orderId, "not json".getBytes(StandardCharsets.UTF_8));
+            } else if (i % 2 == 1) {
+                record = new ProducerRecord<>(TOPICS.get(i % TOPICS.size()), orderId,
+                        OrderEventCodec.encode(new OrderShippedEvent("evt-" + i, orderId, "CUST-1", occurredAt)));
+                record.headers().add(OrderEventCodec.CONTENT_TYPE_HEADER, binaryContentType);
+            } else {
+                record = new ProducerRecord<>(TOPICS.get(i % TOPICS.size()), orderId, objectMapper.writeValueAsBytes(Map.of(
+                        "eventId", "evt-" + i, "orderId", orderId, "occurredAt", occurredAt.toString())));
+            }
+            template.send(record);
+        }
+        template.flush();
+        producerFactory.destroy();
+    }
+
+    private static Map<String, Object> producerProps() {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return props;
+    }
+}
@@ -0,0 +1,183 @@
+package com.midlevel.orderfulfillment.adapter.in.web;
+
+import com.midlevel.orderfulfillment.application.OrderService;
+import com.midlevel.orderfulfillment.config.security.JwtTokenProvider;
+import com.midlevel.orderfulfillment.domain.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test comparing the two execution modes (platform vs virtual threads).
+ *
+ * Runs 1,000, 5,000 and 10,000 concurrent closed-loop clients against
+ * GET /api/orders/{id} (a database read, i.e. I/O-bound) and prints
+ * throughput and p99 latency for each level.
+ *
+ * The mode comes from spring.threads.virtual.enabled, so run it once per mode
+ * and compare the printed tables:
+ *   mvn test -Dtest.excludedGroups= -Dgroups=load -Dtest=ExecutionModeLoadTest -Dspring.threads.virtual.enabled=false
+ *   mvn test -Dtest.excludedGroups= -Dgroups=load -Dtest=ExecutionModeLoadTest -Dspring.threads.virtual.enabled=true
+ *
+ * Expect similar numbers at 1,000 clients; at 5,000 and 10,000 the platform
+ * mode queues behind Tomcat's 200 worker threads (p99 grows with the client
+ * count), while the virtual mode is limited only by the Hikari pool.
+ *
+ * Tagged "load": excluded from the default build.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@Tag("load")
+@DisplayName("Execution Mode Load Test")
+class ExecutionModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final int[] CONCURRENT_CLIENTS = {1_000, 5_000, 10_000};
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // Let Tomcat hold all client connections in both modes, so the comparison
+        // is about request processing, not about refused connections
+        registry.add("server.tomcat.max-connections", () -> "20000");
+        registry.add("server.tomcat.accept-count", () -> "10000");
+        // Measure the database read, not the order cache
+        registry.add("orders.cache.enabled", () -> "false");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("Reports throughput and p99 latency at 1k, 5k and 10k concurrent clients")
+    void compareExecutionModes() throws Exception {
+        Order order = orderService.createOrder("CUST-LOAD",
+                List.of(OrderItem.of("PROD-1", "Load Product", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("123 Load St", "Test City", "TS", "12345", "US"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/" + order.getOrderId()))
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken("load-user", "ROLE_ADMIN"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        String mode = virtualThreads ? "virtual" : "platform";
+        for (int clients : CONCURRENT_CLIENTS) {
+            run(request, clients, WARMUP);
+            LoadResult result = run(request, clients, MEASUREMENT);
+
+            log.info(String.format("mode=%-8s clients=%,6d  throughput=%,8.0f req/s  p99=%8.1f ms  errors=%,d",
+                    mode, clients, result.throughput(), result.p99Millis(), result.errors()));
+
+            assertThat(result.succeeded()).isPositive();
+        }
+    }
+
+    /**
+     * Closed loop: every client sends its next request as soon as the previous one returns.
+     * Clients run on virtual threads so the load generator itself is never the bottleneck.
+     */
+    private LoadResult run(HttpRequest request, int clients, Duration duration) throws Exception {
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+
+            List<Future<long[]>> perClient = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                perClient.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            List<long[]> results = new ArrayList<>(clients);
+            int total = 0;
+            for (Future<long[]> future : perClient) {
+                long[] latencies = future.get();
+                results.add(latencies);
+                total += latencies.length;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] latencies : results) {
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            Arrays.sort(all);
+
+            long p99 = all.length == 0 ? 0 : all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)];
+            return new LoadResult(all.length, errors.get(), all.length / (double) duration.toSeconds(), p99 / 1e6);
+        }
+    }
+
+    private record LoadResult(long succeeded, long errors, double throughput, double p99Millis) {}
+}
@@ -13,6 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -21,6 +24,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.math.BigDecimal;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -76,7 +80,7 @@ class OrderControllerIntegrationTest {
         String requestJson = objectMapper.writeValueAsString(request);
         
         // When - POST /api/orders
-        mockMvc.perform(post("/api/orders")
+        perform(post("/api/orders")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 // Then - verify response
@@ -102,7 +106,7 @@ class OrderControllerIntegrationTest {
         String requestJson = objectMapper.writeValueAsString(request);
         
         // When - POST /api/orders
-        mockMvc.perform(post("/api/orders")
+        perform(post("/api/orders")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 // Then - verify validation error
@@ -123,7 +127,7 @@ class OrderControllerIntegrationTest {
         String requestJson = objectMapper.writeValueAsString(request);
         
         // When - POST /api/orders
-        mockMvc.perform(post("/api/orders")
+        perform(post("/api/orders")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 // Then - verify validation error
@@ -138,7 +142,7 @@ class OrderControllerIntegrationTest {
         CreateOrderRequest createRequest = createValidOrderRequest();
         String createJson = objectMapper.writeValueAsString(createRequest);
         
-        String orderId = mockMvc.perform(post("/api/orders")
+        String orderId = perform(post("/api/orders")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(createJson))
                 .andExpect(status().isCreated())
@@ -149,7 +153,7 @@ class OrderControllerIntegrationTest {
         String extractedOrderId = objectMapper.readTree(orderId).get("orderId").asText();
         
         // When - GET /api/orders/{orderId}
-        mockMvc.perform(get("/api/orders/" + extractedOrderId))
+        perform(get("/api/orders/" + extractedOrderId))
                 // Then - verify response
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.orderId").value(extractedOrderId))
@@ -161,7 +165,7 @@ class OrderControllerIntegrationTest {
     @DisplayName("Should return 404 Not Found for non-existent order")
     void shouldReturn404ForNonExistentOrder() throws Exception {
         // When - GET /api/orders/{non-existent-id}
-        mockMvc.perform(get("/api/orders/NON-EXISTENT-ID"))
+        perform(get("/api/orders/NON-EXISTENT-ID"))
                 // Then - verify 404
                 .andExpect(status().isNotFound());
     }
@@ -177,11 +181,11 @@ class OrderControllerIntegrationTest {
         String json1 = objectMapper.writeValueAsString(request1);
         String json2 = objectMapper.writeValueAsString(request2);
         
-        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(json1));
-        mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(json2));
+        perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(json1));
+        perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(json2));
         
         // When - GET /api/orders?customerId=CUST-123
-        mockMvc.perform(get("/api/orders").param("customerId", customerId))
+        perform(get("/api/orders").param("customerId", customerId))
                 // Then - verify both orders returned
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
@@ -189,6 +193,59 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].customerId").value(customerId));
     }
     
+    @Test
+    @DisplayName("Should page customer orders newest first and filter by status and date")
+    void shouldPageAndFilterCustomerOrders() throws Exception {
+        // Given - three orders for CUST-123, the newest one paid
+        String oldest = createOrderAndGetId();
+        String middle = createOrderAndGetId();
+        String newest = createOrderAndGetId();
+        perform(post("/api/orders/" + newest + "/pay"));
+        
+        // When - first page of two
+        String nextCursor = perform(get("/api/orders")
+                        .param("customerId", "CUST-123")
+                        .param("size", "2"))
+                // Then - newest first, with a cursor to older orders
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderId", contains(newest, middle)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+        
+        perform(get("/api/orders")
+                        .param("customerId", "CUST-123")
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderId", contains(oldest)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        
+        // Status filter
+        perform(get("/api/orders")
+                        .param("customerId", "CUST-123")
+                        .param("status", "PAID"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderId", contains(newest)));
+        
+        // Date range that ends before any order was created
+        perform(get("/api/orders")
+                        .param("customerId", "CUST-123")
+                        .param("createdTo", "2000-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+    
+    @Test
+    @DisplayName("Should reject unknown status filter with 400")
+    void shouldRejectUnknownStatusFilter() throws Exception {
+        perform(get("/api/orders")
+                        .param("customerId", "CUST-123")
+                        .param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     @DisplayName("Should mark order as paid")
     void shouldMarkOrderAsPaid() throws Exception {
@@ -196,7 +253,7 @@ class OrderControllerIntegrationTest {
         String orderId = createOrderAndGetId();
         
         // When - POST /api/orders/{orderId}/pay
-        mockMvc.perform(post("/api/orders/" + orderId + "/pay"))
+        perform(post("/api/orders/" + orderId + "/pay"))
                 // Then - verify order is paid
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("PAID"))
@@ -208,10 +265,10 @@ class OrderControllerIntegrationTest {
     void shouldMarkOrderAsShipped() throws Exception {
         // Given - create and pay an order
         String orderId = createOrderAndGetId();
-        mockMvc.perform(post("/api/orders/" + orderId + "/pay"));
+        perform(post("/api/orders/" + orderId + "/pay"));
         
         // When - POST /api/orders/{orderId}/ship
-        mockMvc.perform(post("/api/orders/" + orderId + "/ship"))
+        perform(post("/api/orders/" + orderId + "/ship"))
                 // Then - verify order is shipped
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("SHIPPED"))
@@ -225,7 +282,7 @@ class OrderControllerIntegrationTest {
         String orderId = createOrderAndGetId();
         
         // When - POST /api/orders/{orderId}/ship
-        mockMvc.perform(post("/api/orders/" + orderId + "/ship"))
+        perform(post("/api/orders/" + orderId + "/ship"))
                 // Then - verify business rule violation
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Cannot ship unpaid order"));
@@ -236,10 +293,10 @@ class OrderControllerIntegrationTest {
     void shouldCancelOrder() throws Exception {
         // Given - create and pay an order
         String orderId = createOrderAndGetId();
-        mockMvc.perform(post("/api/orders/" + orderId + "/pay"));
+        perform(post("/api/orders/" + orderId + "/pay"));
         
         // When - POST /api/orders/{orderId}/cancel
-        mockMvc.perform(post("/api/orders/" + orderId + "/cancel"))
+        perform(post("/api/orders/" + orderId + "/cancel"))
                 // Then - verify order is cancelled
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("CANCELLED"));
@@ -250,11 +307,11 @@ class OrderControllerIntegrationTest {
     void shouldRejectCancellingShippedOrder() throws Exception {
         // Given - create, pay, and ship an order
         String orderId = createOrderAndGetId();
-        mockMvc.perform(post("/api/orders/" + orderId + "/pay"));
-        mockMvc.perform(post("/api/orders/" + orderId + "/ship"));
+        perform(post("/api/orders/" + orderId + "/pay"));
+        perform(post("/api/orders/" + orderId + "/ship"));
         
         // When - POST /api/orders/{orderId}/cancel
-        mockMvc.perform(post("/api/orders/" + orderId + "/cancel"))
+        perform(post("/api/orders/" + orderId + "/cancel"))
                 // Then - verify business rule violation
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Cannot cancel shipped order"));
@@ -268,19 +325,123 @@ class OrderControllerIntegrationTest {
         createOrderAndGetId();
         
         // When - GET /api/orders/all
-        mockMvc.perform(get("/api/orders/all"))
+        perform(get("/api/orders/all"))
                 // Then - verify all orders returned
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(2))));
     }
     
+    @Test
+    @DisplayName("Should page through all orders with keyset cursor")
+    void shouldPageThroughAllOrders() throws Exception {
+        // Given - three orders
+        String first = createOrderAndGetId();
+        String second = createOrderAndGetId();
+        String third = createOrderAndGetId();
+        
+        // When - GET the first page of two
+        String nextCursor = perform(get("/api/orders/all").param("size", "2"))
+                // Then - two oldest orders and a next cursor
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderId", contains(first, second)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+        
+        // When - follow the cursor
+        perform(get("/api/orders/all").param("size", "2").param("cursor", nextCursor))
+                // Then - remaining order, no further cursor
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderId", contains(third)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+    
+    @Test
+    @DisplayName("Should reject malformed cursor with 400")
+    void shouldRejectMalformedCursor() throws Exception {
+        perform(get("/api/orders/all").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @DisplayName("Should stream all orders as NDJSON")
+    void shouldStreamAllOrdersAsNdjson() throws Exception {
+        // Given - two orders
+        String first = createOrderAndGetId();
+        String second = createOrderAndGetId();
+        
+        // When - GET /api/orders/all/stream
+        MvcResult started = perform(get("/api/orders/all/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        String body = perform(asyncDispatch(started))
+                // Then - one JSON document per line
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("orderId").asText()).isEqualTo(first);
+        assertThat(objectMapper.readTree(lines.get(1)).get("orderId").asText()).isEqualTo(second);
+    }
+    
+    @Test
+    @DisplayName("Should ship orders in bulk and report per-order outcomes")
+    void shouldShipOrdersInBulk() throws Exception {
+        // Given - one paid order, one unpaid order
+        String paid = createOrderAndGetId();
+        String unpaid = createOrderAndGetId();
+        perform(post("/api/orders/" + paid + "/pay"));
+        
+        String body = objectMapper.writeValueAsString(java.util.Map.of(
+                "orderIds", List.of(paid, unpaid, "ORD-DOES-NOT-EXIST", paid)));
+        
+        // When - POST /api/orders/bulk/ship
+        perform(post("/api/orders/bulk/ship")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                // Then - duplicates collapsed, outcome per order
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.results[0].orderId").value(paid))
+                .andExpect(jsonPath("$.results[0].outcome").value("SUCCESS"))
+                .andExpect(jsonPath("$.results[0].status").value("SHIPPED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("VIOLATION"))
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("NOT_FOUND"));
+        
+        // When - the same wave is submitted again
+        perform(post("/api/orders/bulk/ship")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                // Then - already shipped order is an idempotent no-op
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].outcome").value("NO_OP"))
+                .andExpect(jsonPath("$.noOp").value(1));
+    }
+    
     // Helper methods
     
+    /**
+     * Perform a request, completing it if the controller returned a CompletableFuture
+     * (single-order writes are async so retries don't hold a request thread).
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+    
     private String createOrderAndGetId() throws Exception {
         CreateOrderRequest request = createValidOrderRequest();
         String requestJson = objectMapper.writeValueAsString(request);
         
-        String response = mockMvc.perform(post("/api/orders")
+        String response = perform(post("/api/orders")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestJson))
                 .andExpect(status().isCreated())
@@ -2,6 +2,7 @@ package com.midlevel.orderfulfillment.adapter.in.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.AddressDto;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.BatchCreateOrdersRequest;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.CreateOrderRequest;
 import com.midlevel.orderfulfillment.adapter.in.web.dto.MoneyDto;
 import com.midlevel.orderfulfillment.adapter.in.web.mapper.OrderDtoMapper;
@@ -16,15 +17,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = OrderController.class)
-@Import(OrderDtoMapper.class)
+@Import({OrderDtoMapper.class, com.midlevel.orderfulfillment.config.IdGeneratorConfiguration.class})
 @org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc(addFilters = false)
 @DisplayName("OrderController API tests (SpringBootTest + MockMvc)")
 class OrderControllerWebMvcTest {
@@ -41,6 +46,9 @@ class OrderControllerWebMvcTest {
     @MockBean
     private com.midlevel.orderfulfillment.config.security.JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private com.midlevel.orderfulfillment.config.security.VerifiedTokenCache verifiedTokenCache;
+
     @Test
     @WithMockUser(roles = {"CUSTOMER"})
     @DisplayName("POST /api/orders creates order and returns 201")
@@ -66,12 +74,16 @@ class OrderControllerWebMvcTest {
     );
     com.midlevel.orderfulfillment.domain.model.Order order = com.midlevel.orderfulfillment.domain.model.Order.create("CUST-1", items, address);
 
-    org.mockito.Mockito.when(orderService.createOrder(org.mockito.ArgumentMatchers.eq("CUST-1"), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.any(com.midlevel.orderfulfillment.domain.model.Address.class)))
-        .thenReturn(order);
+    org.mockito.Mockito.when(orderService.createOrderAsync(org.mockito.ArgumentMatchers.eq("CUST-1"), org.mockito.ArgumentMatchers.anyList(), org.mockito.ArgumentMatchers.any(com.midlevel.orderfulfillment.domain.model.Address.class)))
+        .thenReturn(CompletableFuture.completedFuture(order));
 
-    mvc.perform(post("/api/orders")
+    MvcResult pending = mvc.perform(post("/api/orders")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(request)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mvc.perform(asyncDispatch(pending))
         .andExpect(status().isCreated())
         .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
         .andExpect(jsonPath("$.orderId").exists())
@@ -80,4 +92,112 @@ class OrderControllerWebMvcTest {
         .andExpect(jsonPath("$.items[0].productId").value("P1"))
         .andExpect(jsonPath("$.items[1].productId").value("P2"));
     }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("POST /api/orders/batch reports invalid orders without failing the batch")
+    void createOrdersBatch() throws Exception {
+    CreateOrderRequest valid = new CreateOrderRequest(
+        "CUST-1",
+        new AddressDto("123 Main", "SF", "CA", "94105", "US"),
+        List.of(new CreateOrderRequest.OrderItemRequest("P1", "Widget", new MoneyDto(BigDecimal.valueOf(10.00), "USD"), 2))
+    );
+    CreateOrderRequest missingCustomer = new CreateOrderRequest(
+        "",
+        new AddressDto("123 Main", "SF", "CA", "94105", "US"),
+        List.of(new CreateOrderRequest.OrderItemRequest("P1", "Widget", new MoneyDto(BigDecimal.valueOf(10.00), "USD"), 2))
+    );
+
+    // Only the valid order reaches the service
+    org.mockito.Mockito.when(orderService.createOrders(org.mockito.ArgumentMatchers.argThat(orders -> orders.size() == 1)))
+        .thenReturn(List.of(com.midlevel.orderfulfillment.application.BatchOrderResult.created("ORD-1")));
+
+    mvc.perform(post("/api/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new BatchCreateOrdersRequest(List.of(missingCustomer, valid)))))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.requested").value(2))
+        .andExpect(jsonPath("$.created").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.results[0].status").value("REJECTED"))
+        .andExpect(jsonPath("$.results[0].error").value(org.hamcrest.Matchers.containsString("customerId")))
+        .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+        .andExpect(jsonPath("$.results[1].orderId").value("ORD-1"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("POST /api/orders/batch rejects an empty batch with 400")
+    void createOrdersBatchRejectsEmptyBatch() throws Exception {
+    mvc.perform(post("/api/orders/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new BatchCreateOrdersRequest(List.of()))))
+        .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("GET /api/orders/{id} returns an ETag built from id and version")
+    void getOrderReturnsEtag() throws Exception {
+    com.midlevel.orderfulfillment.domain.model.Order order = com.midlevel.orderfulfillment.domain.model.Order.create("CUST-1",
+        List.of(com.midlevel.orderfulfillment.domain.model.OrderItem.of("P1", "Widget", com.midlevel.orderfulfillment.domain.model.Money.usd(BigDecimal.TEN), 1)),
+        new com.midlevel.orderfulfillment.domain.model.Address("123 Main", "SF", "CA", "94105", "US"));
+    order.pay();
+    org.mockito.Mockito.when(orderService.findById(order.getOrderId())).thenReturn(java.util.Optional.of(order));
+
+    mvc.perform(get("/api/orders/{id}", order.getOrderId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + order.getOrderId() + ":1\""))
+        .andExpect(jsonPath("$.status").value("PAID"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("GET /api/orders/{id} answers a current If-None-Match with 304 from the version alone")
+    void getOrderNotModified() throws Exception {
+    org.mockito.Mockito.when(orderService.findVersionById("ORD-1")).thenReturn(java.util.Optional.of(2L));
+
+    mvc.perform(get("/api/orders/{id}", "ORD-1").header("If-None-Match", "W/\"ORD-1:2\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"ORD-1:2\""))
+        .andExpect(content().string(""));
+
+    org.mockito.Mockito.verify(orderService, org.mockito.Mockito.never()).findById(org.mockito.ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("GET /api/orders/{id} returns the order when the client's ETag is stale")
+    void getOrderModified() throws Exception {
+    com.midlevel.orderfulfillment.domain.model.Order order = com.midlevel.orderfulfillment.domain.model.Order.create("CUST-1",
+        List.of(com.midlevel.orderfulfillment.domain.model.OrderItem.of("P1", "Widget", com.midlevel.orderfulfillment.domain.model.Money.usd(BigDecimal.TEN), 1)),
+        new com.midlevel.orderfulfillment.domain.model.Address("123 Main", "SF", "CA", "94105", "US"));
+    order.pay();
+    org.mockito.Mockito.when(orderService.findVersionById(order.getOrderId())).thenReturn(java.util.Optional.of(1L));
+    org.mockito.Mockito.when(orderService.findById(order.getOrderId())).thenReturn(java.util.Optional.of(order));
+
+    mvc.perform(get("/api/orders/{id}", order.getOrderId()).header("If-None-Match", "\"" + order.getOrderId() + ":0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + order.getOrderId() + ":1\""));
+
+    org.mockito.Mockito.verify(orderService).findVersionById(order.getOrderId());
+    org.mockito.Mockito.verify(orderService).findById(order.getOrderId());
+    }
+
+    @Test
+    @WithMockUser(roles = {"CUSTOMER"})
+    @DisplayName("GET /api/orders/{id} skips the version lookup when If-None-Match cannot match the order")
+    void getOrderWithForeignEtag() throws Exception {
+    com.midlevel.orderfulfillment.domain.model.Order order = com.midlevel.orderfulfillment.domain.model.Order.create("CUST-1",
+        List.of(com.midlevel.orderfulfillment.domain.model.OrderItem.of("P1", "Widget", com.midlevel.orderfulfillment.domain.model.Money.usd(BigDecimal.TEN), 1)),
+        new com.midlevel.orderfulfillment.domain.model.Address("123 Main", "SF", "CA", "94105", "US"));
+    org.mockito.Mockito.when(orderService.findById(order.getOrderId())).thenReturn(java.util.Optional.of(order));
+
+    mvc.perform(get("/api/orders/{id}", order.getOrderId()).header("If-None-Match", "\"ORD-OTHER:0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + order.getOrderId() + ":0\""));
+
+    org.mockito.Mockito.verify(orderService, org.mockito.Mockito.never()).findVersionById(org.mockito.ArgumentMatchers.anyString());
+    org.mockito.Mockito.verify(orderService).findById(order.getOrderId());
+    }
 }
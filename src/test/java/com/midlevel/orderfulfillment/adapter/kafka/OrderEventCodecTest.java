@@ -0,0 +1,127 @@
+package com.midlevel.orderfulfillment.adapter.kafka;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Order Event Codec Tests")
+class OrderEventCodecTest {
+
+    private static final String EVENT_ID = "018e0f6a-7c3b-7d2e-9a41-0c5b7e8f1234";
+    private static final String ORDER_ID = "018e0f6a-7c3b-7d2e-9a41-0c5b7e8f5678";
+    private static final Instant AT = Instant.parse("2024-03-01T12:00:00.123456Z");
+
+    @Test
+    @DisplayName("Round-trips all four order events field by field")
+    void roundTripsEveryEventType() {
+        List<DomainEvent> events = List.of(
+                new OrderCreatedEvent(EVENT_ID, ORDER_ID, "CUST-1", Money.usd(new BigDecimal("59.97")), 3, AT),
+                new OrderPaidEvent(EVENT_ID, ORDER_ID, "CUST-1", Money.of(new BigDecimal("1200"), "JPY"), AT),
+                new OrderShippedEvent(EVENT_ID, ORDER_ID, "CUST-1", AT),
+                new OrderCancelledEvent(EVENT_ID, ORDER_ID, "CUST-1", "Changed my mind – café closed", OrderStatus.PAID, AT),
+                new OrderCancelledEvent(EVENT_ID, ORDER_ID, null, null, null, AT));
+
+        for (DomainEvent event : events) {
+            DomainEvent decoded = OrderEventCodec.decode(OrderEventCodec.encode(event));
+
+            assertThat(decoded).isExactlyInstanceOf(event.getClass());
+            assertThat(decoded).usingRecursiveComparison()
+                    .withEqualsForType(Money::equals, Money.class)
+                    .isEqualTo(event);
+        }
+    }
+
+    @Test
+    @DisplayName("Packs UUIDs into 16 bytes and keeps other ids as strings")
+    void encodesIdsCompactly() {
+        byte[] uuidIds = OrderEventCodec.encode(new OrderShippedEvent(EVENT_ID, ORDER_ID, ORDER_ID, AT));
+        byte[] upperCase = OrderEventCodec.encode(
+                new OrderShippedEvent(EVENT_ID, ORDER_ID, ORDER_ID.toUpperCase(), AT));
+
+        // version + type + 3 x (tag + 16) + micros
+        assertThat(uuidIds).hasSize(2 + 3 * 17 + 8);
+        // Not canonical: stored as text so it round-trips unchanged
+        assertThat(((OrderShippedEvent) OrderEventCodec.decode(upperCase)).getCustomerId())
+                .isEqualTo(ORDER_ID.toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Truncates timestamps to microseconds")
+    void truncatesToMicros() {
+        Instant withNanos = Instant.parse("2024-03-01T12:00:00.123456789Z");
+
+        DomainEvent decoded = OrderEventCodec.decode(
+                OrderEventCodec.encode(new OrderShippedEvent(EVENT_ID, ORDER_ID, "CUST-1", withNanos)));
+
+        assertThat(decoded.getOccurredAt()).isEqualTo(AT);
+    }
+
+    @Test
+    @DisplayName("Rejects unknown versions, truncated input and unencodable amounts")
+    void rejectsInvalidInput() {
+        byte[] bytes = OrderEventCodec.encode(
+                new OrderPaidEvent(EVENT_ID, ORDER_ID, "CUST-1", Money.usd(new BigDecimal("10.00")), AT));
+        byte[] nextVersion = bytes.clone();
+        nextVersion[0] = OrderEventCodec.VERSION + 1;
+
+        assertThatThrownBy(() -> OrderEventCodec.decode(nextVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> OrderEventCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderEventCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Trailing");
+        assertThatThrownBy(() -> OrderEventCodec.encode(new OrderPaidEvent(
+                EVENT_ID, ORDER_ID, "CUST-1", Money.usd(new BigDecimal("100000000000000000000")), AT)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Rejects string lengths and counts that do not fit in an int")
+    void rejectsMalformedLengths() {
+        byte[] shipped = OrderEventCodec.encode(new OrderShippedEvent(EVENT_ID, ORDER_ID, "CUST-1", AT));
+        // version + type + eventId (tag + 16) + micros + orderId (tag + 16), then the customerId tag
+        int customerIdLength = 2 + 17 + 8 + 17 + 1;
+        byte[] negative = withVarint(shipped, customerIdLength, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x01);
+        byte[] tooLong = withVarint(shipped, customerIdLength, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x10);
+        byte[] created = OrderEventCodec.encode(
+                new OrderCreatedEvent(EVENT_ID, ORDER_ID, "CUST-1", Money.usd(new BigDecimal("1.00")), 1, AT));
+        byte[] hugeItemCount = withVarint(created, created.length - 1, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x10);
+
+        assertThatThrownBy(() -> OrderEventCodec.decode(negative))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("out of range");
+        assertThatThrownBy(() -> OrderEventCodec.decode(tooLong))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("out of range");
+        assertThatThrownBy(() -> OrderEventCodec.decode(hugeItemCount))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("out of range");
+    }
+
+    /**
+     * The first {@code at} bytes of an encoded event followed by the given varint.
+     */
+    private static byte[] withVarint(byte[] encoded, int at, byte... varint) {
+        byte[] bytes = Arrays.copyOf(encoded, at + varint.length);
+        System.arraycopy(varint, 0, bytes, at, varint.length);
+        return bytes;
+    }
+}
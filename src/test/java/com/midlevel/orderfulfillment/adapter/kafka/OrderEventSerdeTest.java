@@ -0,0 +1,101 @@
+package com.midlevel.orderfulfillment.adapter.kafka;
+
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Order Event Serializer / Deserializer Tests")
+class OrderEventSerdeTest {
+
+    private static final Instant PAID_AT = Instant.parse("2024-03-01T12:00:00.123456Z");
+
+    private final OrderPaidEvent event = new OrderPaidEvent(
+            "018e0f6a-7c3b-7d2e-9a41-0c5b7e8f1234", "018e0f6a-7c3b-7d2e-9a41-0c5b7e8f5678", "CUST-1",
+            Money.usd(new BigDecimal("59.97")), PAID_AT);
+    private final OrderEventDeserializer deserializer = new OrderEventDeserializer();
+
+    @Test
+    @DisplayName("JSON and binary records on the same topic both read back, told apart by header")
+    void readsBothFormats() {
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        byte[] json = serializer("json").serialize(KafkaConfig.TOPIC_ORDER_PAID, jsonHeaders, event);
+        byte[] binary = serializer("binary").serialize(KafkaConfig.TOPIC_ORDER_PAID, binaryHeaders, event);
+
+        assertThat(contentType(jsonHeaders)).isEqualTo(OrderEventCodec.JSON_CONTENT_TYPE);
+        assertThat(contentType(binaryHeaders)).isEqualTo(OrderEventCodec.BINARY_CONTENT_TYPE);
+        assertThat(binary.length).isLessThan(json.length / 3);
+        assertPaidEvent(deserializer.deserialize(KafkaConfig.TOPIC_ORDER_PAID, jsonHeaders, json));
+        assertPaidEvent(deserializer.deserialize(KafkaConfig.TOPIC_ORDER_PAID, binaryHeaders, binary));
+    }
+
+    @Test
+    @DisplayName("Reads JSON written before the header existed, typed by topic")
+    void readsLegacyJsonWithoutHeader() {
+        String json = """
+                {"eventId":"evt-1","orderId":"ORD-1","customerId":"CUST-1","reason":"Out of stock",
+                 "previousStatus":"PAID","occurredAt":1709294400.123456000,"aggregateId":"ORD-1"}
+                """;
+
+        DomainEvent read = deserializer.deserialize(
+                KafkaConfig.TOPIC_ORDER_CANCELLED, new RecordHeaders(), json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(read).isInstanceOf(OrderCancelledEvent.class);
+        OrderCancelledEvent cancelled = (OrderCancelledEvent) read;
+        assertThat(cancelled.getEventId()).isEqualTo("evt-1");
+        assertThat(cancelled.getReason()).isEqualTo("Out of stock");
+        assertThat(cancelled.getPreviousStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(cancelled.getOccurredAt()).isEqualTo(PAID_AT);
+    }
+
+    @Test
+    @DisplayName("Fails with SerializationException on unreadable records and unknown formats")
+    void rejectsInvalidInput() {
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        binaryHeaders.add(OrderEventCodec.CONTENT_TYPE_HEADER,
+                OrderEventCodec.BINARY_CONTENT_TYPE.getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> deserializer.deserialize(KafkaConfig.TOPIC_ORDER_PAID, binaryHeaders, new byte[] {1}))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> deserializer.deserialize("payments", new RecordHeaders(), "{}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer("avro"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OrderEventSerializer serializer(String format) {
+        OrderEventSerializer serializer = new OrderEventSerializer();
+        serializer.configure(Map.of(OrderEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static String contentType(RecordHeaders headers) {
+        return new String(headers.lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER).value(), StandardCharsets.US_ASCII);
+    }
+
+    private void assertPaidEvent(DomainEvent read) {
+        assertThat(read).isInstanceOf(OrderPaidEvent.class);
+        OrderPaidEvent paid = (OrderPaidEvent) read;
+        assertThat(paid.getEventId()).isEqualTo(event.getEventId());
+        assertThat(paid.getOrderId()).isEqualTo(event.getOrderId());
+        assertThat(paid.getCustomerId()).isEqualTo("CUST-1");
+        assertThat(paid.getTotalAmount()).isEqualTo(event.getTotalAmount());
+        assertThat(paid.getPaidAt()).isEqualTo(PAID_AT);
+        assertThat(paid.getOccurredAt()).isEqualTo(PAID_AT);
+    }
+}
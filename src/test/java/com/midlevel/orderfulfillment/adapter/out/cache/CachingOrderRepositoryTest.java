@@ -0,0 +1,137 @@
+package com.midlevel.orderfulfillment.adapter.out.cache;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Caching Order Repository Tests")
+class CachingOrderRepositoryTest {
+
+    private OrderRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCache cache;
+    private CachingOrderRepository repository;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(OrderRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OrderCache(meterRegistry, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        repository = new CachingOrderRepository(delegate, cache);
+        order = Order.create("CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+        when(delegate.findById(order.getOrderId())).thenReturn(Optional.of(order));
+        when(delegate.save(order)).thenReturn(order);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Repeat reads are served from the cache")
+    void cachesReads() {
+        assertThat(repository.findById(order.getOrderId())).contains(order);
+        assertThat(repository.findById(order.getOrderId())).contains(order);
+
+        verify(delegate, times(1)).findById(order.getOrderId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", OrderCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Unknown ids are remembered as not found")
+    void cachesMisses() {
+        when(delegate.findById("MISSING")).thenReturn(Optional.empty());
+
+        assertThat(repository.findById("MISSING")).isEmpty();
+        assertThat(repository.findById("MISSING")).isEmpty();
+
+        verify(delegate, times(1)).findById("MISSING");
+    }
+
+    @Test
+    @DisplayName("Reads inside a read-write transaction always go to the database")
+    void bypassesCacheForWrites() {
+        repository.findById(order.getOrderId());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        repository.findById(order.getOrderId());
+        repository.findById(order.getOrderId());
+
+        verify(delegate, times(3)).findById(order.getOrderId());
+    }
+
+    @Test
+    @DisplayName("save evicts the order now and again after commit")
+    void saveInvalidates() {
+        repository.findById(order.getOrderId());
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        repository.save(order);
+
+        // A read-only reader between the save and the commit reloads (and may cache the old row)
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        repository.findById(order.getOrderId());
+        // ... which the commit evicts again
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        repository.findById(order.getOrderId());
+
+        verify(delegate, times(3)).findById(order.getOrderId());
+        assertThat(meterRegistry.get("orders.cache.invalidations").tag("source", "write").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Order events evict the order")
+    void eventsInvalidate() {
+        OrderCacheInvalidator invalidator = new OrderCacheInvalidator(cache);
+
+        repository.findById(order.getOrderId());
+        order.pay();
+        order.getDomainEvents().forEach(invalidator::onDomainEvent);
+        repository.findById(order.getOrderId());
+
+        verify(delegate, times(2)).findById(order.getOrderId());
+    }
+
+    @Test
+    @DisplayName("streamByStatus goes to the delegate's status query, not the full-table default")
+    void streamByStatusDelegates() {
+        Consumer<Order> action = o -> { };
+
+        repository.streamByStatus(OrderStatus.PAID, 500, action);
+
+        verify(delegate).streamByStatus(OrderStatus.PAID, 500, action);
+        verify(delegate, never()).streamAll(anyInt(), any());
+    }
+}
@@ -0,0 +1,197 @@
+package com.midlevel.orderfulfillment.adapter.out.outbox;
+
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventCodec;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    private OutboxMessageRepository repository;
+    private MockProducer<String, byte[]> producer;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxMessageRepository.class);
+        // autoComplete=false: the test decides which sends succeed
+        producer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        meterRegistry = new SimpleMeterRegistry();
+        relay = relay(false);
+    }
+
+    @Test
+    @DisplayName("Sends a whole batch keyed by aggregate ID and deletes acknowledged rows")
+    void relaysBatchAndDeletesDelivered() {
+        List<OutboxMessage> batch = List.of(
+                message(1L, "ORD-1", "order.created"),
+                message(2L, "ORD-2", "order.created"),
+                message(3L, "ORD-1", "order.paid"));
+        when(repository.lockNextBatch(3)).thenReturn(batch);
+
+        completeSendsAsynchronously(3, -1);
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        assertThat(producer.history()).extracting(r -> r.key())
+                .containsExactly("ORD-1", "ORD-2", "ORD-1");
+        assertThat(producer.history()).extracting(r -> r.topic())
+                .containsExactly("order.created", "order.created", "order.paid");
+        assertThat(producer.history()).extracting(r -> new String(r.value(), StandardCharsets.UTF_8))
+                .containsExactly(batch.get(0).getPayload(), batch.get(1).getPayload(), batch.get(2).getPayload());
+        assertThat(producer.history()).extracting(OutboxRelayTest::contentType)
+                .containsOnly(OrderEventCodec.JSON_CONTENT_TYPE);
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(3, 0));
+        assertThat(meterRegistry.get("outbox.events.published").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("outbox.batch.size").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("outbox.batch.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Keeps a failed row and every later row for the same aggregate")
+    void keepsFailedAggregateInOrder() {
+        List<OutboxMessage> batch = List.of(
+                message(1L, "ORD-1", "order.created"),
+                message(2L, "ORD-2", "order.created"),
+                message(3L, "ORD-1", "order.paid"));
+        when(repository.lockNextBatch(3)).thenReturn(batch);
+
+        // First send (ORD-1 created) fails, the rest are acknowledged
+        completeSendsAsynchronously(3, 0);
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        verify(repository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(3, 2));
+        assertThat(meterRegistry.get("outbox.events.failed").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Applies the send timeout to the whole batch, not to each send")
+    void timesOutWholeBatchOnce() {
+        when(repository.lockNextBatch(3)).thenReturn(List.of(
+                message(1L, "ORD-1", "order.created"),
+                message(2L, "ORD-2", "order.created"),
+                message(3L, "ORD-3", "order.created")));
+
+        // No acknowledgement ever arrives
+        long start = System.nanoTime();
+        OutboxRelay.BatchResult result = relay.relayBatch();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(3, 3));
+        assertThat(elapsedMs).isLessThan(2_000);
+        verify(repository).deleteAllByIdInBatch(List.of());
+    }
+
+    @Test
+    @DisplayName("Drains full batches until the outbox is empty")
+    void drainsUntilEmpty() {
+        when(repository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(
+                        message(1L, "ORD-1", "order.created"),
+                        message(2L, "ORD-2", "order.created"),
+                        message(3L, "ORD-3", "order.created")))
+                .thenReturn(List.of(message(4L, "ORD-4", "order.created")))
+                .thenReturn(List.of());
+
+        completeSendsAsynchronously(4, -1);
+        relay.relayPending();
+
+        verify(repository, times(2)).lockNextBatch(3);
+        assertThat(producer.history()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Encodes payloads with OrderEventCodec when the wire format is binary")
+    void encodesBinaryWireFormat() {
+        relay = relay(true);
+        OutboxMessage shipped = new OutboxMessage("evt-1", "ORD-1", "OrderShippedEvent", "order.shipped",
+                "{\"eventId\":\"evt-1\",\"orderId\":\"ORD-1\",\"customerId\":\"CUST-1\","
+                        + "\"occurredAt\":\"2024-03-01T12:00:00Z\",\"shippedAt\":\"2024-03-01T12:00:00Z\"}",
+                Instant.now());
+        ReflectionTestUtils.setField(shipped, "id", 1L);
+        // No eventId: cannot be encoded, goes out as JSON
+        OutboxMessage unreadable = message(2L, "ORD-2", "order.created");
+        when(repository.lockNextBatch(3)).thenReturn(List.of(shipped, unreadable));
+
+        completeSendsAsynchronously(2, -1);
+        OutboxRelay.BatchResult result = relay.relayBatch();
+
+        assertThat(result).isEqualTo(new OutboxRelay.BatchResult(2, 0));
+        ProducerRecord<String, byte[]> binary = producer.history().get(0);
+        assertThat(contentType(binary)).isEqualTo(OrderEventCodec.BINARY_CONTENT_TYPE);
+        DomainEvent event = OrderEventCodec.decode(binary.value());
+        assertThat(event).isInstanceOf(OrderShippedEvent.class);
+        assertThat(event.getEventId()).isEqualTo("evt-1");
+        assertThat(((OrderShippedEvent) event).getShippedAt()).isEqualTo(Instant.parse("2024-03-01T12:00:00Z"));
+        ProducerRecord<String, byte[]> json = producer.history().get(1);
+        assertThat(contentType(json)).isEqualTo(OrderEventCodec.JSON_CONTENT_TYPE);
+        assertThat(new String(json.value(), StandardCharsets.UTF_8)).isEqualTo(unreadable.getPayload());
+    }
+
+    private OutboxRelay relay(boolean binary) {
+        return new OutboxRelay(
+                repository,
+                new KafkaTemplate<>(new MockProducerFactory<>(() -> producer)),
+                binary,
+                TransactionOperations.withoutTransaction(),
+                meterRegistry,
+                3,
+                1_000L);
+    }
+
+    private static String contentType(ProducerRecord<String, byte[]> record) {
+        return new String(record.headers().lastHeader(OrderEventCodec.CONTENT_TYPE_HEADER).value(),
+                StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Acknowledge sends from another thread as they arrive, failing the one at {@code failIndex}.
+     */
+    private void completeSendsAsynchronously(int expected, int failIndex) {
+        Thread acker = new Thread(() -> {
+            int completed = 0;
+            while (completed < expected) {
+                if (completed == failIndex) {
+                    if (producer.errorNext(new RuntimeException("broker unavailable"))) {
+                        completed++;
+                    }
+                } else if (producer.completeNext()) {
+                    completed++;
+                }
+                Thread.onSpinWait();
+            }
+        });
+        acker.setDaemon(true);
+        acker.start();
+    }
+
+    private static OutboxMessage message(long id, String aggregateId, String topic) {
+        OutboxMessage message = new OutboxMessage(
+                "evt-" + id, aggregateId, "OrderCreatedEvent", topic, "{\"orderId\":\"" + aggregateId + "\"}", Instant.now());
+        ReflectionTestUtils.setField(message, "id", id);
+        return message;
+    }
+}
@@ -0,0 +1,109 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test comparing one-order-per-call creation with batch creation.
+ * 
+ * Creates the same number of orders through createOrder (one transaction
+ * and one event publish per order) and through createOrders (batched
+ * transactions and event publishing), and compares throughput.
+ * 
+ * Tagged "load": excluded from the default build.
+ * Run with: mvn test -Dtest.excludedGroups= -Dgroups=load
+ */
+@SpringBootTest
+@Testcontainers
+@Tag("load")
+@DisplayName("Batch Order Creation Load Test")
+class BatchOrderCreationLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchOrderCreationLoadTest.class);
+
+    private static final int ORDER_COUNT = 2_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // SQL logging would dominate the measurement
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+        registry.add("logging.level.org.springframework.transaction", () -> "WARN");
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Batch creation is several times faster than one call per order")
+    void batchCreationOutperformsSingleCalls() {
+        List<OrderService.NewOrder> orders = newOrders("CUST-SINGLE", ORDER_COUNT);
+        List<OrderService.NewOrder> batch = newOrders("CUST-BATCH", ORDER_COUNT);
+
+        // Warm up both paths
+        newOrders("CUST-WARMUP", 200).forEach(o -> orderService.createOrder(o.customerId(), o.items(), o.shippingAddress()));
+        orderService.createOrders(newOrders("CUST-WARMUP", 200));
+
+        long singleStart = System.nanoTime();
+        for (OrderService.NewOrder order : orders) {
+            orderService.createOrder(order.customerId(), order.items(), order.shippingAddress());
+        }
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+        long batchStart = System.nanoTime();
+        List<BatchOrderResult> results = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += 1_000) {
+            results.addAll(orderService.createOrders(batch.subList(from, Math.min(from + 1_000, batch.size()))));
+        }
+        double batchSeconds = (System.nanoTime() - batchStart) / 1e9;
+
+        double singleRate = ORDER_COUNT / singleSeconds;
+        double batchRate = ORDER_COUNT / batchSeconds;
+        log.info(String.format("single: %,.0f orders/s   batch: %,.0f orders/s   speedup: %.1fx",
+                singleRate, batchRate, batchRate / singleRate));
+
+        assertThat(results).allMatch(BatchOrderResult::isCreated);
+        assertThat(batchRate).isGreaterThan(singleRate * 5);
+    }
+
+    private static List<OrderService.NewOrder> newOrders(String customerId, int count) {
+        Address address = Address.of("123 Load St", "Test City", "TS", "12345", "US");
+        List<OrderService.NewOrder> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<OrderItem> items = List.of(
+                    OrderItem.of("PROD-" + i, "Load Product", Money.usd(BigDecimal.TEN), 1),
+                    OrderItem.of("PROD-X", "Extra Product", Money.usd(BigDecimal.ONE), 2));
+            orders.add(new OrderService.NewOrder(customerId, items, address));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,132 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.*;
+import com.midlevel.orderfulfillment.domain.port.CustomerOrderQuery;
+import com.midlevel.orderfulfillment.domain.port.OrderCursor;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for paginated customer order history.
+ * 
+ * Seeds customers with 100, 1,000 and 10,000 orders and measures the median
+ * latency of fetching the newest page and a page from the middle of the history.
+ * With keyset pagination over (customer_id, created_at), page latency must stay
+ * flat as history grows; the old findByCustomerId grew linearly.
+ * 
+ * Tagged "load": excluded from the default build (seeding takes a while).
+ * Run with: mvn test -Dtest.excludedGroups= -Dgroups=load
+ */
+@SpringBootTest
+@Testcontainers
+@Tag("load")
+@DisplayName("Customer Order History Load Test")
+class CustomerOrderHistoryLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOrderHistoryLoadTest.class);
+
+    private static final int[] HISTORY_SIZES = {100, 1_000, 10_000};
+    private static final int PAGE_SIZE = 50;
+    private static final int SAMPLES = 31;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("Page latency stays flat as customer history grows")
+    void pageLatencyStaysFlat() {
+        Map<Integer, long[]> mediansBySize = new LinkedHashMap<>();
+
+        for (int historySize : HISTORY_SIZES) {
+            String customerId = "CUST-LOAD-" + historySize;
+            OrderCursor middle = seed(customerId, historySize);
+            CustomerOrderQuery query = CustomerOrderQuery.forCustomer(customerId);
+
+            // Warm up connection pool, JIT and the index pages
+            for (int i = 0; i < 10; i++) {
+                orderService.findCustomerHistory(query, null, PAGE_SIZE);
+            }
+
+            long newestPage = medianNanos(() -> orderService.findCustomerHistory(query, null, PAGE_SIZE));
+            long middlePage = medianNanos(() -> orderService.findCustomerHistory(query, middle, PAGE_SIZE));
+            mediansBySize.put(historySize, new long[]{newestPage, middlePage});
+
+            log.info(String.format("history=%,6d orders  newest page p50=%6.2f ms  middle page p50=%6.2f ms",
+                    historySize, newestPage / 1e6, middlePage / 1e6));
+        }
+
+        long[] smallest = mediansBySize.get(HISTORY_SIZES[0]);
+        long[] largest = mediansBySize.get(HISTORY_SIZES[HISTORY_SIZES.length - 1]);
+
+        // 100x more history may cost at most 3x (plus 5ms of noise) per page
+        long slackNanos = 5_000_000L;
+        assertThat(largest[0]).isLessThanOrEqualTo(smallest[0] * 3 + slackNanos);
+        assertThat(largest[1]).isLessThanOrEqualTo(smallest[1] * 3 + slackNanos);
+    }
+
+    /**
+     * Save {@code count} orders for the customer and return a cursor halfway through its history.
+     */
+    private OrderCursor seed(String customerId, int count) {
+        Address address = Address.of("123 Load St", "Test City", "TS", "12345", "US");
+        String middleOrderId = null;
+
+        for (int i = 0; i < count; i++) {
+            OrderItem item = OrderItem.of("PROD-" + i, "Load Product", Money.usd(BigDecimal.TEN), 1);
+            Order saved = orderRepository.save(Order.create(customerId, List.of(item), address));
+            if (i == count / 2) {
+                middleOrderId = saved.getOrderId();
+            }
+        }
+
+        // Re-read so the cursor carries the timestamp precision the database stored
+        Order middle = orderRepository.findById(middleOrderId).orElseThrow();
+        return OrderCursor.after(middle);
+    }
+
+    private static long medianNanos(Runnable call) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            call.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,79 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.port.EventOutbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Domain Event Publisher Tests")
+class DomainEventPublisherTest {
+
+    private final ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+    private final EventOutbox outbox = mock(EventOutbox.class);
+
+    @Test
+    @DisplayName("Spring mode publishes in memory and never touches an outbox")
+    void publishesToSpring() {
+        DomainEventPublisher publisher = new DomainEventPublisher(applicationEventPublisher, Optional.of(outbox), "spring");
+        Order order = paidOrder();
+        List<DomainEvent> events = List.copyOf(order.getDomainEvents());
+
+        publisher.publishEvents(order);
+
+        events.forEach(event -> verify(applicationEventPublisher).publishEvent(event));
+        verifyNoInteractions(outbox);
+        assertThat(order.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Kafka mode appends all of an order's events to the outbox at once")
+    @SuppressWarnings("unchecked")
+    void appendsOrderEventsInOneBatch() {
+        DomainEventPublisher publisher = new DomainEventPublisher(applicationEventPublisher, Optional.of(outbox), "Kafka");
+        Order order = paidOrder();
+        List<DomainEvent> events = List.copyOf(order.getDomainEvents());
+
+        publisher.publishEvents(order);
+
+        ArgumentCaptor<Collection<DomainEvent>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox, times(1)).append(captor.capture());
+        assertThat(captor.getValue()).containsExactlyElementsOf(events);
+        // Local listeners (notifications, cache invalidation) still get the events
+        events.forEach(event -> verify(applicationEventPublisher).publishEvent(event));
+        assertThat(order.getDomainEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Misconfiguration fails at startup, not on the first order")
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new DomainEventPublisher(applicationEventPublisher, Optional.of(outbox), "rabbit"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("rabbit");
+        assertThatThrownBy(() -> new DomainEventPublisher(applicationEventPublisher, Optional.empty(), "kafka"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("EventOutbox");
+    }
+
+    private static Order paidOrder() {
+        Order order = Order.create("CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 2)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+        order.pay();
+        return order;
+    }
+}
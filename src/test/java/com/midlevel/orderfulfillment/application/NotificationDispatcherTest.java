@@ -0,0 +1,255 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.application.NotificationDispatcher.Kind;
+import com.midlevel.orderfulfillment.application.NotificationDispatcher.OverflowPolicy;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.port.NotificationPort;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Notification Dispatcher Tests")
+class NotificationDispatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private NotificationPort notificationPort;
+    private OrderRepository orderRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationPort = mock(NotificationPort.class);
+        orderRepository = mock(OrderRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Sends CREATED + PAID within the window as one confirmation")
+    void coalescesCreatedAndPaid() {
+        dispatcher = dispatcher(10, OverflowPolicy.BLOCK, 200);
+        dispatcher.start();
+        Order order = order();
+
+        dispatcher.submit(Kind.CREATED, order);
+        dispatcher.submit(Kind.PAID, order);
+
+        verify(notificationPort, timeout(2_000)).sendOrderConfirmedNotification(order);
+        verify(notificationPort, never()).sendOrderCreatedNotification(any());
+        verify(notificationPort, never()).sendOrderPaidNotification(any());
+        assertThat(meterRegistry.get("notifications.coalesced").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Sends a held CREATED on its own once the window has passed")
+    void flushesCreatedAfterWindow() {
+        dispatcher = dispatcher(10, OverflowPolicy.BLOCK, 50);
+        dispatcher.start();
+        Order order = order();
+
+        dispatcher.submit(Kind.CREATED, order);
+
+        verify(notificationPort, timeout(2_000)).sendOrderCreatedNotification(order);
+        verify(notificationPort, never()).sendOrderConfirmedNotification(any());
+    }
+
+    @Test
+    @DisplayName("Releases a held CREATED before a later SHIPPED or CANCELLED for the same order")
+    void keepsPerOrderOrdering() {
+        dispatcher = dispatcher(10, OverflowPolicy.BLOCK, 10_000);
+        dispatcher.start();
+        Order order = order();
+
+        dispatcher.submit(Kind.CREATED, order);
+        dispatcher.submit(Kind.CANCELLED, order);
+
+        var inOrder = inOrder(notificationPort);
+        inOrder.verify(notificationPort, timeout(2_000)).sendOrderCreatedNotification(order);
+        inOrder.verify(notificationPort, timeout(2_000)).sendOrderCancelledNotification(order);
+    }
+
+    @Test
+    @DisplayName("Sends on the dispatcher thread with the submitter's correlation ID in the MDC")
+    void carriesMdcToDispatcherThread() throws Exception {
+        dispatcher = dispatcher(10, OverflowPolicy.BLOCK, 0);
+        dispatcher.start();
+        Order order = order();
+        AtomicReference<String> correlationId = new AtomicReference<>();
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch sent = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            correlationId.set(MDC.get("correlationId"));
+            thread.set(Thread.currentThread().getName());
+            sent.countDown();
+            return null;
+        }).when(notificationPort).sendOrderShippedNotification(order);
+
+        MDC.put("correlationId", "corr-123");
+        try {
+            dispatcher.submit(Kind.SHIPPED, order);
+        } finally {
+            MDC.clear();
+        }
+
+        assertThat(sent.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(thread.get()).isEqualTo("notification-dispatcher");
+        assertThat(correlationId.get()).isEqualTo("corr-123");
+    }
+
+    @Test
+    @DisplayName("Counts notifications submitted after stop() as dropped instead of queueing them")
+    void dropsSubmitsAfterStop() {
+        dispatcher = dispatcher(10, OverflowPolicy.BLOCK, 0);
+        dispatcher.start();
+        assertThat(dispatcher.isRunning()).isTrue();
+
+        dispatcher.stop();
+        dispatcher.submit(Kind.SHIPPED, order());
+
+        assertThat(dispatcher.isRunning()).isFalse();
+        assertThat(meterRegistry.get("notifications.queue.depth").gauge().value()).isZero();
+        assertThat(meterRegistry.get("notifications.dropped").tag("reason", "stopped").counter().count())
+                .isEqualTo(1.0);
+        verifyNoInteractions(notificationPort);
+    }
+
+    @Test
+    @DisplayName("SHED_OLDEST drops the oldest queued notification when full")
+    void shedsOldestWhenFull() {
+        // Not started: nothing drains the queue
+        dispatcher = dispatcher(2, OverflowPolicy.SHED_OLDEST, 200);
+
+        dispatcher.submit(Kind.SHIPPED, order());
+        dispatcher.submit(Kind.SHIPPED, order());
+        dispatcher.submit(Kind.SHIPPED, order());
+
+        assertThat(meterRegistry.get("notifications.queue.depth").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("notifications.dropped").tag("reason", "shed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("SPILL writes overflow to disk and replays it once the queue drains")
+    void spillsAndReplays() throws Exception {
+        dispatcher = dispatcher(1, OverflowPolicy.SPILL, 0);
+        Order first = order();
+        Order spilled = order();
+        when(orderRepository.findById(spilled.getOrderId())).thenReturn(Optional.of(spilled));
+
+        dispatcher.submit(Kind.SHIPPED, first);
+        dispatcher.submit(Kind.SHIPPED, spilled);
+
+        assertThat(Files.readAllLines(tempDir.resolve("notifications.spill")))
+                .containsExactly("SHIPPED," + spilled.getOrderId());
+        assertThat(meterRegistry.get("notifications.spilled").counter().count()).isEqualTo(1.0);
+
+        dispatcher.start();
+
+        var inOrder = inOrder(notificationPort);
+        inOrder.verify(notificationPort, timeout(2_000)).sendOrderShippedNotification(first);
+        inOrder.verify(notificationPort, timeout(2_000)).sendOrderShippedNotification(spilled);
+    }
+
+    @Test
+    @DisplayName("SPILL replay moves unreadable lines aside and keeps going")
+    void rejectsUnreadableSpilledLines() throws Exception {
+        Order spilled = order();
+        when(orderRepository.findById(spilled.getOrderId())).thenReturn(Optional.of(spilled));
+        Files.write(tempDir.resolve("notifications.spill"),
+                List.of("garbage", "REFUNDED," + spilled.getOrderId(), "SHIPPED," + spilled.getOrderId()));
+        dispatcher = dispatcher(10, OverflowPolicy.SPILL, 0);
+
+        dispatcher.start();
+
+        verify(notificationPort, timeout(2_000)).sendOrderShippedNotification(spilled);
+        assertThat(Files.readAllLines(tempDir.resolve("notifications.spill.rejected")))
+                .containsExactly("garbage", "REFUNDED," + spilled.getOrderId());
+        assertThat(meterRegistry.get("notifications.dropped").tag("reason", "spill_rejected").counter().count())
+                .isEqualTo(2.0);
+        assertThat(tempDir.resolve("notifications.spill.replay")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("SPILL replay resumes from the failed line when an order lookup fails")
+    void retriesSpilledLineAfterLookupFailure() throws Exception {
+        Order first = order();
+        Order second = order();
+        when(orderRepository.findById(first.getOrderId())).thenReturn(Optional.of(first));
+        when(orderRepository.findById(second.getOrderId()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(Optional.of(second));
+        Files.write(tempDir.resolve("notifications.spill"),
+                List.of("SHIPPED," + first.getOrderId(), "SHIPPED," + second.getOrderId()));
+        dispatcher = dispatcher(10, OverflowPolicy.SPILL, 0);
+
+        dispatcher.start();
+
+        verify(notificationPort, timeout(3_000)).sendOrderShippedNotification(second);
+        // The replay offset moved past the first line before the failed lookup, so it is sent once
+        verify(notificationPort, times(1)).sendOrderShippedNotification(first);
+        assertThat(tempDir.resolve("notifications.spill.rejected")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("SPILL replay resumes from the saved offset after a restart and deletes the file when done")
+    void resumesReplayFromSavedOffset() throws Exception {
+        Order replayed = order();
+        Order pending = order();
+        when(orderRepository.findById(pending.getOrderId())).thenReturn(Optional.of(pending));
+        String firstLine = "SHIPPED," + replayed.getOrderId() + System.lineSeparator();
+        Files.writeString(tempDir.resolve("notifications.spill.replay"),
+                firstLine + "SHIPPED," + pending.getOrderId() + System.lineSeparator());
+        Files.writeString(tempDir.resolve("notifications.spill.replay.offset"), Integer.toString(firstLine.length()));
+        dispatcher = dispatcher(10, OverflowPolicy.SPILL, 0);
+
+        dispatcher.start();
+
+        verify(notificationPort, timeout(2_000)).sendOrderShippedNotification(pending);
+        dispatcher.stop();
+        verify(orderRepository, never()).findById(replayed.getOrderId());
+        assertThat(tempDir.resolve("notifications.spill.replay")).doesNotExist();
+        assertThat(tempDir.resolve("notifications.spill.replay.offset")).doesNotExist();
+    }
+
+    private NotificationDispatcher dispatcher(int capacity, OverflowPolicy policy, long coalesceWindowMs) {
+        Counter sent = meterRegistry.counter("notifications.sent");
+        return new NotificationDispatcher(notificationPort, orderRepository, sent, meterRegistry,
+                capacity, policy, 10, coalesceWindowMs, tempDir.resolve("notifications.spill").toString());
+    }
+
+    private static Order order() {
+        return Order.create("CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("123 Main St", "Springfield", "IL", "62701", "US"));
+    }
+}
@@ -0,0 +1,211 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderVersionConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test for concurrent transitions on the same order.
+ *
+ * Every round creates a handful of "hot" orders and releases several threads
+ * at once on each of them, mixing pay, ship and cancel. Afterwards it checks
+ * that no update was lost: the stored version of every order equals the
+ * number of transition events that actually committed for it, and the
+ * committed events match the final state (never both cancelled and shipped).
+ *
+ * Prints throughput, the conflict rate (orders.conflicts) and the outcome mix.
+ *
+ * Tagged "load": excluded from the default build.
+ * Run with: mvn test -Dtest.excludedGroups= -Dgroups=load -Dtest=OrderContentionLoadTest
+ */
+@SpringBootTest
+@Testcontainers
+@Tag("load")
+@DisplayName("Order Contention Load Test")
+class OrderContentionLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderContentionLoadTest.class);
+
+    private static final int ROUNDS = 50;
+    private static final int HOT_ORDERS = 10;
+    private static final int WRITERS_PER_ORDER = 8;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("events.publisher", () -> "spring");
+        // SQL logging would dominate the measurement
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.springframework.transaction", () -> "WARN");
+        registry.add("logging.level.com.midlevel.orderfulfillment", () -> "WARN");
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CommittedTransitions committedTransitions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Concurrent pay/ship/cancel on hot orders loses no updates")
+    void concurrentTransitionsLoseNoUpdates() throws Exception {
+        List<Function<String, Order>> actions = List.of(
+                orderService::markOrderAsPaid,
+                orderService::markOrderAsShipped,
+                orderService::cancelOrder);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        List<String> orderIds = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(HOT_ORDERS * WRITERS_PER_ORDER)) {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<?>> writers = new ArrayList<>();
+                for (int o = 0; o < HOT_ORDERS; o++) {
+                    String orderId = newOrder().getOrderId();
+                    orderIds.add(orderId);
+                    for (int w = 0; w < WRITERS_PER_ORDER; w++) {
+                        Function<String, Order> action = actions.get((o + w) % actions.size());
+                        writers.add(executor.submit(() -> {
+                            go.await();
+                            outcomes.computeIfAbsent(outcome(() -> action.apply(orderId)), k -> new LongAdder())
+                                    .increment();
+                            return null;
+                        }));
+                    }
+                }
+                go.countDown();
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (String orderId : orderIds) {
+            Order order = orderService.findById(orderId).orElseThrow();
+            List<Class<?>> events = committedTransitions.of(orderId);
+
+            assertThat(order.getVersion())
+                    .as("version of %s vs committed transitions %s", orderId, events)
+                    .isEqualTo(events.size());
+            // Listeners of back-to-back commits may run in either order, so compare as sets
+            if (order.getStatus() == OrderStatus.CANCELLED) {
+                assertThat(events).contains(OrderCancelledEvent.class).doesNotContain(OrderShippedEvent.class);
+            }
+            if (order.getStatus() == OrderStatus.SHIPPED) {
+                assertThat(events).containsExactlyInAnyOrder(OrderPaidEvent.class, OrderShippedEvent.class);
+            }
+        }
+
+        long calls = (long) ROUNDS * HOT_ORDERS * WRITERS_PER_ORDER;
+        log.info(String.format("calls=%,d  throughput=%,.0f transitions/s  conflicts retried=%,.0f exhausted=%,.0f (%.1f%% of calls)",
+                calls, calls / seconds, conflicts("retried"), conflicts("exhausted"),
+                100.0 * (conflicts("retried") + conflicts("exhausted")) / calls));
+        outcomes.forEach((outcome, count) -> log.info(String.format("  %-12s %,d", outcome, count.sum())));
+    }
+
+    private static String outcome(Runnable call) {
+        try {
+            call.run();
+            return "applied";
+        } catch (OrderVersionConflictException e) {
+            return "conflict";
+        } catch (IllegalStateException e) {
+            return "rejected";
+        }
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.find("orders.conflicts").tag("outcome", outcome).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private Order newOrder() {
+        return orderService.createOrder("CUST-HOT",
+                List.of(OrderItem.of("PROD-1", "Hot Product", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("1 Contention Way", "Test City", "TS", "12345", "US"));
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        CommittedTransitions committedTransitions() {
+            return new CommittedTransitions();
+        }
+    }
+
+    /**
+     * Records transition events only once their transaction has committed,
+     * i.e. the state changes that really reached the database.
+     */
+    static class CommittedTransitions {
+
+        private final Map<String, ConcurrentLinkedQueue<Class<?>>> byOrder = new ConcurrentHashMap<>();
+
+        @TransactionalEventListener
+        void on(DomainEvent event) {
+            if (event instanceof OrderPaidEvent || event instanceof OrderShippedEvent
+                    || event instanceof OrderCancelledEvent) {
+                byOrder.computeIfAbsent(event.getAggregateId(), id -> new ConcurrentLinkedQueue<>())
+                        .add(event.getClass());
+            }
+        }
+
+        List<Class<?>> of(String orderId) {
+            return List.copyOf(byOrder.getOrDefault(orderId, new ConcurrentLinkedQueue<>()));
+        }
+    }
+}
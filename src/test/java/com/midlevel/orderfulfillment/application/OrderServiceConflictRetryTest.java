@@ -0,0 +1,111 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import com.midlevel.orderfulfillment.domain.port.OrderRepository;
+import com.midlevel.orderfulfillment.domain.port.OrderVersionConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Order Service Conflict Retry Tests")
+class OrderServiceConflictRetryTest {
+
+    private static final String ORDER_ID = "ORD-CONFLICT-1";
+
+    private OrderRepository orderRepository;
+    private DomainEventPublisher eventPublisher;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        eventPublisher = mock(DomainEventPublisher.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(
+                orderRepository,
+                eventPublisher,
+                meterRegistry.counter("orders.created"),
+                meterRegistry.counter("orders.failures"),
+                meterRegistry.counter("orders.status.changes"),
+                meterRegistry.timer("orders.creation.time"),
+                transactionManager,
+                mock(RetryScheduler.class),
+                meterRegistry,
+                3);
+        // Every load returns a fresh copy, like the database would
+        when(orderRepository.findById(ORDER_ID)).thenAnswer(invocation -> Optional.of(storedOrder()));
+    }
+
+    @Test
+    @DisplayName("Reloads the order and re-applies the transition after a version conflict")
+    void retriesOnFreshlyLoadedOrder() {
+        AtomicInteger saves = new AtomicInteger();
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            if (saves.incrementAndGet() == 1) {
+                throw new OrderVersionConflictException(ORDER_ID, 0);
+            }
+            return invocation.getArgument(0);
+        });
+
+        Order result = orderService.markOrderAsPaid(ORDER_ID);
+
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.PAID);
+        verify(orderRepository, times(2)).findById(ORDER_ID);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(eventPublisher, times(1)).publishEvents(any(Order.class));
+        assertThat(conflicts("order.pay", "retried")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Gives up with a version conflict after max attempts")
+    void stopsAfterMaxAttempts() {
+        when(orderRepository.save(any(Order.class)))
+                .thenThrow(new OptimisticLockingFailureException("row changed"));
+
+        assertThatThrownBy(() -> orderService.cancelOrder(ORDER_ID))
+                .isInstanceOf(OrderVersionConflictException.class)
+                .hasCauseInstanceOf(OptimisticLockingFailureException.class)
+                .extracting(e -> ((OrderVersionConflictException) e).getOrderId())
+                .isEqualTo(ORDER_ID);
+
+        verify(orderRepository, times(3)).findById(ORDER_ID);
+        assertThat(conflicts("order.cancel", "retried")).isEqualTo(2.0);
+        assertThat(conflicts("order.cancel", "exhausted")).isEqualTo(1.0);
+    }
+
+    private double conflicts(String operation, String outcome) {
+        return meterRegistry.get("orders.conflicts").tag("operation", operation).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static Order storedOrder() {
+        Order order = Order.create(() -> ORDER_ID, "CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+        order.markPersisted();
+        order.clearDomainEvents();
+        return order;
+    }
+}
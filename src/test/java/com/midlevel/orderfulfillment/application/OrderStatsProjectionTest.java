@@ -0,0 +1,182 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.IdGenerators;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Order Stats Projection Tests")
+class OrderStatsProjectionTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T12:00:00Z");
+
+    private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private OrderStatsProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(T0);
+        projection = new OrderStatsProjection(orderService, meterRegistry, clock, 5, false);
+    }
+
+    @Test
+    @DisplayName("Events move orders between status counts and add payments to revenue")
+    void appliesEvents() {
+        projection.on(new OrderCreatedEvent("ORD-1", "CUST-1", usd("10.00"), 1, T0));
+        projection.on(new OrderCreatedEvent("ORD-2", "CUST-1", usd("5.50"), 1, T0));
+        projection.on(new OrderCreatedEvent("ORD-3", "CUST-1", Money.of(new BigDecimal("7"), "EUR"), 1, T0));
+        projection.on(new OrderPaidEvent("ORD-1", "CUST-1", usd("10.00"), T0));
+        projection.on(new OrderPaidEvent("ORD-2", "CUST-1", usd("5.50"), T0));
+        projection.on(new OrderShippedEvent("ORD-1", "CUST-1", T0));
+        projection.on(new OrderCancelledEvent("ORD-2", "CUST-1", "changed mind", OrderStatus.PAID, T0));
+        projection.on(new OrderCancelledEvent("ORD-3", "CUST-1", "changed mind", OrderStatus.CREATED, T0));
+
+        OrderStats stats = projection.snapshot(1);
+
+        assertThat(stats.countsByStatus()).containsEntry(OrderStatus.CREATED, 0L)
+                .containsEntry(OrderStatus.PAID, 0L)
+                .containsEntry(OrderStatus.SHIPPED, 1L)
+                .containsEntry(OrderStatus.CANCELLED, 2L);
+        assertThat(stats.revenueByCurrency()).containsExactlyEntriesOf(Map.of("USD", new BigDecimal("15.50")));
+        assertThat(meterRegistry.get("orders.stats.count").tag("status", "CANCELLED").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("orders.stats.revenue").tag("currency", "USD").gauge().value()).isEqualTo(15.5);
+    }
+
+    @Test
+    @DisplayName("Per-minute windows count transitions in the minute they happened")
+    void bucketsByMinute() {
+        projection.on(new OrderCreatedEvent("ORD-1", "CUST-1", usd("10.00"), 1, T0));
+        projection.on(new OrderCreatedEvent("ORD-2", "CUST-1", usd("10.00"), 1, T0.plusSeconds(30)));
+        clock.set(T0.plusSeconds(125));
+        projection.on(new OrderPaidEvent("ORD-1", "CUST-1", usd("10.00"), clock.instant()));
+
+        List<OrderStats.Minute> minutes = projection.snapshot(3).minutes();
+
+        assertThat(minutes).extracting(OrderStats.Minute::start)
+                .containsExactly(T0, T0.plusSeconds(60), T0.plusSeconds(120));
+        assertThat(minutes.get(0).transitions()).containsEntry(OrderStatus.CREATED, 2L);
+        assertThat(minutes.get(1).transitions().values()).containsOnly(0L);
+        assertThat(minutes.get(2).transitions()).containsEntry(OrderStatus.PAID, 1L);
+        assertThat(minutes.get(2).revenueByCurrency()).containsEntry("USD", new BigDecimal("10.00"));
+    }
+
+    @Test
+    @DisplayName("Minutes that left the window are dropped and their slots reused")
+    void expiresOldMinutes() {
+        projection.on(new OrderCreatedEvent("ORD-1", "CUST-1", usd("10.00"), 1, T0));
+        clock.set(T0.plus(Duration.ofMinutes(5)));  // same ring slot as T0 with a 5-minute window
+
+        projection.on(new OrderCreatedEvent("ORD-2", "CUST-1", usd("10.00"), 1, T0));  // late, outside window
+        projection.on(new OrderCreatedEvent("ORD-3", "CUST-1", usd("10.00"), 1, clock.instant()));
+
+        List<OrderStats.Minute> minutes = projection.snapshot(10).minutes();
+
+        assertThat(minutes).hasSize(5);
+        assertThat(minutes.get(4).start()).isEqualTo(T0.plus(Duration.ofMinutes(5)));
+        assertThat(minutes.get(4).transitions()).containsEntry(OrderStatus.CREATED, 1L);
+        assertThat(minutes.stream().mapToLong(m -> m.transitions().get(OrderStatus.CREATED)).sum()).isEqualTo(1L);
+        // Totals are not windowed
+        assertThat(projection.snapshot(0).countsByStatus()).containsEntry(OrderStatus.CREATED, 3L);
+    }
+
+    @Test
+    @DisplayName("Rebuild seeds totals and recent minutes from stored orders")
+    void rebuildsFromRepository() {
+        Clock at = Clock.fixed(T0, ZoneOffset.UTC);
+        Order created = newOrder(at);
+        Order paid = newOrder(at);
+        paid.pay(at);
+        Order shipped = newOrder(at);
+        shipped.pay(at);
+        shipped.ship(at);
+        Order cancelled = newOrder(at);
+        cancelled.pay(at);
+        cancelled.cancel(at);
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(0);
+            List.of(created, paid, shipped, cancelled).forEach(consumer);
+            return null;
+        }).when(orderService).streamAll(any());
+
+        projection.rebuild();
+        OrderStats stats = projection.snapshot(1);
+
+        assertThat(stats.countsByStatus()).containsEntry(OrderStatus.CREATED, 1L)
+                .containsEntry(OrderStatus.PAID, 1L)
+                .containsEntry(OrderStatus.SHIPPED, 1L)
+                .containsEntry(OrderStatus.CANCELLED, 1L);
+        assertThat(stats.revenueByCurrency()).containsEntry("USD", new BigDecimal("30.00"));
+        assertThat(stats.minutes().get(0).transitions()).containsEntry(OrderStatus.CREATED, 4L)
+                .containsEntry(OrderStatus.PAID, 3L);
+    }
+
+    private static Order newOrder(Clock clock) {
+        return Order.create(IdGenerators.current(), clock, "CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", usd("10.00"), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+    }
+
+    private static Money usd(String amount) {
+        return Money.usd(new BigDecimal(amount));
+    }
+
+    /**
+     * Clock the test can move forward.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
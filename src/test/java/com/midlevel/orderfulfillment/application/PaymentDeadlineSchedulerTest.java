@@ -0,0 +1,180 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Payment Deadline Scheduler Tests")
+class PaymentDeadlineSchedulerTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T12:00:00Z");
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private PaymentDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        when(orderService.cancelUnpaidOrders(any())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> BulkTransitionResult.success(id, OrderStatus.CANCELLED)).toList();
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(T0);
+        // Ticks are driven by the test, never by the executor
+        scheduler = new PaymentDeadlineScheduler(orderService, meterRegistry, clock, TIMEOUT, 1_000, 2,
+                mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    @DisplayName("Cancels an order that is still unpaid when its deadline passes")
+    void cancelsUnpaidOrderAfterDeadline() {
+        scheduler.on(created("ORD-1", T0));
+
+        clock.set(T0.plus(TIMEOUT).minusSeconds(1));
+        scheduler.tick();
+        verify(orderService, never()).cancelUnpaidOrders(any());
+
+        clock.set(T0.plus(TIMEOUT));
+        scheduler.tick();
+        verify(orderService).cancelUnpaidOrders(List.of("ORD-1"));
+        assertThat(expired("cancelled")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Paying an order removes its deadline")
+    void paymentCancelsTimer() {
+        scheduler.on(created("ORD-1", T0));
+        scheduler.on(new OrderPaidEvent("ORD-1", "CUST-1", usd(), T0.plusSeconds(60)));
+
+        clock.set(T0.plus(TIMEOUT).plusSeconds(5));
+        scheduler.tick();
+
+        verify(orderService, never()).cancelUnpaidOrders(any());
+        assertThat(meterRegistry.get("orders.payment-deadline.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("A mass expiry is cancelled one batch per tick")
+    void cancelsInBatches() {
+        for (int i = 1; i <= 5; i++) {
+            scheduler.on(created("ORD-" + i, T0));
+        }
+        clock.set(T0.plus(TIMEOUT));
+
+        scheduler.tick();
+        assertThat(meterRegistry.get("orders.payment-deadline.due").gauge().value()).isEqualTo(3.0);
+        scheduler.tick();
+        scheduler.tick();
+
+        verify(orderService).cancelUnpaidOrders(List.of("ORD-1", "ORD-2"));
+        verify(orderService).cancelUnpaidOrders(List.of("ORD-3", "ORD-4"));
+        verify(orderService).cancelUnpaidOrders(List.of("ORD-5"));
+        assertThat(expired("cancelled")).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Keeps expired orders queued when the database is unavailable")
+    void retriesFailedBatch() {
+        scheduler.on(created("ORD-1", T0));
+        clock.set(T0.plus(TIMEOUT));
+        when(orderService.cancelUnpaidOrders(any()))
+                .thenThrow(new QueryTimeoutException("brownout"))
+                .thenReturn(List.of(BulkTransitionResult.success("ORD-1", OrderStatus.CANCELLED)));
+
+        scheduler.tick();
+        scheduler.tick();
+
+        verify(orderService, times(2)).cancelUnpaidOrders(List.of("ORD-1"));
+        assertThat(expired("failed")).isEqualTo(1.0);
+        assertThat(expired("cancelled")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Rebuilds deadlines for unpaid orders on startup")
+    void rebuildsFromUnpaidOrders() {
+        Order stale = Order.create(() -> "ORD-OLD", Clock.fixed(T0.minus(Duration.ofHours(2)), ZoneOffset.UTC),
+                "CUST-1", List.of(OrderItem.of("PROD-1", "Widget", usd(), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(1);
+            consumer.accept(stale);
+            return null;
+        }).when(orderService).streamByStatus(eq(OrderStatus.CREATED), any());
+
+        scheduler.afterSingletonsInstantiated();
+        scheduler.tick();
+
+        verify(orderService).cancelUnpaidOrders(List.of("ORD-OLD"));
+    }
+
+    private double expired(String outcome) {
+        return meterRegistry.get("orders.payment-deadline.expired").tag("outcome", outcome).counter().count();
+    }
+
+    private static OrderCreatedEvent created(String orderId, Instant at) {
+        return new OrderCreatedEvent(orderId, "CUST-1", usd(), 1, at);
+    }
+
+    private static Money usd() {
+        return Money.usd(BigDecimal.TEN);
+    }
+
+    /**
+     * Clock the test can move forward.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.midlevel.orderfulfillment.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Retry Scheduler Tests")
+class RetrySchedulerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Retries a transient failure on the scheduler thread, not the caller's")
+    void retriesTransientFailureInBackground() throws Exception {
+        RetryScheduler scheduler = scheduler(new RetryBudget(1.0, 10));
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicReference<Thread> retryThread = new AtomicReference<>();
+
+        CompletableFuture<String> result = scheduler.submit("order.pay", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new QueryTimeoutException("brownout");
+            }
+            retryThread.set(Thread.currentThread());
+            return "paid";
+        });
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("paid");
+        assertThat(attempts).hasValue(2);
+        assertThat(retryThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(calls("order.pay", "recovered")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("retry.attempts").tag("operation", "order.pay").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Fails immediately on a non-transient failure")
+    void doesNotRetryPermanentFailure() {
+        RetryScheduler scheduler = scheduler(new RetryBudget(1.0, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduler.submit("order.create", () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(attempts).hasValue(1);
+        assertThat(calls("order.create", "failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Gives up after max attempts")
+    void stopsAfterMaxAttempts() {
+        RetryScheduler scheduler = scheduler(new RetryBudget(1.0, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = scheduler.submit("order.ship", () -> {
+            attempts.incrementAndGet();
+            throw new QueryTimeoutException("still down");
+        });
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThat(attempts).hasValue(3);
+        assertThat(calls("order.ship", "exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Fails fast once retries would exceed the budget's share of traffic")
+    void respectsRetryBudget() {
+        // 10% budget: the first nine calls earn 0.9 tokens, not enough for one retry
+        RetryBudget budget = new RetryBudget(0.1, 10);
+        RetryScheduler scheduler = scheduler(budget);
+
+        for (int i = 0; i < 9; i++) {
+            CompletableFuture<String> result = scheduler.submit("order.cancel", () -> {
+                throw new QueryTimeoutException("brownout");
+            });
+            assertThat(result).isCompletedExceptionally();
+        }
+
+        assertThat(calls("order.cancel", "budget_exhausted")).isEqualTo(9.0);
+        assertThat(budget.available()).isCloseTo(0.9, within(0.001));
+    }
+
+    private RetryScheduler scheduler(RetryBudget budget) {
+        return new RetryScheduler(executor, budget, meterRegistry, 3, 5, 20);
+    }
+
+    private double calls(String operation, String outcome) {
+        return meterRegistry.get("retry.calls").tag("operation", operation).tag("outcome", outcome)
+                .counter().count();
+    }
+}
@@ -0,0 +1,191 @@
+package com.midlevel.orderfulfillment.application;
+
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Shipment SLA Watchdog Tests")
+class ShipmentSlaWatchdogTest {
+
+    private static final Instant T0 = Instant.parse("2024-03-01T12:00:00Z");
+    private static final Duration SHIP_BY = Duration.ofHours(24);
+    private static final Duration WARNING = Duration.ofHours(4);
+
+    private OrderService orderService;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ShipmentSlaWatchdog watchdog;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(T0);
+        // Ticks are driven by the test, never by the executor
+        watchdog = new ShipmentSlaWatchdog(orderService, eventPublisher, meterRegistry, clock,
+                SHIP_BY, WARNING, 1_000, mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    @DisplayName("A paid order goes at risk, then breaches its ship-by deadline")
+    void reportsBreach() {
+        watchdog.on(paid("ORD-1", T0));
+        tickAt(T0.plusSeconds(1));
+        assertThat(gauge("orders.ship-sla.watched")).isEqualTo(1.0);
+        assertThat(gauge("orders.ship-sla.at-risk")).isZero();
+
+        tickAt(T0.plus(SHIP_BY).minus(WARNING));
+        assertThat(gauge("orders.ship-sla.at-risk")).isEqualTo(1.0);
+        verifyNoInteractions(eventPublisher);
+
+        tickAt(T0.plus(SHIP_BY));
+        assertThat(gauge("orders.ship-sla.at-risk")).isZero();
+        assertThat(gauge("orders.ship-sla.breached")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("orders.ship-sla.breaches").counter().count()).isEqualTo(1.0);
+
+        ArgumentCaptor<ShipmentSlaBreachedEvent> captor = ArgumentCaptor.forClass(ShipmentSlaBreachedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().orderId()).isEqualTo("ORD-1");
+        assertThat(captor.getValue().paidAt()).isEqualTo(T0);
+        assertThat(captor.getValue().shipBy()).isEqualTo(T0.plus(SHIP_BY));
+
+        // Reported once, not on every tick
+        tickAt(T0.plus(SHIP_BY).plusSeconds(60));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Shipping or cancelling an order stops the watch")
+    void shippedOrdersAreNotReported() {
+        watchdog.on(paid("ORD-1", T0));
+        watchdog.on(paid("ORD-2", T0));
+        watchdog.on(paid("ORD-3", T0));
+        tickAt(T0.plus(SHIP_BY).minus(WARNING));
+        assertThat(gauge("orders.ship-sla.at-risk")).isEqualTo(3.0);
+
+        watchdog.on(new OrderShippedEvent("ORD-1", "CUST-1", T0.plus(Duration.ofHours(21))));
+        watchdog.on(new OrderCancelledEvent("ORD-2", "CUST-1", "Out of stock", OrderStatus.PAID,
+                T0.plus(Duration.ofHours(21))));
+        tickAt(T0.plus(SHIP_BY));
+
+        assertThat(gauge("orders.ship-sla.watched")).isEqualTo(1.0);
+        assertThat(gauge("orders.ship-sla.at-risk")).isZero();
+        assertThat(gauge("orders.ship-sla.breached")).isEqualTo(1.0);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ShipmentSlaBreachedEvent breach && breach.orderId().equals("ORD-3")));
+
+        watchdog.on(new OrderShippedEvent("ORD-3", "CUST-1", T0.plus(Duration.ofHours(25))));
+        tickAt(T0.plus(Duration.ofHours(25)));
+        assertThat(gauge("orders.ship-sla.watched")).isZero();
+        assertThat(gauge("orders.ship-sla.breached")).isZero();
+    }
+
+    @Test
+    @DisplayName("Rebuilds the index from paid orders on startup")
+    void rebuildsFromPaidOrders() {
+        Order late = paidOrder("ORD-LATE", T0.minus(Duration.ofHours(30)));
+        Order fresh = paidOrder("ORD-FRESH", T0.minus(Duration.ofHours(1)));
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(1);
+            consumer.accept(late);
+            consumer.accept(fresh);
+            return null;
+        }).when(orderService).streamByStatus(eq(OrderStatus.PAID), any());
+
+        watchdog.afterSingletonsInstantiated();
+        tickAt(T0);
+
+        assertThat(gauge("orders.ship-sla.watched")).isEqualTo(2.0);
+        assertThat(gauge("orders.ship-sla.breached")).isEqualTo(1.0);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ShipmentSlaBreachedEvent breach && breach.orderId().equals("ORD-LATE")));
+    }
+
+    @Test
+    @DisplayName("Rejects a warning window longer than the SLA")
+    void rejectsInvalidWarning() {
+        assertThatThrownBy(() -> new ShipmentSlaWatchdog(orderService, eventPublisher, meterRegistry, clock,
+                SHIP_BY, Duration.ofHours(25), 1_000, mock(ScheduledExecutorService.class)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void tickAt(Instant now) {
+        clock.set(now);
+        watchdog.tick();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static OrderPaidEvent paid(String orderId, Instant at) {
+        return new OrderPaidEvent(orderId, "CUST-1", Money.usd(BigDecimal.TEN), at);
+    }
+
+    private static Order paidOrder(String orderId, Instant paidAt) {
+        Clock at = Clock.fixed(paidAt, ZoneOffset.UTC);
+        Order order = Order.create(() -> orderId, at, "CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+        order.pay(at);
+        return order;
+    }
+
+    /**
+     * Clock the test can move forward.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.midlevel.orderfulfillment.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Timing Wheel Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    // 10ms tick, 8 buckets per level, 3 levels: spans of 80ms, 640ms, 5.12s
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 8, 3, START);
+
+    @Test
+    @DisplayName("Fires a timer on the tick of its deadline, not before")
+    void firesAtDeadline() {
+        wheel.add(new TimingWheel.Timer<>("a", START + 35));
+
+        assertThat(advance(START + 30)).isEmpty();
+        assertThat(advance(START + 40)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Timers on coarse levels cascade down and fire on time")
+    void cascadesAcrossLevels() {
+        wheel.add(new TimingWheel.Timer<>("level1", START + 500));
+        wheel.add(new TimingWheel.Timer<>("level2", START + 4_000));
+
+        assertThat(advance(START + 490)).isEmpty();
+        assertThat(advance(START + 500)).containsExactly("level1");
+        assertThat(advance(START + 3_990)).isEmpty();
+        assertThat(advance(START + 4_000)).containsExactly("level2");
+    }
+
+    @Test
+    @DisplayName("Deadlines beyond the top level's span still fire on time")
+    void handlesDeadlinesBeyondTheWheel() {
+        wheel.add(new TimingWheel.Timer<>("far", START + 60_000));
+
+        assertThat(advance(START + 59_990)).isEmpty();
+        assertThat(advance(START + 60_000)).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("Removed and cancelled timers never fire")
+    void removedTimersDoNotFire() {
+        TimingWheel.Timer<String> removed = new TimingWheel.Timer<>("removed", START + 100);
+        TimingWheel.Timer<String> cancelled = new TimingWheel.Timer<>("cancelled", START + 100);
+        wheel.add(removed);
+        wheel.add(cancelled);
+        wheel.add(new TimingWheel.Timer<>("kept", START + 100));
+
+        wheel.remove(removed);
+        cancelled.cancel();
+
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(advance(START + 200)).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Past deadlines fire on the next advance")
+    void firesOverdueTimersImmediately() {
+        wheel.add(new TimingWheel.Timer<>("late", START - 1_000));
+
+        assertThat(advance(START)).containsExactly("late");
+    }
+
+    @Test
+    @DisplayName("Every timer fires exactly once, within one tick of its deadline")
+    void firesRandomDeadlinesOnTime() {
+        List<TimingWheel.Timer<String>> timers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            TimingWheel.Timer<String> timer = new TimingWheel.Timer<>("t" + i,
+                    START + ThreadLocalRandom.current().nextLong(1, 20_000));
+            timers.add(timer);
+            wheel.add(timer);
+        }
+
+        List<String> late = new ArrayList<>();
+        List<String> fired = new ArrayList<>();
+        for (long now = START; now <= START + 20_000; now += 10) {
+            long tickNow = now;
+            wheel.advanceTo(now, timer -> {
+                fired.add(timer.payload());
+                if (tickNow < timer.deadlineMillis() || tickNow - timer.deadlineMillis() >= 10) {
+                    late.add(timer.payload());
+                }
+            });
+        }
+
+        assertThat(fired).hasSize(timers.size()).doesNotHaveDuplicates();
+        assertThat(late).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Rejects a wheel size that is not a power of two")
+    void rejectsInvalidWheelSize() {
+        assertThatThrownBy(() -> new TimingWheel<String>(10, 10, 3, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> advance(long nowMillis) {
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(nowMillis, timer -> fired.add(timer.payload()));
+        return fired;
+    }
+}
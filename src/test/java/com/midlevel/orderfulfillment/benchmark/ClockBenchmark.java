@@ -0,0 +1,89 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.CoarseClock;
+import com.midlevel.orderfulfillment.domain.model.IdGenerator;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import com.midlevel.orderfulfillment.domain.model.SteppingClock;
+import com.midlevel.orderfulfillment.domain.model.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the domain time source.
+ *
+ * - now: one clock read
+ * - createPayShip: an order through create, pay and ship (four timestamps,
+ *   three events), with every timestamp taken from the clock under test
+ *
+ * clock=system is Instant.now(); coarse is the cached CoarseClock; stepping
+ * is the deterministic clock used for replays (same timestamps every run).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockBenchmark {
+
+    @Param({"system", "coarse", "stepping"})
+    public String clock;
+
+    private Clock source;
+    private IdGenerator idGenerator;
+    private List<OrderItem> items;
+    private Address shippingAddress;
+
+    @Setup
+    public void setUp() {
+        source = switch (clock) {
+            case "system" -> Clock.systemUTC();
+            case "coarse" -> CoarseClock.start(1);
+            case "stepping" -> new SteppingClock(Instant.parse("2024-01-01T00:00:00Z"), Duration.ofMillis(1));
+            default -> throw new IllegalArgumentException(clock);
+        };
+        idGenerator = new UuidV7Generator();
+        items = List.of(OrderItem.of("PROD-1", "Product 1", Money.usd(new BigDecimal("19.99")), 2));
+        shippingAddress = Address.usAddress("123 Main St", "San Francisco", "CA", "94105");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (source instanceof CoarseClock coarse) {
+            coarse.close();
+        }
+    }
+
+    @Benchmark
+    public Instant now() {
+        return source.instant();
+    }
+
+    @Benchmark
+    public Order createPayShip() {
+        Order order = Order.create(idGenerator, source, "CUST-BENCH", items, shippingAddress);
+        order.pay(source);
+        order.ship(source);
+        return order;
+    }
+}
@@ -0,0 +1,105 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.application.DomainEventPublisher;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for DomainEventPublisher.publishEvents.
+ *
+ * publishEvents clears the aggregate's events, so every invocation needs a
+ * fresh order. Instead of a per-invocation @Setup (which distorts timings at
+ * this scale), the benchmark pairs each publish with its own baseline:
+ *
+ *   publish cost = createAndPublish - createOnly
+ *   batch publish cost = createBatchAndPublish - createBatchOnly
+ *
+ * Events go to an ApplicationEventPublisher that only feeds a Blackhole,
+ * with no outbox configured, so this measures the publisher itself rather
+ * than listeners or the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainEventPublisherBenchmark {
+
+    // Basket sizes: single item, typical cart, large B2B order
+    @Param({"1", "10", "200"})
+    public int lineCount;
+
+    private static final int BATCH_SIZE = 100;
+
+    private List<OrderItem> items;
+    private Address shippingAddress;
+    private DomainEventPublisher publisher;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        items = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            items.add(OrderItem.of(
+                    "PROD-" + i,
+                    "Product " + i,
+                    Money.usd(BigDecimal.valueOf(9.99 + i)),
+                    1 + (i % 5)
+            ));
+        }
+        shippingAddress = Address.usAddress("123 Main St", "San Francisco", "CA", "94105");
+        publisher = new DomainEventPublisher(blackhole::consume, Optional.empty(), "spring");
+    }
+
+    @Benchmark
+    public Order createOnly() {
+        return Order.create("CUST-BENCH", items, shippingAddress);
+    }
+
+    @Benchmark
+    public Order createAndPublish() {
+        Order order = Order.create("CUST-BENCH", items, shippingAddress);
+        publisher.publishEvents(order);
+        return order;
+    }
+
+    @Benchmark
+    public List<Order> createBatchOnly() {
+        return createBatch();
+    }
+
+    @Benchmark
+    public List<Order> createBatchAndPublish() {
+        List<Order> orders = createBatch();
+        publisher.publishEvents(orders);
+        return orders;
+    }
+
+    private List<Order> createBatch() {
+        List<Order> orders = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            orders.add(Order.create("CUST-BENCH", items, shippingAddress));
+        }
+        return orders;
+    }
+}
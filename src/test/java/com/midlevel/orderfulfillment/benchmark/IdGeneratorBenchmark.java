@@ -0,0 +1,60 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.RandomUuidGenerator;
+import com.midlevel.orderfulfillment.domain.model.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for id generation: random UUIDv4 vs time-ordered UUIDv7.
+ *
+ * - randomUuid / uuidV7: one thread
+ * - randomUuidContended / uuidV7Contended: 8 threads at once, where v4 shares
+ *   one SecureRandom and v7 keeps all state per thread
+ *
+ * Generation cost only; the effect on Postgres insert rate and primary key
+ * index size is measured by IdGeneratorIndexLoadTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final RandomUuidGenerator randomUuid = new RandomUuidGenerator();
+    private final UuidV7Generator uuidV7 = new UuidV7Generator();
+
+    @Benchmark
+    public String randomUuid() {
+        return randomUuid.nextId();
+    }
+
+    @Benchmark
+    public String uuidV7() {
+        return uuidV7.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuidContended() {
+        return randomUuid.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidV7Contended() {
+        return uuidV7.nextId();
+    }
+}
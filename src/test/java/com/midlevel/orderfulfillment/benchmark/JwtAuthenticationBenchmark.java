@@ -0,0 +1,93 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.config.security.JwtPrincipal;
+import com.midlevel.orderfulfillment.config.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark for per-request JWT authentication cost.
+ *
+ * Compares:
+ * - threeParses: what JwtAuthenticationFilter used to do
+ *   (validateToken + getUsernameFromToken + getRolesFromToken, 3 HMAC checks)
+ * - parseVerified: one parse and one signature check returning a JwtPrincipal
+ *
+ * Expect parseVerified to take roughly a third of the time of threeParses.
+ *
+ * Also measures the raw provider operations used at login and per request:
+ * - generateToken: sign a new token (AuthController login/register)
+ * - validateToken: verify signature and expiry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "ThisIsAVerySecureSecretKeyForJWTTokenGenerationAndValidationPleaseChangeInProduction");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 86_400_000L);
+        tokenProvider.init();
+
+        token = tokenProvider.generateToken("bench-user", "ROLE_CUSTOMER,ROLE_ADMIN");
+    }
+
+    /**
+     * Previous filter behaviour: three parser invocations per request.
+     */
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        if (tokenProvider.validateToken(token)) {
+            String username = tokenProvider.getUsernameFromToken(token);
+            List<SimpleGrantedAuthority> authorities = Arrays.stream(tokenProvider.getRolesFromToken(token).split(","))
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+            blackhole.consume(username);
+            blackhole.consume(authorities);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("bench-user", "ROLE_CUSTOMER,ROLE_ADMIN");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    /**
+     * Current filter behaviour: a single verified parse.
+     */
+    @Benchmark
+    public Optional<JwtPrincipal> parseVerified() {
+        return tokenProvider.parseVerified(token);
+    }
+}
@@ -0,0 +1,80 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for Money arithmetic over a basket.
+ *
+ * - sumBasket: adds every unit price (what Order totals do)
+ * - multiplyLines: price x quantity per line (what line totals do)
+ * - sumHugeAmounts: same sum with amounts too large for the long fast path,
+ *   to keep the BigDecimal fallback honest
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    // Basket sizes: single item, typical cart, large B2B order
+    @Param({"1", "10", "200"})
+    public int lineCount;
+
+    private Money[] prices;
+    private int[] quantities;
+    private Money[] hugePrices;
+
+    @Setup
+    public void setUp() {
+        prices = new Money[lineCount];
+        quantities = new int[lineCount];
+        hugePrices = new Money[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            prices[i] = Money.usd(BigDecimal.valueOf(9.99 + i));
+            quantities[i] = 1 + (i % 5);
+            hugePrices[i] = Money.usd(new BigDecimal("100000000000000000000").add(BigDecimal.valueOf(i)));
+        }
+    }
+
+    @Benchmark
+    public Money sumBasket() {
+        Money total = Money.usd(BigDecimal.ZERO);
+        for (Money price : prices) {
+            total = total.add(price);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void multiplyLines(Blackhole blackhole) {
+        for (int i = 0; i < prices.length; i++) {
+            blackhole.consume(prices[i].multiply(quantities[i]));
+        }
+    }
+
+    @Benchmark
+    public Money sumHugeAmounts() {
+        Money total = Money.usd(BigDecimal.ZERO);
+        for (Money price : hugePrices) {
+            total = total.add(price);
+        }
+        return total;
+    }
+}
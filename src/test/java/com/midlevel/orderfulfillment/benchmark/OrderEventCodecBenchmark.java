@@ -0,0 +1,122 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventDeserializer;
+import com.midlevel.orderfulfillment.adapter.kafka.OrderEventSerializer;
+import com.midlevel.orderfulfillment.config.KafkaConfig;
+import com.midlevel.orderfulfillment.domain.event.DomainEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCancelledEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderCreatedEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderPaidEvent;
+import com.midlevel.orderfulfillment.domain.event.OrderShippedEvent;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the Kafka value format of the order events: JSON (what
+ * Spring's JsonSerializer wrote) vs OrderEventCodec binary, through
+ * OrderEventSerializer / OrderEventDeserializer including the contentType header.
+ *
+ * - serializeJson / serializeBinary: event -> record value
+ * - deserializeJson / deserializeBinary: record value -> event
+ *
+ * Payload sizes per format are printed at setup; allocation per operation
+ * comes from the gc profiler the benchmark profile enables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventCodecBenchmark.class);
+
+    @Param({"created", "paid", "shipped", "cancelled"})
+    public String eventType;
+
+    private OrderEventSerializer jsonSerializer;
+    private OrderEventSerializer binarySerializer;
+    private OrderEventDeserializer deserializer;
+    private DomainEvent event;
+    private String topic;
+    private RecordHeaders jsonHeaders;
+    private RecordHeaders binaryHeaders;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        String orderId = UUID.randomUUID().toString();
+        String customerId = UUID.randomUUID().toString();
+        Instant at = Instant.parse("2024-03-01T12:00:00.123456Z");
+        Money total = Money.usd(new BigDecimal("149.97"));
+        switch (eventType) {
+            case "created" -> {
+                event = new OrderCreatedEvent(orderId, customerId, total, 3, at);
+                topic = KafkaConfig.TOPIC_ORDER_CREATED;
+            }
+            case "paid" -> {
+                event = new OrderPaidEvent(orderId, customerId, total, at);
+                topic = KafkaConfig.TOPIC_ORDER_PAID;
+            }
+            case "shipped" -> {
+                event = new OrderShippedEvent(orderId, customerId, at);
+                topic = KafkaConfig.TOPIC_ORDER_SHIPPED;
+            }
+            case "cancelled" -> {
+                event = new OrderCancelledEvent(orderId, customerId, "Customer request", OrderStatus.PAID, at);
+                topic = KafkaConfig.TOPIC_ORDER_CANCELLED;
+            }
+            default -> throw new IllegalArgumentException(eventType);
+        }
+
+        jsonSerializer = new OrderEventSerializer(false);
+        binarySerializer = new OrderEventSerializer(true);
+        deserializer = new OrderEventDeserializer();
+        jsonHeaders = new RecordHeaders();
+        binaryHeaders = new RecordHeaders();
+        json = jsonSerializer.serialize(topic, jsonHeaders, event);
+        binary = binarySerializer.serialize(topic, binaryHeaders, event);
+        log.info(String.format("%s: json=%d bytes, binary=%d bytes", eventType, json.length, binary.length));
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(topic, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(topic, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public DomainEvent deserializeJson() {
+        return deserializer.deserialize(topic, jsonHeaders, json);
+    }
+
+    @Benchmark
+    public DomainEvent deserializeBinary() {
+        return deserializer.deserialize(topic, binaryHeaders, binary);
+    }
+}
@@ -0,0 +1,101 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.mapper.OrderDtoMapper;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the create -> pay -> respond cycle of an order.
+ *
+ * This is the path a typical order takes through the application:
+ * - Order.create() validates the total and raises OrderCreatedEvent
+ * - pay() raises OrderPaidEvent with the total
+ * - OrderDtoMapper.toResponse() maps the total and every line total
+ *
+ * Each of those steps reads the order total, so this benchmark shows how much
+ * memoizing the total (and line totals) saves. Run with the GC profiler to
+ * see allocations per operation:
+ *
+ *   java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main OrderLifecycleBenchmark -prof gc
+ *
+ * Compare "gc.alloc.rate.norm" (bytes allocated per operation) across line counts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderLifecycleBenchmark {
+
+    // Basket sizes: single item, typical cart, large B2B order
+    @Param({"1", "10", "200"})
+    public int lineCount;
+
+    private List<OrderItem> items;
+    private Address shippingAddress;
+    private OrderDtoMapper mapper;
+    private Order prebuiltOrder;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            items.add(OrderItem.of(
+                    "PROD-" + i,
+                    "Product " + i,
+                    Money.usd(BigDecimal.valueOf(9.99 + i)),
+                    1 + (i % 5)
+            ));
+        }
+        shippingAddress = Address.usAddress("123 Main St", "San Francisco", "CA", "94105");
+        mapper = new OrderDtoMapper();
+        prebuiltOrder = Order.create("CUST-BENCH", items, shippingAddress);
+    }
+
+    /**
+     * Aggregate construction alone: validation, line totals, order total, creation event.
+     */
+    @Benchmark
+    public Order create() {
+        return Order.create("CUST-BENCH", items, shippingAddress);
+    }
+
+    /**
+     * Full cycle: create, pay and map to the API response.
+     */
+    @Benchmark
+    public OrderResponse createPayRespond() {
+        Order order = Order.create("CUST-BENCH", items, shippingAddress);
+        order.pay();
+        return mapper.toResponse(order);
+    }
+
+    /**
+     * Repeated total reads on an existing order (toString, events, mapper all do this).
+     */
+    @Benchmark
+    public Money readTotalTwice() {
+        prebuiltOrder.calculateTotal();
+        return prebuiltOrder.getTotalAmount();
+    }
+}
@@ -0,0 +1,94 @@
+package com.midlevel.orderfulfillment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.midlevel.orderfulfillment.adapter.in.web.dto.OrderResponse;
+import com.midlevel.orderfulfillment.adapter.in.web.mapper.OrderDtoMapper;
+import com.midlevel.orderfulfillment.domain.model.Address;
+import com.midlevel.orderfulfillment.domain.model.Money;
+import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the response side of the API: domain -> DTO -> JSON bytes.
+ *
+ * - toResponse: OrderDtoMapper only
+ * - serializeResponse: Jackson only, on a pre-mapped OrderResponse
+ * - toJson: both, i.e. what a GET /api/orders/{id} spends after loading the order
+ *
+ * The ObjectMapper is configured like Spring Boot's (java.time module,
+ * ISO-8601 dates) so the numbers match production serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    // Basket sizes: single item, typical cart, large B2B order
+    @Param({"1", "10", "200"})
+    public int lineCount;
+
+    private OrderDtoMapper mapper;
+    private ObjectMapper objectMapper;
+    private Order order;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        List<OrderItem> items = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            items.add(OrderItem.of(
+                    "PROD-" + i,
+                    "Product " + i,
+                    Money.usd(BigDecimal.valueOf(9.99 + i)),
+                    1 + (i % 5)
+            ));
+        }
+        order = Order.create("CUST-BENCH", items,
+                Address.usAddress("123 Main St", "San Francisco", "CA", "94105"));
+        order.pay();
+
+        mapper = new OrderDtoMapper();
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = mapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return mapper.toResponse(order);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] toJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapper.toResponse(order));
+    }
+}
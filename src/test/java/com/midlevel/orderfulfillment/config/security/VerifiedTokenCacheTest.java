@@ -0,0 +1,111 @@
+package com.midlevel.orderfulfillment.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Verified Token Cache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET =
+            "ThisIsAVerySecureSecretKeyForJWTTokenGenerationAndValidationPleaseChangeInProduction";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.now());
+        cache = new VerifiedTokenCache(tokenProvider(86_400_000L), meterRegistry, clock, 100);
+    }
+
+    @Test
+    @DisplayName("Returns principal with authorities and counts repeat tokens as hits")
+    void cachesVerifiedTokens() {
+        String token = tokenProvider(86_400_000L).generateToken("alice", "ROLE_CUSTOMER,ROLE_ADMIN");
+
+        Optional<JwtPrincipal> first = cache.get(token);
+        Optional<JwtPrincipal> second = cache.get(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().username()).isEqualTo("alice");
+        assertThat(first.get().authorities()).extracting("authority")
+                .containsExactly("ROLE_CUSTOMER", "ROLE_ADMIN");
+        assertThat(second).containsSame(first.get());
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Rejects invalid tokens without caching them")
+    void doesNotCacheInvalidTokens() {
+        assertThat(cache.get("not-a-jwt")).isEmpty();
+        assertThat(cache.get("not-a-jwt")).isEmpty();
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Never serves an expired token")
+    void neverServesExpiredTokens() {
+        // Token valid for one second (exp has second granularity)
+        String token = tokenProvider(1_000L).generateToken("bob", "ROLE_CUSTOMER");
+        assertThat(cache.get(token)).isPresent();
+
+        clock.set(clock.instant().plusSeconds(2));
+
+        assertThat(cache.get(token)).isEmpty();
+    }
+
+    private static JwtTokenProvider tokenProvider(long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+        provider.init();
+        return provider;
+    }
+
+    /**
+     * Clock the test can move forward.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
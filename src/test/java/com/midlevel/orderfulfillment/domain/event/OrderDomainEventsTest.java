@@ -3,6 +3,7 @@ package com.midlevel.orderfulfillment.domain.event;
 import com.midlevel.orderfulfillment.domain.model.Address;
 import com.midlevel.orderfulfillment.domain.model.Money;
 import com.midlevel.orderfulfillment.domain.model.Order;
+import com.midlevel.orderfulfillment.domain.model.OrderStatus;
 import com.midlevel.orderfulfillment.domain.model.OrderItem;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -103,6 +104,7 @@ class OrderDomainEventsTest {
         assertThat(event.getOrderId()).isEqualTo(order.getOrderId());
         assertThat(event.getCustomerId()).isEqualTo(order.getCustomerId());
         assertThat(event.getReason()).isNotBlank();
+        assertThat(event.getPreviousStatus()).isEqualTo(OrderStatus.CREATED);
     }
     
     @Test
@@ -0,0 +1,80 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Domain Clock Tests")
+class DomainClockTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Stepping clock moves forward one step per read")
+    void steppingClockSteps() {
+        SteppingClock clock = new SteppingClock(START, Duration.ofSeconds(1));
+
+        assertEquals(START, clock.instant());
+        assertEquals(START.plusSeconds(1), clock.instant());
+        assertEquals(START.plusSeconds(2), clock.withZone(ZoneId.of("Europe/Paris")).instant());
+    }
+
+    @Test
+    @DisplayName("Order timestamps and event times come from the given clock")
+    void orderUsesGivenClock() {
+        SteppingClock clock = new SteppingClock(START, Duration.ofMinutes(1));
+        Order order = Order.create(() -> "ORDER-1", clock, "CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+
+        order.pay(clock);
+        order.ship(clock);
+
+        assertEquals(START, order.getCreatedAt());
+        assertEquals(START.plusSeconds(60), order.getPaidAt());
+        assertEquals(START.plusSeconds(120), order.getShippedAt());
+        assertEquals(List.of(START, START.plusSeconds(60), START.plusSeconds(120)),
+                order.getDomainEvents().stream().map(event -> event.getOccurredAt()).toList());
+    }
+
+    @Test
+    @DisplayName("Transitions without a clock use the installed domain clock")
+    void orderUsesInstalledClock() {
+        Clock previous = DomainClock.current();
+        DomainClock.use(Clock.fixed(START, ZoneId.of("UTC")));
+        try {
+            Order order = Order.create("CUST-1",
+                    List.of(OrderItem.of("PROD-1", "Widget", Money.usd(BigDecimal.TEN), 1)),
+                    Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+            order.cancel();
+
+            assertEquals(START, order.getCreatedAt());
+            assertTrue(order.getDomainEvents().stream().allMatch(event -> START.equals(event.getOccurredAt())));
+        } finally {
+            DomainClock.use(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Coarse clock returns the cached instant until the next tick")
+    void coarseClockCachesUntilTick() {
+        SteppingClock source = new SteppingClock(START, Duration.ofMillis(1));
+        try (CoarseClock clock = CoarseClock.start(source, 60_000)) {
+            assertEquals(START, clock.instant());
+            assertEquals(START, clock.instant());
+
+            clock.tick();
+
+            assertEquals(START.plusMillis(1), clock.instant());
+            assertEquals(START.plusMillis(1).toEpochMilli(), clock.millis());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert rate and primary key index size in Postgres: UUIDv4 vs UUIDv7 order ids.
+ *
+ * Inserts the same number of rows keyed by each generator into an orders-like
+ * table (36-character string key, as Order stores it) and prints rows/s and
+ * the size of the primary key index.
+ *
+ * Expect v7 to insert faster and to leave a noticeably smaller index: v7 keys
+ * append to the right-most leaf page, while v4 keys split random pages and
+ * leave them about half full.
+ *
+ * Run with:
+ *   mvn test -Dtest.excludedGroups= -Dgroups=load -Dtest=IdGeneratorIndexLoadTest
+ *
+ * Tagged "load": excluded from the default build.
+ */
+@Testcontainers
+@Tag("load")
+@DisplayName("Id Generator Index Load Test")
+class IdGeneratorIndexLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorIndexLoadTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Test
+    @DisplayName("Reports insert rate and primary key index size for v4 and v7 ids")
+    void compareGenerators() throws Exception {
+        IndexResult v4 = insertAll("ids_uuid_v4", new RandomUuidGenerator());
+        IndexResult v7 = insertAll("ids_uuid_v7", new UuidV7Generator());
+
+        for (IndexResult result : new IndexResult[] {v4, v7}) {
+            log.info(String.format("table=%-12s rows=%,d  insert=%,9.0f rows/s  pk index=%,6d KiB",
+                    result.table(), ROWS, result.rowsPerSecond(), result.indexBytes() / 1024));
+        }
+
+        assertThat(v7.indexBytes()).isLessThan(v4.indexBytes());
+    }
+
+    private IndexResult insertAll(String table, IdGenerator generator) throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE " + table + " (order_id VARCHAR(36) PRIMARY KEY, "
+                        + "customer_id VARCHAR(64) NOT NULL, created_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+            }
+
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (order_id, customer_id) VALUES (?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setString(1, generator.nextId());
+                    insert.setString(2, "CUST-" + (i % 1_000));
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            connection.setAutoCommit(true);
+
+            try (Statement query = connection.createStatement();
+                 ResultSet size = query.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+                size.next();
+                return new IndexResult(table, ROWS / seconds, size.getLong(1));
+            }
+        }
+    }
+
+    private record IndexResult(String table, double rowsPerSecond, long indexBytes) {}
+}
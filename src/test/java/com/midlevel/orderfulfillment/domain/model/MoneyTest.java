@@ -0,0 +1,98 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Value Object Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Scales to currency digits and rounds half up")
+    void scalesAndRounds() {
+        Money money = Money.usd(new BigDecimal("10.005"));
+        assertEquals(new BigDecimal("10.01"), money.getAmount());
+        assertEquals("10.01 USD", money.toString());
+
+        Money yen = Money.of(new BigDecimal("100.4"), "JPY");
+        assertEquals(new BigDecimal("100"), yen.getAmount());
+    }
+
+    @Test
+    @DisplayName("add and multiply produce exact results")
+    void addAndMultiply() {
+        Money price = Money.usd(new BigDecimal("19.99"));
+        assertEquals(Money.usd(new BigDecimal("59.97")), price.multiply(3));
+        assertEquals(Money.usd(new BigDecimal("39.98")), price.add(price));
+        assertTrue(price.multiply(0).isZero());
+    }
+
+    @Test
+    @DisplayName("Falls back to BigDecimal when long arithmetic overflows")
+    void overflowFallsBackToBigDecimal() {
+        // Long.MAX_VALUE minor units
+        Money max = Money.usd(new BigDecimal("92233720368547758.07"));
+
+        Money doubled = max.add(max);
+        assertEquals(new BigDecimal("184467440737095516.14"), doubled.getAmount());
+
+        Money tripled = max.multiply(3);
+        assertEquals(new BigDecimal("276701161105643274.21"), tripled.getAmount());
+        assertTrue(tripled.isGreaterThan(doubled));
+    }
+
+    @Test
+    @DisplayName("Amounts too large for a long are created and compared correctly")
+    void hugeAmounts() {
+        Money huge = Money.usd(new BigDecimal("100000000000000000000"));
+        Money same = Money.usd(new BigDecimal("100000000000000000000.00"));
+
+        assertEquals(huge, same);
+        assertEquals(huge.hashCode(), same.hashCode());
+        assertFalse(huge.isZero());
+        assertTrue(huge.isGreaterThan(Money.usd(BigDecimal.ONE)));
+    }
+
+    @Test
+    @DisplayName("Equality and hashCode are value-based across representations")
+    void equalityAndHash() {
+        Money a = Money.usd(new BigDecimal("2.5"));
+        Money b = Money.usd(new BigDecimal("2.50"));
+        Money c = Money.of(new BigDecimal("2.50"), "EUR");
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, c);
+
+        // A sum that overflowed the long fast path equals the same amount created directly
+        Money max = Money.usd(new BigDecimal("92233720368547758.07"));
+        Money viaBigDecimal = Money.usd(new BigDecimal("184467440737095516.14"));
+        assertEquals(viaBigDecimal, max.add(max));
+        assertEquals(viaBigDecimal.hashCode(), max.add(max).hashCode());
+    }
+
+    @Test
+    @DisplayName("Converts to and from minor units")
+    void minorUnits() {
+        assertEquals(1999L, Money.usd(new BigDecimal("19.99")).toMinorUnits());
+        assertEquals(Money.usd(new BigDecimal("19.99")), Money.ofMinor(1999L, "USD"));
+        assertEquals(Money.of(new BigDecimal("500"), "JPY"), Money.ofMinor(500L, "JPY"));
+
+        assertThrows(ArithmeticException.class,
+                () -> Money.usd(new BigDecimal("100000000000000000000")).toMinorUnits());
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(-1L, "USD"));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1L, "XXX"));
+    }
+
+    @Test
+    @DisplayName("Rejects negative amounts and mixed currencies")
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> Money.usd(new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class, () -> Money.usd(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.usd(BigDecimal.ONE).add(Money.of(BigDecimal.ONE, "EUR")));
+    }
+}
@@ -108,6 +108,22 @@ class OrderTest {
             Money expectedTotal = Money.usd(BigDecimal.valueOf(45.00));
             assertEquals(expectedTotal, total, "Total should be $45.00");
         }
+
+        @Test
+        @DisplayName("Should compute total once and reuse it")
+        void shouldReuseComputedTotal() {
+            // Arrange - create order
+            Order order = Order.create(customerId, validItems, shippingAddress);
+
+            // Act - read the total through every accessor
+            Money total = order.calculateTotal();
+
+            // Assert - same instance everywhere, including the creation event
+            assertSame(total, order.calculateTotal(), "Total should be memoized");
+            assertSame(total, order.getTotalAmount(), "getTotalAmount() should return the memoized total");
+            assertSame(validItems.get(0).calculateLineTotal(), validItems.get(0).calculateLineTotal(),
+                    "Line totals should be memoized");
+        }
         
         @Test
         @DisplayName("Should throw exception when customer ID is null")
@@ -164,6 +180,17 @@ class OrderTest {
             );
         }
         
+        @Test
+        @DisplayName("Should throw exception when items list contains null")
+        void shouldThrowExceptionWhenItemsContainNull() {
+            // Act & Assert
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> Order.create(customerId, Arrays.asList(validItems.get(0), null), shippingAddress),
+                "Should throw exception for a null item"
+            );
+        }
+        
         @Test
         @DisplayName("Should throw exception when shipping address is null")
         void shouldThrowExceptionWhenAddressIsNull() {
@@ -401,6 +428,38 @@ class OrderTest {
     @DisplayName("State Transition Tests")
     class StateTransitionTests {
         
+        @Test
+        @DisplayName("Version starts at 0 and grows by one per state change, not per no-op")
+        void shouldIncrementVersionPerStateChange() {
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            assertEquals(0, order.getVersion());
+            
+            order.pay();
+            order.pay();  // idempotent - no change
+            assertEquals(1, order.getVersion());
+            
+            order.ship();
+            assertEquals(2, order.getVersion());
+        }
+        
+        @Test
+        @DisplayName("Persisted version is the version a save must find in the database")
+        void shouldTrackPersistedVersion() {
+            Order order = Order.create(customerId, validItems, shippingAddress);
+            assertEquals(-1, order.getPersistedVersion(), "New orders are not stored yet");
+
+            order.markPersisted();
+            assertEquals(0, order.getPersistedVersion());
+
+            order.pay();
+            order.ship();
+            assertEquals(0, order.getPersistedVersion(), "Unsaved changes don't move the expected version");
+            assertEquals(2, order.getVersion());
+
+            order.markPersisted();
+            assertEquals(2, order.getPersistedVersion());
+        }
+
         @Test
         @DisplayName("Should follow valid state transition: CREATED -> PAID -> SHIPPED")
         void shouldFollowValidTransitionPath() {
@@ -0,0 +1,107 @@
+package com.midlevel.orderfulfillment.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UUIDv7 Generator Tests")
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    @DisplayName("Produces RFC 9562 version 7 UUIDs carrying the creation time")
+    void producesVersion7() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextUuid();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1);
+    }
+
+    @Test
+    @DisplayName("Ids from one thread are strictly increasing, as strings too")
+    void monotonicWithinThread() {
+        String previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, () -> next + " <= " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Borrows the next millisecond when a millisecond's sequence runs out")
+    void carriesTimestampOnSequenceOverflow() {
+        long millis = 1_700_000_000_000L;
+        UUID previous = generator.next(millis);
+        for (int i = 0; i < 5_000; i++) {
+            UUID next = generator.next(millis);
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+        assertEquals(millis + 1, previous.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("Never goes backwards when the clock steps back")
+    void toleratesClockStepBack() {
+        UUID later = generator.next(2_000_000_000_000L);
+        UUID afterStepBack = generator.next(1_999_999_999_000L);
+
+        assertTrue(afterStepBack.compareTo(later) > 0);
+    }
+
+    @Test
+    @DisplayName("Ids are unique across threads")
+    void uniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    Set<String> local = new HashSet<>();
+                    for (int i = 0; i < perThread; i++) {
+                        local.add(generator.nextId());
+                    }
+                    ids.addAll(local);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    @DisplayName("Order and event ids come from the configured generator")
+    void orderUsesGenerator() {
+        Order order = Order.create(() -> "ORDER-1", "CUST-1",
+                List.of(OrderItem.of("PROD-1", "Widget", Money.usd(java.math.BigDecimal.TEN), 1)),
+                Address.of("1 Main St", "Springfield", "IL", "62701", "US"));
+
+        assertEquals("ORDER-1", order.getOrderId());
+        assertEquals(7, UUID.fromString(order.getDomainEvents().get(0).getEventId()).version());
+    }
+}
@@ -0,0 +1,33 @@
+package com.midlevel.orderfulfillment.domain.port;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Order Cursor Tests")
+class OrderCursorTest {
+
+    @Test
+    @DisplayName("Round-trips through its opaque encoding")
+    void roundTrips() {
+        OrderCursor cursor = new OrderCursor(Instant.parse("2025-12-24T10:15:30.123456Z"), "ORD-42|x");
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("ORD-42").doesNotContain("=");
+        assertThat(OrderCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Rejects malformed tokens with IllegalArgumentException")
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> OrderCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderCursor.decode(new OrderCursor(Instant.EPOCH, "x").encode().substring(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}